@@ -1,8 +1,11 @@
 package com.gigya.android.sdk;
 
 import com.gigya.android.sdk.account.GigyaAccountConfig;
+import com.gigya.android.sdk.network.GigyaNetworkConfig;
 import com.google.gson.annotations.SerializedName;
 
+import java.util.concurrent.Executor;
+
 public class Config {
 
     private String apiKey;
@@ -23,14 +26,28 @@ public class Config {
     @SerializedName("account")
     private GigyaAccountConfig gigyaAccountConfig;
 
+    @SerializedName("network")
+    private GigyaNetworkConfig gigyaNetworkConfig = new GigyaNetworkConfig();
+
     private String cname;
     private boolean cnameEnabled = false;
 
+    /*
+    Incremented on changes affecting request templates. Not serialized.
+     */
+    private transient volatile int version;
+
+    /*
+    Executor network responses are delivered on. Main thread when null. Not serialized.
+     */
+    private transient volatile Executor callbackExecutor;
+
     //region UPDATE
 
     public Config updateWith(String apiKey, String apiDomain) {
         this.apiKey = apiKey;
         this.apiDomain = apiDomain;
+        this.version++;
         return this;
     }
 
@@ -38,6 +55,7 @@ public class Config {
         this.apiKey = apiKey;
         this.apiDomain = apiDomain;
         this.cname = cname;
+        this.version++;
         return this;
     }
 
@@ -46,6 +64,7 @@ public class Config {
         this.apiDomain = apiDomain;
         this.accountCacheTime = accountCacheTime;
         this.sessionVerificationInterval = sessionVerificationInterval;
+        this.version++;
         return this;
     }
 
@@ -68,12 +87,26 @@ public class Config {
         if (config.getGigyaAccountConfig() != null) {
             this.gigyaAccountConfig = config.getGigyaAccountConfig();
         }
+        if (config.getGigyaNetworkConfig() != null) {
+            this.gigyaNetworkConfig = config.getGigyaNetworkConfig();
+        }
         if (config.getCname() != null) {
             this.cname = config.getCname();
         }
+        if (config.getCallbackExecutor() != null) {
+            this.callbackExecutor = config.getCallbackExecutor();
+        }
+        this.version++;
         return this;
     }
 
+    /**
+     * Get the configuration version. Changes whenever the api key or account configuration may have changed.
+     */
+    public int getVersion() {
+        return version;
+    }
+
     //endregion
 
     //region GETTERS & SETTERS
@@ -84,6 +117,7 @@ public class Config {
 
     public void setApiKey(String apiKey) {
         this.apiKey = apiKey;
+        this.version++;
     }
 
     public String getApiDomain() {
@@ -172,6 +206,15 @@ public class Config {
 
     public void setGigyaAccountConfig(GigyaAccountConfig gigyaAccountConfig) {
         this.gigyaAccountConfig = gigyaAccountConfig;
+        this.version++;
+    }
+
+    public GigyaNetworkConfig getGigyaNetworkConfig() {
+        return gigyaNetworkConfig;
+    }
+
+    public void setGigyaNetworkConfig(GigyaNetworkConfig gigyaNetworkConfig) {
+        this.gigyaNetworkConfig = gigyaNetworkConfig;
     }
 
     public String getCname() {
@@ -190,5 +233,18 @@ public class Config {
         this.cnameEnabled = cnameEnabled;
     }
 
+    public Executor getCallbackExecutor() {
+        return callbackExecutor;
+    }
+
+    /**
+     * Set the executor network responses are delivered on.
+     * A background executor keeps response parsing & retries off the main thread. Api callbacks are
+     * still delivered on the main thread. Set null to deliver responses on the main thread.
+     */
+    public void setCallbackExecutor(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+    }
+
     //endregion
 }
@@ -7,7 +7,7 @@ import android.os.Bundle;
 import androidx.annotation.Nullable;
 
 import com.gigya.android.sdk.utils.FileUtils;
-import com.google.gson.Gson;
+import com.gigya.android.sdk.utils.GsonRegistry;
 
 public class ConfigFactory {
 
@@ -33,7 +33,7 @@ public class ConfigFactory {
             try {
                 String json = _fileUtils.loadFile(configFileName);
                 GigyaLogger.debug("Configuration", json);
-                return new Gson().fromJson(json, Config.class);
+                return GsonRegistry.getInstance().getGson().fromJson(json, Config.class);
             } catch (Exception ex) {
                 ex.printStackTrace();
             }
@@ -19,6 +19,7 @@ import com.gigya.android.sdk.containers.GigyaContainer;
 import com.gigya.android.sdk.containers.IoCContainer;
 import com.gigya.android.sdk.interruption.IInterruptionResolverFactory;
 import com.gigya.android.sdk.network.GigyaError;
+import com.gigya.android.sdk.network.adapter.CircuitBreaker;
 import com.gigya.android.sdk.network.adapter.IRestAdapter;
 import com.gigya.android.sdk.network.adapter.RestAdapter;
 import com.gigya.android.sdk.providers.IProviderFactory;
@@ -931,6 +932,37 @@ public class Gigya<T extends GigyaAccount> {
         }
     }
 
+    /**
+     * Observe the circuit breaker state of the api hosts.
+     * Requests to a host with an open circuit fail fast with error code 503100.
+     *
+     * @param listener State listener. Null to remove.
+     */
+    public void setCircuitStateListener(@Nullable CircuitBreaker.IStateListener listener) {
+        try {
+            IRestAdapter restAdapter = _container.get(IRestAdapter.class);
+            restAdapter.setCircuitStateListener(listener);
+        } catch (Exception ex) {
+            GigyaLogger.error(LOG_TAG, "Failed to set circuit state listener");
+        }
+    }
+
+    /**
+     * Get the circuit breaker state of the host an api is sent to.
+     *
+     * @param api Api name.
+     */
+    @NonNull
+    public CircuitBreaker.State getCircuitState(String api) {
+        try {
+            IRestAdapter restAdapter = _container.get(IRestAdapter.class);
+            return restAdapter.getCircuitState(api);
+        } catch (Exception ex) {
+            GigyaLogger.error(LOG_TAG, "Failed to get circuit state");
+        }
+        return CircuitBreaker.State.CLOSED;
+    }
+
     //endregion
 
 }
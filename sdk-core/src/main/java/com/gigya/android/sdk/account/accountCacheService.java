@@ -2,12 +2,9 @@ package com.gigya.android.sdk.account;
 
 import com.gigya.android.sdk.Config;
 import com.gigya.android.sdk.account.models.GigyaAccount;
-import com.gigya.android.sdk.utils.AccountGSONDeserializer;
-import com.gigya.android.sdk.utils.CustomGSONDeserializer;
+import com.gigya.android.sdk.utils.GsonRegistry;
 import com.gigya.android.sdk.utils.ObjectUtils;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
 
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -68,8 +65,7 @@ public class accountCacheService<A extends GigyaAccount> implements IAccountServ
 
     @Override
     public A getAccount() {
-        return new GsonBuilder().registerTypeAdapter(_accountScheme,
-                new AccountGSONDeserializer<A>()).create() .fromJson(_cachedAccount, _accountScheme);
+        return GsonRegistry.getInstance().getAccountGson().fromJson(_cachedAccount, _accountScheme);
     }
 
     @Override
@@ -112,18 +108,15 @@ public class accountCacheService<A extends GigyaAccount> implements IAccountServ
     @Override
     public Map<String, Object> calculateDiff(A cachedAccount, A updatedAccount) {
 
-        final Gson gson = new GsonBuilder().registerTypeAdapter(new TypeToken<Map<String, Object>>() {
-        }.getType(), new CustomGSONDeserializer()).create();
+        final Gson gson = GsonRegistry.getInstance().getMapGson();
 
         /* Map updated account object to JSON -> Map. */
         final String updatedJson = gson.toJson(updatedAccount);
-        Map<String, Object> updatedMap = gson.fromJson(updatedJson, new TypeToken<Map<String, Object>>() {
-        }.getType());
+        Map<String, Object> updatedMap = gson.fromJson(updatedJson, GsonRegistry.MAP_TYPE);
 
         /* Map original account object to JSON -> Map. */
         final String originalJson = gson.toJson(cachedAccount);
-        Map<String, Object> originalMap = gson.fromJson(originalJson, new TypeToken<Map<String, Object>>() {
-        }.getType());
+        Map<String, Object> originalMap = gson.fromJson(originalJson, GsonRegistry.MAP_TYPE);
 
         /* Calculate objectDifference. */
         Map<String, Object> diff = ObjectUtils.objectDifference(originalMap, updatedMap);
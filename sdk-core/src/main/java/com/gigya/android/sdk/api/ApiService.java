@@ -6,17 +6,23 @@ import com.gigya.android.sdk.GigyaDefinitions;
 import com.gigya.android.sdk.GigyaLogger;
 import com.gigya.android.sdk.api.models.GigyaConfigModel;
 import com.gigya.android.sdk.network.GigyaError;
+import com.gigya.android.sdk.network.adapter.CallbackExecutors;
+import com.gigya.android.sdk.network.adapter.INetworkEventListener;
 import com.gigya.android.sdk.network.adapter.IRestAdapter;
 import com.gigya.android.sdk.network.adapter.IRestAdapterCallback;
 import com.gigya.android.sdk.network.adapter.RestAdapter;
 import com.gigya.android.sdk.persistence.IPersistenceService;
 import com.gigya.android.sdk.reporting.ReportingManager;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.Locale;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service responsible for mediating and executing HTTP based api requests.
@@ -29,15 +35,51 @@ public class ApiService implements IApiService {
     final private IRestAdapter _adapter;
     final private IApiRequestFactory _reqFactory;
     final private IPersistenceService _psService;
+    final private INonceGenerator _nonceGenerator;
+
+    final private RetryPolicies _retryPolicies;
+
+    final private ServerClock _serverClock;
+
+    /*
+    Maximal number of retry tokens. Allows short bursts of retries.
+     */
+    private static final int RETRY_BUDGET_MAX_TOKENS = 10;
+
+    final private RetryBudget _retryBudget = new RetryBudget(RETRY_BUDGET_MAX_TOKENS);
+
+    /*
+    Retries in progress, including retries waiting for their backoff delay. Cancelled with their original request.
+     */
+    final private Set<RetryDispatcher> _pendingRetries =
+            Collections.newSetFromMap(new ConcurrentHashMap<RetryDispatcher, Boolean>());
+
+    /*
+    Pending requests of cancellable responses. A cancelled request never completes, so cancellation
+    is reported to its response instead.
+     */
+    final private Map<GigyaApiRequest, ICancellableResponse> _cancellable =
+            Collections.synchronizedMap(new IdentityHashMap<GigyaApiRequest, ICancellableResponse>());
+
+    /*
+    SDK configuration response fields.
+     */
+    private static final ResponsePath GCID_PATH = ResponsePath.compile("gcid");
+    private static final ResponsePath UCID_PATH = ResponsePath.compile("ucid");
+    private static final ResponsePath REFRESH_TIME_PATH = ResponsePath.compile("refreshTime");
 
     public ApiService(Config config,
                       IRestAdapter adapter,
                       IApiRequestFactory reqFactory,
-                      IPersistenceService psService) {
+                      IPersistenceService psService,
+                      INonceGenerator nonceGenerator) {
         _config = config;
         _adapter = adapter;
         _reqFactory = reqFactory;
         _psService = psService;
+        _nonceGenerator = nonceGenerator;
+        _retryPolicies = new RetryPolicies(config);
+        _serverClock = new ServerClock(config, psService);
     }
 
     /*
@@ -50,23 +92,37 @@ public class ApiService implements IApiService {
         void onApiError(GigyaError gigyaError);
     }
 
-    private static final String SERVER_TIMESTAMP_PATTERN = "EEE, dd MMM yyyy HH:mm:ss zzz";
+    /*
+    Service response delivered on the network callback executor instead of the main thread.
+    Implementations must hop to the main thread before invoking app callbacks.
+     */
+    public interface ICallbackExecutorResponse extends IApiServiceResponse {
+    }
+
+    /*
+    Service response notified when its request is cancelled. Cancelled requests deliver no response.
+     */
+    public interface ICancellableResponse extends IApiServiceResponse {
+
+        /**
+         * Request cancelled.
+         *
+         * @param byTag True if all requests of the request tag were cancelled. False if only this request was.
+         */
+        void onCancelled(boolean byTag);
+    }
 
     /**
      * Update main SDK interface with the current server offset value.
      *
      * @param dateHeader String date header field returned from last request.
+     * @param sentAt     Device time the request was sent.
+     * @param reset      Replace the smoothed offset with this sample.
      */
-    private void updateOffset(String dateHeader) {
+    private void updateOffset(String dateHeader, long sentAt, boolean reset) {
         if (dateHeader != null) {
             try {
-                SimpleDateFormat format = new SimpleDateFormat(SERVER_TIMESTAMP_PATTERN, Locale.ENGLISH);
-                Date serverDate = format.parse(dateHeader);
-                Long offset = (serverDate.getTime() - System.currentTimeMillis()) / 1000;
-
-                GigyaLogger.debug(LOG_TAG, "updateOffset: Server timestamp = " + offset);
-
-                _config.setServerOffset(offset);
+                _serverClock.update(dateHeader, sentAt, System.currentTimeMillis(), reset);
             } catch (Exception ex) {
                 GigyaLogger.error(LOG_TAG, "updateOffset: unable to update offset with exception");
                 ReportingManager.get().error(Gigya.VERSION, "core", "ApiService: unable to update offset with exception");
@@ -75,25 +131,138 @@ public class ApiService implements IApiService {
         }
     }
 
+    /*
+    Responses may be delivered on a background callback executor. Api callbacks are invoked on the
+    main thread unless they are {@link ICallbackExecutorResponse}.
+     */
+    private static IApiServiceResponse onMainThread(final IApiServiceResponse apiCallback) {
+        return new IApiServiceResponse() {
+            @Override
+            public void onApiSuccess(final GigyaApiResponse response) {
+                CallbackExecutors.runOnMainThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        apiCallback.onApiSuccess(response);
+                    }
+                });
+            }
+
+            @Override
+            public void onApiError(final GigyaError gigyaError) {
+                CallbackExecutors.runOnMainThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        apiCallback.onApiError(gigyaError);
+                    }
+                });
+            }
+        };
+    }
+
+    /*
+    Track a cancellable response until its request completes. Responses of cancelled requests are dropped.
+     */
+    private IApiServiceResponse trackCancellable(final GigyaApiRequest request, final IApiServiceResponse apiCallback,
+                                                 ICancellableResponse cancellable) {
+        _cancellable.put(request, cancellable);
+        return new IApiServiceResponse() {
+            @Override
+            public void onApiSuccess(GigyaApiResponse response) {
+                if (_cancellable.remove(request) != null) {
+                    apiCallback.onApiSuccess(response);
+                }
+            }
+
+            @Override
+            public void onApiError(GigyaError gigyaError) {
+                if (_cancellable.remove(request) != null) {
+                    apiCallback.onApiError(gigyaError);
+                }
+            }
+        };
+    }
+
     @Override
     public void send(GigyaApiRequest request, IApiServiceResponse apiCallback) {
         send(request, false, apiCallback);
     }
 
     @Override
-    public void send(final GigyaApiRequest request, boolean blocking, final IApiServiceResponse apiCallback) {
+    public void setRetryPolicy(String api, RetryPolicy policy) {
+        _retryPolicies.setPolicy(api, policy);
+    }
+
+    /*
+    Retry a failed request. The failure is delivered as is when retries are disabled or the retry budget is exhausted.
+    Unbudgeted retries (expired requests) do not draw from the retry budget.
+     */
+    private void retry(GigyaApiRequest request, RetryPolicy policy, boolean budgeted, final IApiServiceResponse apiCallback,
+                       GigyaApiResponse failedResponse, GigyaError failedError) {
+        if (policy.getMaxRetries() <= 0 || (budgeted && !_retryBudget.tryAcquire())) {
+            GigyaLogger.debug(LOG_TAG, "retry: no retries allowed for " + request.getApi());
+            if (failedResponse != null) {
+                apiCallback.onApiSuccess(failedResponse);
+            } else {
+                apiCallback.onApiError(failedError);
+            }
+            return;
+        }
+        final RetryDispatcher[] dispatcher = new RetryDispatcher[1];
+        dispatcher[0] = new RetryDispatcher.Builder(_adapter, _reqFactory)
+                .request(request)
+                .policy(policy)
+                .random(_nonceGenerator.getRandom())
+                .budget(budgeted ? _retryBudget : null)
+                .handler(new RetryDispatcher.IRetryHandler() {
+                    @Override
+                    public void onCompleteWithResponse(GigyaApiResponse retryResponse) {
+                        _pendingRetries.remove(dispatcher[0]);
+                        apiCallback.onApiSuccess(retryResponse);
+                    }
+
+                    @Override
+                    public void onCompleteWithError(GigyaError error) {
+                        _pendingRetries.remove(dispatcher[0]);
+                        apiCallback.onApiError(error);
+                    }
+
+                    @Override
+                    public void onUpdateDate(String date, long sentAt) {
+                        updateOffset(date, sentAt, false);
+                    }
+                });
+        _pendingRetries.add(dispatcher[0]);
+        dispatcher[0].schedule();
+    }
+
+    @Override
+    public void send(final GigyaApiRequest request, final boolean blocking, IApiServiceResponse apiServiceResponse) {
+        IApiServiceResponse delivery = apiServiceResponse instanceof ICallbackExecutorResponse
+                ? apiServiceResponse : onMainThread(apiServiceResponse);
+        if (apiServiceResponse instanceof ICancellableResponse) {
+            delivery = trackCancellable(request, delivery, (ICancellableResponse) apiServiceResponse);
+        }
+        final IApiServiceResponse apiCallback = delivery;
         GigyaLogger.debug(LOG_TAG, "sending: " + request.getApi());
         GigyaLogger.debug(LOG_TAG, "sending: params = " + request.getParams().toString());
 
+        // Blocking requests are not retried. Retries are not blocking and would be held behind the request itself.
+        final RetryPolicy retryPolicy = blocking ? RetryPolicy.none() : _retryPolicies.forApi(request.getApi());
+        _retryBudget.onRequest(_retryPolicies.getNetworkConfig().getRetryBudgetRatio());
+
+        final long sentAt = System.currentTimeMillis();
         _adapter.send(request, blocking, new IRestAdapterCallback() {
             @Override
             public void onResponse(String jsonResponse, String responseDateHeader) {
 
-                updateOffset(responseDateHeader);
-
+                final long parseStart = System.nanoTime();
                 final GigyaApiResponse apiResponse = new GigyaApiResponse(jsonResponse);
+                _adapter.reportEvent(request.getApi(), INetworkEventListener.Phase.PARSE, System.nanoTime() - parseStart);
                 final int apiErrorCode = apiResponse.getErrorCode();
 
+                // An expired request means the current offset is wrong. Take the server time as is.
+                updateOffset(responseDateHeader, sentAt, isRequestExpiredError(apiErrorCode));
+
                 GigyaLogger.debug(LOG_TAG, "SEND REQUEST with:\n" + jsonResponse);
 
                 // Check for timestamp skew error.
@@ -101,27 +270,15 @@ public class ApiService implements IApiService {
 
                     GigyaLogger.error(LOG_TAG, "Request expired error occurred. Allowing retries");
 
-                    new RetryDispatcher.Builder(_adapter, _reqFactory)
-                            .request(request)
-                            .errorCode(GigyaError.Codes.ERROR_REQUEST_HAS_EXPIRED)
-                            .tries(2)
-                            .handler(new RetryDispatcher.IRetryHandler() {
-                                @Override
-                                public void onCompleteWithResponse(GigyaApiResponse retryResponse) {
-                                    apiCallback.onApiSuccess(retryResponse);
-                                }
-
-                                @Override
-                                public void onCompleteWithError(GigyaError error) {
-                                    apiCallback.onApiError(error);
-                                }
-
-                                @Override
-                                public void onUpdateDate(String date) {
-                                    updateOffset(date);
-                                }
-                            })
-                            .dispatch();
+                    retry(request, RetryPolicy.requestExpired(), false, apiCallback, apiResponse, null);
+                    return;
+                }
+
+                if (retryPolicy.isRetryable(apiErrorCode)) {
+
+                    GigyaLogger.debug(LOG_TAG, "Transient error " + apiErrorCode + " for " + request.getApi() + ". Allowing retries");
+
+                    retry(request, retryPolicy, true, apiCallback, apiResponse, null);
                     return;
                 }
 
@@ -130,6 +287,13 @@ public class ApiService implements IApiService {
 
             @Override
             public void onError(GigyaError gigyaError) {
+                if (retryPolicy.isRetryable(gigyaError.getErrorCode())) {
+
+                    GigyaLogger.debug(LOG_TAG, "Transient error " + gigyaError.getErrorCode() + " for " + request.getApi() + ". Allowing retries");
+
+                    retry(request, retryPolicy, true, apiCallback, null, gigyaError);
+                    return;
+                }
                 apiCallback.onApiError(gigyaError);
             }
 
@@ -144,6 +308,41 @@ public class ApiService implements IApiService {
     @Override
     public void cancel(String tag) {
         _adapter.cancel(tag);
+        for (RetryDispatcher dispatcher : new ArrayList<>(_pendingRetries)) {
+            if (tag == null || tag.equals(dispatcher.getRequest().getTag())) {
+                _pendingRetries.remove(dispatcher);
+                dispatcher.cancel();
+            }
+        }
+        final List<ICancellableResponse> cancelled = new ArrayList<>();
+        synchronized (_cancellable) {
+            final Iterator<Map.Entry<GigyaApiRequest, ICancellableResponse>> iterator = _cancellable.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<GigyaApiRequest, ICancellableResponse> entry = iterator.next();
+                if (tag == null || tag.equals(entry.getKey().getTag())) {
+                    iterator.remove();
+                    cancelled.add(entry.getValue());
+                }
+            }
+        }
+        for (ICancellableResponse response : cancelled) {
+            response.onCancelled(true);
+        }
+    }
+
+    @Override
+    public void cancel(GigyaApiRequest request) {
+        _adapter.cancel(request);
+        for (RetryDispatcher dispatcher : new ArrayList<>(_pendingRetries)) {
+            if (dispatcher.getRequest() == request) {
+                _pendingRetries.remove(dispatcher);
+                dispatcher.cancel();
+            }
+        }
+        final ICancellableResponse cancelled = _cancellable.remove(request);
+        if (cancelled != null) {
+            cancelled.onCancelled(false);
+        }
     }
 
 
@@ -164,9 +363,15 @@ public class ApiService implements IApiService {
 
     @Override
     public void getSdkConfig(final IApiServiceResponse apiCallback) {
+        // Warm up api host connections ahead of the first business request (opt-in).
+        _adapter.prewarm();
+
         // Loading updated GMID/UCID to config.
         loadIds();
 
+        // Sign the first requests with the last known server offset.
+        _serverClock.restore();
+
         // Checking if we should request the GMID.
         if (!refreshGmid()) {
             GigyaLogger.debug(LOG_TAG, "GMID refresh time not passed");
@@ -189,11 +394,11 @@ public class ApiService implements IApiService {
                 final int apiErrorCode = apiResponse.getErrorCode();
                 if (apiErrorCode == 0) {
 
-                    final String gmid = apiResponse.getField("gcid", String.class);
-                    final String ucid = apiResponse.getField("ucid", String.class);
+                    final String gmid = apiResponse.getField(GCID_PATH, String.class);
+                    final String ucid = apiResponse.getField(UCID_PATH, String.class);
 
                     // Get gmidRefresh time.
-                    final Long refreshTime = apiResponse.getField("refreshTime", Long.class);
+                    final Long refreshTime = apiResponse.getField(REFRESH_TIME_PATH, Long.class);
 
                     if (gmid == null || ucid == null) {
                         // Parsing error.
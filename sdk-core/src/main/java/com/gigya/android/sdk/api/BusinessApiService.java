@@ -13,6 +13,7 @@ import com.gigya.android.sdk.account.models.GigyaAccount;
 import com.gigya.android.sdk.interruption.IInterruptionResolverFactory;
 import com.gigya.android.sdk.interruption.tfa.models.TFAProvidersModel;
 import com.gigya.android.sdk.network.GigyaError;
+import com.gigya.android.sdk.network.adapter.CallbackExecutors;
 import com.gigya.android.sdk.network.adapter.RestAdapter;
 import com.gigya.android.sdk.providers.IProviderFactory;
 import com.gigya.android.sdk.providers.IProviderPermissionsCallback;
@@ -45,6 +46,8 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
     final private IProviderFactory _providerFactory;
     final private IInterruptionResolverFactory _interruptionsHandler;
 
+    final private RequestCoalescer _coalescer = new RequestCoalescer();
+
     public BusinessApiService(ISessionService sessionService,
                               IAccountService<A> accountService,
                               IApiService apiService,
@@ -63,7 +66,7 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
 
     @Override
     public void getSDKConfig() {
-        _apiService.getSdkConfig(new ApiService.IApiServiceResponse() {
+        _apiService.getSdkConfig(new ApiService.ICallbackExecutorResponse() {
             @Override
             public void onApiSuccess(GigyaApiResponse response) {
                 GigyaLogger.debug(LOG_TAG, "getSDKConfig: success");
@@ -93,7 +96,8 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
     }
 
     @Override
-    public void handleAccountApiResponse(GigyaApiResponse response, GigyaLoginCallback<A> loginCallback) {
+    public void handleAccountApiResponse(GigyaApiResponse response, GigyaLoginCallback<A> callback) {
+        final GigyaLoginCallback<A> loginCallback = MainThreadCallback.wrap(callback);
         final int errorCode = response.getErrorCode();
         if (errorCode != 0) {
             // Handle interruption.
@@ -122,6 +126,34 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
         return _accountService;
     }
 
+    /**
+     * Get the request coalescer, e.g. for reading the dispatched & coalesced request counts.
+     */
+    @Override
+    public RequestCoalescer getRequestCoalescer() {
+        return _coalescer;
+    }
+
+    /**
+     * Send a request through the request coalescer.
+     * Identical read requests issued while a matching request is in-flight share its response.
+     *
+     * @param request     Request instance.
+     * @param apiCallback Api response callback.
+     */
+    private void sendCoalesced(GigyaApiRequest request, ApiService.IApiServiceResponse apiCallback) {
+        final SessionInfo session = _sessionService.getSession();
+        final String key = _coalescer.keyFor(request, session != null ? session.getSessionToken() : null);
+        if (key == null) {
+            _apiService.send(request, false, apiCallback);
+            return;
+        }
+        if (_coalescer.join(key, apiCallback)) {
+            return;
+        }
+        _apiService.send(request, false, _coalescer.fanOut(key));
+    }
+
     //endregion
 
     //region SEND REQUEST
@@ -133,13 +165,14 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
      * @param params        Requested parameters map.
      * @param requestMethod HTTP request method {@link RestAdapter}
      * @param clazz         Requested Typed response class.
-     * @param gigyaCallback Response callback.
+     * @param callback      Response callback.
      * @param <V>           Typed response class.
      */
     @Override
-    public <V> void send(String api, Map<String, Object> params, int requestMethod, final Class<V> clazz, final GigyaCallback<V> gigyaCallback) {
+    public <V> void send(String api, Map<String, Object> params, int requestMethod, final Class<V> clazz, GigyaCallback<V> callback) {
+        final GigyaCallback<V> gigyaCallback = MainThreadCallback.wrap(callback);
         final GigyaApiRequest request = _reqFactory.create(api, params, RestAdapter.HttpMethod.fromInt(requestMethod));
-        _apiService.send(request, false, new ApiService.IApiServiceResponse() {
+        sendCoalesced(request, new ApiService.ICallbackExecutorResponse() {
             @Override
             public void onApiSuccess(GigyaApiResponse response) {
                 if (response.getErrorCode() == 0) {
@@ -168,13 +201,14 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
      * @param params        Requested parameters map.
      * @param headers       Requested custom headers.
      * @param clazz         Requested Typed response class.
-     * @param gigyaCallback Response callback.
+     * @param callback      Response callback.
      * @param <V>           Typed response class.
      */
     @Override
-    public <V> void send(String api, Map<String, Object> params, Map<String, String> headers, final Class<V> clazz, final GigyaCallback<V> gigyaCallback) {
+    public <V> void send(String api, Map<String, Object> params, Map<String, String> headers, final Class<V> clazz, GigyaCallback<V> callback) {
+        final GigyaCallback<V> gigyaCallback = MainThreadCallback.wrap(callback);
         final GigyaApiRequest request = _reqFactory.create(api, params, RestAdapter.HttpMethod.POST, new HashMap<>(headers));
-        _apiService.send(request, false, new ApiService.IApiServiceResponse() {
+        sendCoalesced(request, new ApiService.ICallbackExecutorResponse() {
             @Override
             public void onApiSuccess(GigyaApiResponse response) {
                 if (response.getErrorCode() == 0) {
@@ -206,9 +240,10 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
      * @see <a href="https://developers.gigya.com/display/GD/accounts.logout+REST">accounts.logout REST</a>
      */
     @Override
-    public void logout(final GigyaCallback<GigyaApiResponse> gigyaCallback) {
+    public void logout(GigyaCallback<GigyaApiResponse> callback) {
+        final GigyaCallback<GigyaApiResponse> gigyaCallback = MainThreadCallback.wrap(callback);
         final GigyaApiRequest request = _reqFactory.create(GigyaDefinitions.API.API_LOGOUT, null, RestAdapter.HttpMethod.POST);
-        _apiService.send(request, false, new ApiService.IApiServiceResponse() {
+        _apiService.send(request, false, new ApiService.ICallbackExecutorResponse() {
 
             @Override
             public void onApiSuccess(GigyaApiResponse response) {
@@ -238,13 +273,14 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
      * Request login given map of parameters.
      *
      * @param params             Parameter map
-     * @param gigyaLoginCallback Login response callback.
+     * @param loginCallback      Login response callback.
      * @see <a href="https://developers.gigya.com/display/GD/accounts.login+REST">accounts.login REST</a>
      */
     @Override
-    public void login(Map<String, Object> params, final GigyaLoginCallback<A> gigyaLoginCallback) {
+    public void login(Map<String, Object> params, GigyaLoginCallback<A> loginCallback) {
+        final GigyaLoginCallback<A> gigyaLoginCallback = MainThreadCallback.wrap(loginCallback);
         final GigyaApiRequest request = _reqFactory.create(GigyaDefinitions.API.API_LOGIN, params, RestAdapter.HttpMethod.POST);
-        _apiService.send(request, false, new ApiService.IApiServiceResponse() {
+        _apiService.send(request, false, new ApiService.ICallbackExecutorResponse() {
             @Override
             public void onApiSuccess(GigyaApiResponse response) {
                 handleAccountApiResponse(response, gigyaLoginCallback);
@@ -336,11 +372,12 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
      *
      * @param UID           Current user UID.
      * @param params        Request parameters.
-     * @param gigyaCallback Response callback.
+     * @param callback      Response callback.
      * @see <a href="https://developers.gigya.com/display/GD/accounts.verifyLogin+REST">accounts.verifyLogin REST</a>
      */
     @Override
-    public void verifyLogin(String UID, Map<String, Object> params, final GigyaCallback<A> gigyaCallback) {
+    public void verifyLogin(String UID, Map<String, Object> params, GigyaCallback<A> callback) {
+        final GigyaCallback<A> gigyaCallback = MainThreadCallback.wrap(callback);
         if (!_sessionService.isValid()) {
             GigyaLogger.error(LOG_TAG, "Action requires a valid session");
             if (gigyaCallback != null) {
@@ -351,7 +388,7 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
             params.put("UID", UID);
         }
         final GigyaApiRequest request = _reqFactory.create(GigyaDefinitions.API.API_VERIFY_LOGIN, params, RestAdapter.HttpMethod.POST);
-        _apiService.send(request, false, new ApiService.IApiServiceResponse() {
+        _apiService.send(request, false, new ApiService.ICallbackExecutorResponse() {
             @Override
             public void onApiSuccess(GigyaApiResponse response) {
                 if (response.getErrorCode() == 0) {
@@ -382,20 +419,21 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
      * Login to with social provider when the provider session is available (obtained via specific provider login process).
      *
      * @param params                    Request parameters/
-     * @param gigyaLoginCallback        Login response callback.
+     * @param loginCallback             Login response callback.
      * @param optionalCompletionHandler additional completion handler Runnable.
      */
     @Override
-    public void notifyNativeSocialLogin(Map<String, Object> params, final GigyaLoginCallback<A> gigyaLoginCallback, final Runnable optionalCompletionHandler) {
+    public void notifyNativeSocialLogin(Map<String, Object> params, GigyaLoginCallback<A> loginCallback, final Runnable optionalCompletionHandler) {
+        final GigyaLoginCallback<A> gigyaLoginCallback = MainThreadCallback.wrap(loginCallback);
         final GigyaApiRequest request = _reqFactory.create(GigyaDefinitions.API.API_NOTIFY_SOCIAL_LOGIN, params, RestAdapter.HttpMethod.POST);
-        _apiService.send(request, false, new ApiService.IApiServiceResponse() {
+        _apiService.send(request, false, new ApiService.ICallbackExecutorResponse() {
             @Override
             public void onApiSuccess(GigyaApiResponse response) {
                 if (response.getErrorCode() == 0) {
                     updateWithNewSession(response); // Update with new session.
                     getAccount(gigyaLoginCallback); // Request account details. Will need to change when the endpoint will be completed.
                     if (optionalCompletionHandler != null) {
-                        optionalCompletionHandler.run();
+                        CallbackExecutors.runOnMainThread(optionalCompletionHandler);
                     }
                 } else {
                     handleAccountApiResponse(response, gigyaLoginCallback);
@@ -417,13 +455,14 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
      * Finalize current registration process.
      *
      * @param params             Request parameters.
-     * @param gigyaLoginCallback Login response callback.
+     * @param loginCallback      Login response callback.
      * @see <a href="https://developers.gigya.com/display/GD/accounts.finalizeRegistration+REST">accounts.finalizeRegistration REST</a>
      */
     @Override
-    public void finalizeRegistration(Map<String, Object> params, final GigyaLoginCallback<A> gigyaLoginCallback) {
+    public void finalizeRegistration(Map<String, Object> params, GigyaLoginCallback<A> loginCallback) {
+        final GigyaLoginCallback<A> gigyaLoginCallback = MainThreadCallback.wrap(loginCallback);
         final GigyaApiRequest request = _reqFactory.create(GigyaDefinitions.API.API_FINALIZE_REGISTRATION, params, RestAdapter.HttpMethod.POST);
-        _apiService.send(request, false, new ApiService.IApiServiceResponse() {
+        _apiService.send(request, false, new ApiService.ICallbackExecutorResponse() {
             @Override
             public void onApiSuccess(GigyaApiResponse response) {
                 handleAccountApiResponse(response, gigyaLoginCallback);
@@ -444,15 +483,16 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
      * NOTE: registration set to finalize by default thus not requiring a call to finalize the registration.
      *
      * @param params             Request parameters.
-     * @param gigyaLoginCallback Login response callback.
+     * @param loginCallback      Login response callback.
      * @see <a href="https://developers.gigya.com/display/GD/accounts.initRegistration+REST">accounts.initRegistration REST</a>
      * @see <a href="https://developers.gigya.com/display/GD/accounts.register+REST">accounts.register REST</a>
      */
     @Override
-    public void register(final Map<String, Object> params, final GigyaLoginCallback<A> gigyaLoginCallback) {
+    public void register(final Map<String, Object> params, GigyaLoginCallback<A> loginCallback) {
+        final GigyaLoginCallback<A> gigyaLoginCallback = MainThreadCallback.wrap(loginCallback);
         // #1 Chain init registration.
         final GigyaApiRequest initRequest = _reqFactory.create(GigyaDefinitions.API.API_INIT_REGISTRATION, params, RestAdapter.HttpMethod.POST);
-        _apiService.send(initRequest, false, new ApiService.IApiServiceResponse() {
+        _apiService.send(initRequest, false, new ApiService.ICallbackExecutorResponse() {
             @Override
             public void onApiSuccess(GigyaApiResponse response) {
                 if (response.getErrorCode() == 0) {
@@ -470,7 +510,7 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
                     }
                     // #2 Chain login.
                     GigyaApiRequest regRequest = _reqFactory.create(GigyaDefinitions.API.API_REGISTER, params, RestAdapter.HttpMethod.POST);
-                    _apiService.send(regRequest, false, new ApiService.IApiServiceResponse() {
+                    _apiService.send(regRequest, false, new ApiService.ICallbackExecutorResponse() {
                         @Override
                         public void onApiSuccess(GigyaApiResponse response) {
                             handleAccountApiResponse(response, gigyaLoginCallback);
@@ -528,7 +568,8 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
     }
 
     @Override
-    public void getAccount(final Map<String, Object> params, final GigyaCallback<A> gigyaCallback) {
+    public void getAccount(final Map<String, Object> params, GigyaCallback<A> callback) {
+        final GigyaCallback<A> gigyaCallback = MainThreadCallback.wrap(callback);
         if (gigyaCallback == null) {
             // Callback restricted api call.
             return;
@@ -549,7 +590,7 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
         }
 
         final GigyaApiRequest request = _reqFactory.create(GigyaDefinitions.API.API_GET_ACCOUNT_INFO, params, RestAdapter.HttpMethod.POST);
-        _apiService.send(request, false, new ApiService.IApiServiceResponse() {
+        sendCoalesced(request, new ApiService.ICallbackExecutorResponse() {
             @Override
             public void onApiSuccess(GigyaApiResponse response) {
                 if (response.getErrorCode() == 0) {
@@ -579,11 +620,12 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
      * Request account update for current active session.
      *
      * @param updatedAccount Updated account instance.
-     * @param gigyaCallback  Response callback.
+     * @param callback       Response callback.
      * @see <a href="https://developers.gigya.com/display/GD/accounts.setAccountInfo+REST">accounts.setAccountInfo REST</a>
      */
     @Override
-    public void setAccount(A updatedAccount, final GigyaCallback<A> gigyaCallback) {
+    public void setAccount(A updatedAccount, GigyaCallback<A> callback) {
+        final GigyaCallback<A> gigyaCallback = MainThreadCallback.wrap(callback);
         if (gigyaCallback == null) {
             // Callback restricted api call.
             return;
@@ -594,7 +636,7 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
         }
         final Map<String, Object> params = _accountService.calculateDiff(_accountService.getAccount(), updatedAccount);
         final GigyaApiRequest request = _reqFactory.create(GigyaDefinitions.API.API_SET_ACCOUNT_INFO, params, RestAdapter.HttpMethod.POST);
-        _apiService.send(request, false, new ApiService.IApiServiceResponse() {
+        _apiService.send(request, false, new ApiService.ICallbackExecutorResponse() {
             @Override
             public void onApiSuccess(GigyaApiResponse response) {
                 if (response.getErrorCode() == 0) {
@@ -618,11 +660,12 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
      * Request account update for current active session.
      *
      * @param params        Updated parameters.
-     * @param gigyaCallback Response callback.
+     * @param callback      Response callback.
      * @see <a href="https://developers.gigya.com/display/GD/accounts.setAccountInfo+REST">accounts.setAccountInfo REST</a>
      */
     @Override
-    public void setAccount(Map<String, Object> params, final GigyaCallback<A> gigyaCallback) {
+    public void setAccount(Map<String, Object> params, GigyaCallback<A> callback) {
+        final GigyaCallback<A> gigyaCallback = MainThreadCallback.wrap(callback);
         if (!_sessionService.isValid()) {
             GigyaLogger.error(LOG_TAG, "Action requires a valid session");
             if (gigyaCallback != null) {
@@ -630,7 +673,7 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
             }
         }
         final GigyaApiRequest request = _reqFactory.create(GigyaDefinitions.API.API_SET_ACCOUNT_INFO, params, RestAdapter.HttpMethod.POST);
-        _apiService.send(request, false, new ApiService.IApiServiceResponse() {
+        _apiService.send(request, false, new ApiService.ICallbackExecutorResponse() {
             @Override
             public void onApiSuccess(GigyaApiResponse response) {
                 if (response.getErrorCode() == 0) {
@@ -654,9 +697,10 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
     //region MISC
 
     @Override
-    public void verifySession(final GigyaCallback<GigyaApiResponse> callback) {
+    public void verifySession(GigyaCallback<GigyaApiResponse> gigyaCallback) {
+        final GigyaCallback<GigyaApiResponse> callback = MainThreadCallback.wrap(gigyaCallback);
         final GigyaApiRequest request = _reqFactory.create(GigyaDefinitions.API.API_IS_SESSION_VALID, new HashMap<String, Object>(), RestAdapter.HttpMethod.POST);
-        _apiService.send(request, false, new ApiService.IApiServiceResponse() {
+        _apiService.send(request, false, new ApiService.ICallbackExecutorResponse() {
             @Override
             public void onApiSuccess(GigyaApiResponse response) {
                 if (response.getErrorCode() == 0) {
@@ -674,14 +718,15 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
     }
 
     @Override
-    public void getAuthCode(final GigyaCallback<GigyaApiResponse> callback) {
+    public void getAuthCode(GigyaCallback<GigyaApiResponse> gigyaCallback) {
+        final GigyaCallback<GigyaApiResponse> callback = MainThreadCallback.wrap(gigyaCallback);
         final HashMap<String, Object> params = new HashMap<>();
         params.put("resource", "urn:gigya:account");
         params.put("subject_token_type", "urn:gigya:token-type:mobile");
         params.put("response_type", "code");
         final GigyaApiRequest request = _reqFactory.create(GigyaDefinitions.API.API_TOKEN_EXCHANGE,
                 params, RestAdapter.HttpMethod.POST);
-        _apiService.send(request, false, new ApiService.IApiServiceResponse() {
+        _apiService.send(request, false, new ApiService.ICallbackExecutorResponse() {
             @Override
             public void onApiSuccess(GigyaApiResponse response) {
                 if (response.getErrorCode() == 0) {
@@ -702,21 +747,30 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
     @Override
     public void refreshNativeProviderSession(Map<String, Object> params, final IProviderPermissionsCallback providerPermissionsCallback) {
         final GigyaApiRequest request = _reqFactory.create(GigyaDefinitions.API.API_REFRESH_PROVIDER_SESSION, params, RestAdapter.HttpMethod.POST);
-        _apiService.send(request, false, new ApiService.IApiServiceResponse() {
+        _apiService.send(request, false, new ApiService.ICallbackExecutorResponse() {
             @Override
             public void onApiSuccess(GigyaApiResponse response) {
                 if (response.getErrorCode() == 0) {
                     _accountService.invalidateAccount();
-                    providerPermissionsCallback.granted();
+                    CallbackExecutors.runOnMainThread(new Runnable() {
+                        @Override
+                        public void run() {
+                            providerPermissionsCallback.granted();
+                        }
+                    });
                 } else {
-                    final GigyaError error = GigyaError.fromResponse(response);
-                    providerPermissionsCallback.failed(error.getLocalizedMessage());
+                    onApiError(GigyaError.fromResponse(response));
                 }
             }
 
             @Override
-            public void onApiError(GigyaError gigyaError) {
-                providerPermissionsCallback.failed(gigyaError.getLocalizedMessage());
+            public void onApiError(final GigyaError gigyaError) {
+                CallbackExecutors.runOnMainThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        providerPermissionsCallback.failed(gigyaError.getLocalizedMessage());
+                    }
+                });
             }
         });
     }
@@ -724,13 +778,14 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
     /**
      * Issue a reset password request.
      *
-     * @param callback Response callback.
+     * @param gigyaCallback Response callback.
      * @see <a href="https://developers.gigya.com/display/GD/accounts.resetPassword+REST">accounts.resetPassword REST</a>
      */
     @Override
-    public void forgotPassword(Map<String, Object> params, final GigyaCallback<GigyaApiResponse> callback) {
+    public void forgotPassword(Map<String, Object> params, GigyaCallback<GigyaApiResponse> gigyaCallback) {
+        final GigyaCallback<GigyaApiResponse> callback = MainThreadCallback.wrap(gigyaCallback);
         final GigyaApiRequest request = _reqFactory.create(GigyaDefinitions.API.API_RESET_PASSWORD, params, RestAdapter.HttpMethod.POST);
-        _apiService.send(request, false, new ApiService.IApiServiceResponse() {
+        _apiService.send(request, false, new ApiService.ICallbackExecutorResponse() {
             @Override
             public void onApiSuccess(GigyaApiResponse response) {
                 if (response.getErrorCode() == 0) {
@@ -837,7 +892,8 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
 
     @Override
     public void removeConnection(@Nullable Map<String, Object> params, 
-                                 final GigyaCallback<GigyaApiResponse> gigyaCallback) {
+                                 GigyaCallback<GigyaApiResponse> callback) {
+        final GigyaCallback<GigyaApiResponse> gigyaCallback = MainThreadCallback.wrap(callback);
         if (!_sessionService.isValid()) {
             GigyaLogger.error(LOG_TAG, "Action requires a valid session");
             if (gigyaCallback != null) {
@@ -846,7 +902,7 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
         }
         final GigyaApiRequest request = _reqFactory.create(GigyaDefinitions.API.API_REMOVE_CONNECTION,
                 params, RestAdapter.HttpMethod.POST);
-        _apiService.send(request, false, new ApiService.IApiServiceResponse() {
+        _apiService.send(request, false, new ApiService.ICallbackExecutorResponse() {
             @Override
             public void onApiSuccess(GigyaApiResponse response) {
                 if (response.getErrorCode() == 0) {
@@ -868,14 +924,15 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
      * Verify login id available for registration.
      *
      * @param loginId       LoginID parameter.
-     * @param gigyaCallback Response callback.
+     * @param callback      Response callback.
      */
     @Override
-    public void isAvailableLoginId(@NonNull final String loginId, @NonNull final GigyaCallback<Boolean> gigyaCallback) {
+    public void isAvailableLoginId(@NonNull final String loginId, @NonNull GigyaCallback<Boolean> callback) {
+        final GigyaCallback<Boolean> gigyaCallback = MainThreadCallback.wrap(callback);
         final Map<String, Object> params = new HashMap<>();
         params.put("loginID", loginId);
         final GigyaApiRequest request = _reqFactory.create(GigyaDefinitions.API.API_IS_AVAILABLE_LOGIN_ID, params, RestAdapter.HttpMethod.POST);
-        _apiService.send(request, false, new ApiService.IApiServiceResponse() {
+        _apiService.send(request, false, new ApiService.ICallbackExecutorResponse() {
             @Override
             public void onApiSuccess(GigyaApiResponse response) {
                 final boolean isAvailable = response.getField("isAvailable", Boolean.class);
@@ -908,11 +965,12 @@ public class BusinessApiService<A extends GigyaAccount> implements IBusinessApiS
     //region INTERRUPTIONS RELATED
 
     @Override
-    public void getConflictingAccounts(final String regToken, final GigyaCallback<GigyaApiResponse> callback) {
+    public void getConflictingAccounts(final String regToken, GigyaCallback<GigyaApiResponse> gigyaCallback) {
+        final GigyaCallback<GigyaApiResponse> callback = MainThreadCallback.wrap(gigyaCallback);
         final Map<String, Object> params = new HashMap<>();
         params.put("regToken", regToken);
         final GigyaApiRequest request = _reqFactory.create(GigyaDefinitions.API.API_GET_CONFLICTING_ACCOUNTS, params, RestAdapter.HttpMethod.POST);
-        _apiService.send(request, false, new ApiService.IApiServiceResponse() {
+        _apiService.send(request, false, new ApiService.ICallbackExecutorResponse() {
             @Override
             public void onApiSuccess(GigyaApiResponse response) {
                 callback.onSuccess(response);
@@ -5,13 +5,17 @@ import androidx.annotation.Nullable;
 
 import com.gigya.android.sdk.network.adapter.RestAdapter;
 
+import java.nio.charset.Charset;
 import java.util.HashMap;
 
 public class GigyaApiHttpRequest {
 
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
     private RestAdapter.HttpMethod httpMethod;
     private String url;
     private String encodedParams;
+    private byte[] body;
     private HashMap<String, String> headers;
 
     GigyaApiHttpRequest(
@@ -21,6 +25,7 @@ public class GigyaApiHttpRequest {
         this.httpMethod = httpMethod;
         this.url = url;
         this.encodedParams = encodedParams;
+        this.body = encodedParams == null ? null : encodedParams.getBytes(UTF_8);
     }
 
     GigyaApiHttpRequest(
@@ -31,6 +36,7 @@ public class GigyaApiHttpRequest {
         this.httpMethod = httpMethod;
         this.url = url;
         this.encodedParams = encodedParams;
+        this.body = encodedParams == null ? null : encodedParams.getBytes(UTF_8);
         this.headers = headers;
     }
 
@@ -49,6 +55,14 @@ public class GigyaApiHttpRequest {
         return encodedParams;
     }
 
+    /**
+     * Get the encoded parameters as the UTF-8 request body. Computed once per signed request.
+     */
+    @Nullable
+    public byte[] getBody() {
+        return body;
+    }
+
     @Nullable
     public HashMap<String, String> getHeaders() {
         return this.headers;
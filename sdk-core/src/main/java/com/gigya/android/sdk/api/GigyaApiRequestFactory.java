@@ -1,34 +1,55 @@
 package com.gigya.android.sdk.api;
 
-import android.text.TextUtils;
-
 import androidx.annotation.Nullable;
 
 import com.gigya.android.sdk.Config;
 import com.gigya.android.sdk.Gigya;
-import com.gigya.android.sdk.GigyaDefinitions;
 import com.gigya.android.sdk.GigyaLogger;
-import com.gigya.android.sdk.account.GigyaAccountConfig;
 import com.gigya.android.sdk.network.adapter.RestAdapter;
 import com.gigya.android.sdk.session.ISessionService;
+import com.gigya.android.sdk.session.SessionChangeObserver;
 import com.gigya.android.sdk.utils.AuthUtils;
+import com.gigya.android.sdk.utils.HmacSigner;
 import com.gigya.android.sdk.utils.UrlUtils;
 
-import java.security.SecureRandom;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class GigyaApiRequestFactory implements IApiRequestFactory {
 
     private static final String LOG_TAG = "GigyaApiRequestFactory";
 
+    /*
+    Template cache is reset if custom api calls grow it beyond this size.
+     */
+    private static final int MAX_TEMPLATES = 64;
+
     final private Config _config;
     final private ISessionService _sessionService;
+    final private INonceGenerator _nonceGenerator;
+
+    /*
+    Signer caching the key material of the active session secret.
+     */
+    final private HmacSigner _signer = new HmacSigner();
+
+    /*
+    Request templates per api, rebuilt when the configuration changes.
+     */
+    final private Map<String, GigyaApiRequestTemplate> _templates = new ConcurrentHashMap<>();
 
-    public GigyaApiRequestFactory(Config config, ISessionService sessionService) {
+    public GigyaApiRequestFactory(Config config, ISessionService sessionService, INonceGenerator nonceGenerator) {
         _config = config;
         _sessionService = sessionService;
+        _nonceGenerator = nonceGenerator;
+        _sessionService.registerChangeObserver(new SessionChangeObserver() {
+            @Override
+            public void onSessionChanged() {
+                _signer.invalidate();
+            }
+        });
     }
 
     private String _sdk = "Android_" + Gigya.VERSION;
@@ -77,17 +98,11 @@ public class GigyaApiRequestFactory implements IApiRequestFactory {
             urlParams.putAll(params);
         }
 
-        // Add general parameters.
-        urlParams.put("sdk", _sdk);
-        urlParams.put("targetEnv", "mobile");
-        urlParams.put("httpStatusCodes", false);
-        urlParams.put("format", "json");
-        urlParams.put("apiKey", _config.getApiKey());
+        // Add general & account configuration parameters.
+        getTemplate(api).apply(urlParams);
 
         // Add nonce.
-        final SecureRandom random = new SecureRandom();
-        String nonce = System.currentTimeMillis() + "_" + random.nextInt();
-        urlParams.put("nonce", nonce);
+        urlParams.put("nonce", _nonceGenerator.nextNonce());
 
         // Add configuration parameters.
         final String gmid = _config.getGmid();
@@ -105,9 +120,6 @@ public class GigyaApiRequestFactory implements IApiRequestFactory {
         }
         headers.put("apikey", _config.getApiKey());
 
-        // Add global configuration request parameters.
-        addAccountConfigParameters(api, urlParams);
-
         // Generate new GigyaApiRequest entity.
         return new GigyaApiRequest(httpMethod, api, urlParams, headers);
     }
@@ -126,27 +138,29 @@ public class GigyaApiRequestFactory implements IApiRequestFactory {
 
         GigyaLogger.debug(LOG_TAG, "sign: offset for signer = " + _config.getServerOffset());
 
+        final String url = UrlUtils.getBaseUrl(request.getApi(), _config);
+        final String encodedParams;
+
         // Add authentication parameters. Get SDK Config request is an exception.
         if (_sessionService.isValid() && !request.isAnonymous()) {
             final String sessionToken = _sessionService.getSession().getSessionToken();
             request.getParams().put("oauth_token", sessionToken);
             final String sessionSecret = _sessionService.getSession().getSessionSecret();
-            AuthUtils.addAuthenticationParameters(
+            // Parameters are encoded once for both the signature and the request body.
+            encodedParams = AuthUtils.addAuthenticationParameters(
+                    _signer,
                     sessionSecret,
                     request.getMethod().intValue(),
-                    UrlUtils.getBaseUrl(request.getApi(), _config),
+                    url,
                     request.getParams(),
                     _config.getServerOffset());
         } else {
             request.getParams().put("apiKey", _config.getApiKey());
+            encodedParams = UrlUtils.buildEncodedQuery(request.getParams());
         }
 
         GigyaLogger.debug(LOG_TAG, "sign: request parameters:\n" + request.getParams().toString());
 
-        // Encode url & generate encoded parameters.
-        final String encodedParams = UrlUtils.buildEncodedQuery(request.getParams());
-        final String url = UrlUtils.getBaseUrl(request.getApi(), _config);
-
         // Return a new instance of a signed REST request.
         return new GigyaApiHttpRequest(request.getMethod(), url, encodedParams, request.getHeaders());
     }
@@ -162,34 +176,20 @@ public class GigyaApiRequestFactory implements IApiRequestFactory {
     }
 
     /**
-     * Adding specific account APIs related parameters.
+     * Get the request template of an api. Templates are rebuilt when the configuration changes.
      *
-     * @param api    Requested API.
-     * @param params Request provided parameter map.
+     * @param api Requested API.
+     * @return Request template for the current configuration.
      */
-    private void addAccountConfigParameters(String api, Map<String, Object> params) {
-        final GigyaAccountConfig gigyaAccountConfig = _config.getGigyaAccountConfig();
-        if (gigyaAccountConfig == null) {
-            return;
-        }
-        final String accountConfigInclude = gigyaAccountConfig.getInclude() != null ? TextUtils.join(",", gigyaAccountConfig.getInclude()) : null;
-        final String accountConfigExtraProfileFields = gigyaAccountConfig.getExtraProfileFields() != null ? TextUtils.join(",", gigyaAccountConfig.getExtraProfileFields()) : null;
-        switch (api) {
-            case GigyaDefinitions.API.API_GET_ACCOUNT_INFO:
-                if (!params.containsKey("include") && accountConfigInclude != null) {
-                    params.put("include", accountConfigInclude);
-                }
-                if (!params.containsKey("extraProfileFields") && accountConfigExtraProfileFields != null) {
-                    params.put("extraProfileFields", accountConfigExtraProfileFields);
-                }
-                break;
-            case GigyaDefinitions.API.API_LOGIN:
-            case GigyaDefinitions.API.API_REGISTER:
-            case GigyaDefinitions.API.API_VERIFY_LOGIN:
-                if (!params.containsKey("include") && accountConfigInclude != null) {
-                    params.put("include", accountConfigInclude);
-                }
-                break;
+    private GigyaApiRequestTemplate getTemplate(String api) {
+        GigyaApiRequestTemplate template = _templates.get(api);
+        if (template == null || !template.isValid(_config, _sdk)) {
+            template = GigyaApiRequestTemplate.create(api, _config, _sdk);
+            if (_templates.size() >= MAX_TEMPLATES) {
+                _templates.clear();
+            }
+            _templates.put(api, template);
         }
+        return template;
     }
 }
@@ -0,0 +1,96 @@
+package com.gigya.android.sdk.api;
+
+import android.text.TextUtils;
+
+import androidx.annotation.Nullable;
+
+import com.gigya.android.sdk.Config;
+import com.gigya.android.sdk.GigyaDefinitions;
+import com.gigya.android.sdk.account.GigyaAccountConfig;
+import com.gigya.android.sdk.utils.ObjectUtils;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable per api request parameters computed once for a configuration version.
+ * Holds the general parameters added to every request and the account configuration defaults
+ * relevant to the api.
+ */
+class GigyaApiRequestTemplate {
+
+    final private int _configVersion;
+    final private String _sdk;
+
+    /*
+    General parameters. Override caller provided values.
+     */
+    final private Map<String, Object> _generalParams;
+
+    /*
+    Account configuration parameters. Added only when not provided by the caller.
+     */
+    final private Map<String, Object> _defaultParams;
+
+    private GigyaApiRequestTemplate(int configVersion, String sdk, Map<String, Object> generalParams, Map<String, Object> defaultParams) {
+        _configVersion = configVersion;
+        _sdk = sdk;
+        _generalParams = Collections.unmodifiableMap(generalParams);
+        _defaultParams = Collections.unmodifiableMap(defaultParams);
+    }
+
+    static GigyaApiRequestTemplate create(String api, Config config, String sdk) {
+        // Read the version first. A concurrent update yields a template that is rebuilt on next use.
+        final int configVersion = config.getVersion();
+
+        final TreeMap<String, Object> generalParams = new TreeMap<>();
+        generalParams.put("sdk", sdk);
+        generalParams.put("targetEnv", "mobile");
+        generalParams.put("httpStatusCodes", false);
+        generalParams.put("format", "json");
+        generalParams.put("apiKey", config.getApiKey());
+
+        final TreeMap<String, Object> defaultParams = new TreeMap<>();
+        final GigyaAccountConfig accountConfig = config.getGigyaAccountConfig();
+        if (accountConfig != null) {
+            switch (api) {
+                case GigyaDefinitions.API.API_GET_ACCOUNT_INFO:
+                    putJoined(defaultParams, "include", accountConfig.getInclude());
+                    putJoined(defaultParams, "extraProfileFields", accountConfig.getExtraProfileFields());
+                    break;
+                case GigyaDefinitions.API.API_LOGIN:
+                case GigyaDefinitions.API.API_REGISTER:
+                case GigyaDefinitions.API.API_VERIFY_LOGIN:
+                    putJoined(defaultParams, "include", accountConfig.getInclude());
+                    break;
+            }
+        }
+        return new GigyaApiRequestTemplate(configVersion, sdk, generalParams, defaultParams);
+    }
+
+    private static void putJoined(Map<String, Object> params, String key, @Nullable String[] values) {
+        if (values != null) {
+            params.put(key, TextUtils.join(",", values));
+        }
+    }
+
+    /**
+     * Check if the template was built for the current configuration & sdk.
+     */
+    boolean isValid(Config config, String sdk) {
+        return _configVersion == config.getVersion() && ObjectUtils.safeEquals(_sdk, sdk);
+    }
+
+    /**
+     * Apply template parameters to the caller provided parameters.
+     */
+    void apply(Map<String, Object> params) {
+        params.putAll(_generalParams);
+        for (Map.Entry<String, Object> entry : _defaultParams.entrySet()) {
+            if (!params.containsKey(entry.getKey())) {
+                params.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+}
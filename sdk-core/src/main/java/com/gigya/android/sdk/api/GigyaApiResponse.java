@@ -3,18 +3,23 @@ package com.gigya.android.sdk.api;
 import androidx.annotation.Nullable;
 
 import com.gigya.android.sdk.GigyaLogger;
-import com.gigya.android.sdk.utils.AccountGSONDeserializer;
+import com.gigya.android.sdk.utils.GsonRegistry;
 import com.gigya.android.sdk.utils.ObjectUtils;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.StringReader;
 import java.util.Map;
 
 /**
  * Gigya generic response class.
+ * <p>
+ * Root fields (error & status codes, callId etc.) are read by a streaming scan of the root object.
+ * The response Map is built on first use.
  */
 public class GigyaApiResponse {
 
@@ -24,26 +29,121 @@ public class GigyaApiResponse {
     public static final int OK = 200;
 
     private String json;
-    private Map<String, Object> mapped;
 
-    // GSON Support.
-    private Gson gson = new Gson();
+    /*
+    Built on first use. Use getMapped().
+     */
+    private volatile Map<String, Object> mapped;
+
+    /*
+    Root fields read by the root scan. Not serialized.
+     */
+    private transient boolean valid;
+    private transient int statusCode = INVALID_VALUE;
+    private transient int errorCode = INVALID_VALUE;
+    private transient String errorDetails;
+    private transient String statusReason;
+    private transient String callId;
+    private transient String time;
 
+    // GSON Support.
     public Gson getGson() {
-        return gson;
+        return GsonRegistry.getInstance().getGson();
     }
 
     public GigyaApiResponse(String json) {
         this.json = json;
+        scanRoot();
+    }
+
+    /*
+    Read the root fields, skipping nested values without materializing them.
+     */
+    private void scanRoot() {
+        if (json == null) {
+            return;
+        }
+        final JsonReader reader = new JsonReader(new StringReader(json));
+        reader.setLenient(true);
         try {
-            JSONObject jo = new JSONObject(json);
-            mapped = ObjectUtils.toMap(jo);
-            GigyaLogger.debug(LOG_TAG, "json mapped!");
-        } catch (JSONException e) {
-            e.printStackTrace();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                final String name = reader.nextName();
+                switch (name) {
+                    case "statusCode":
+                        statusCode = readInt(reader);
+                        break;
+                    case "errorCode":
+                        errorCode = readInt(reader);
+                        break;
+                    case "errorDetails":
+                        errorDetails = readString(reader);
+                        break;
+                    case "statusReason":
+                        statusReason = readString(reader);
+                        break;
+                    case "callId":
+                        callId = readString(reader);
+                        break;
+                    case "time":
+                        time = readString(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+            valid = true;
+        } catch (Exception ex) {
+            ex.printStackTrace();
         }
     }
 
+    private static int readInt(JsonReader reader) throws Exception {
+        if (reader.peek() != JsonToken.NUMBER) {
+            reader.skipValue();
+            return INVALID_VALUE;
+        }
+        try {
+            return reader.nextInt();
+        } catch (NumberFormatException ex) {
+            // Not an integer. Consumed as a string so the scan can continue.
+            reader.nextString();
+            return INVALID_VALUE;
+        }
+    }
+
+    @Nullable
+    private static String readString(JsonReader reader) throws Exception {
+        if (reader.peek() != JsonToken.STRING) {
+            reader.skipValue();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    /*
+    Build the response Map on first use.
+     */
+    private Map<String, Object> getMapped() {
+        Map<String, Object> result = mapped;
+        if (result == null && valid) {
+            synchronized (this) {
+                result = mapped;
+                if (result == null) {
+                    try {
+                        result = ObjectUtils.toMap(new JSONObject(json));
+                        mapped = result;
+                        GigyaLogger.debug(LOG_TAG, "json mapped!");
+                    } catch (JSONException e) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
     /**
      * Get JSON formatted of the current response.
      *
@@ -59,7 +159,7 @@ public class GigyaApiResponse {
      * @return Mapped response data.
      */
     public Map<String, Object> asMap() {
-        return this.mapped;
+        return getMapped();
     }
 
     /**
@@ -80,13 +180,12 @@ public class GigyaApiResponse {
 
     /**
      * Account object requires specific parser in order to be aligned with
-     * Site schema object.
+     * Site schema object. The account is decoded in a single streaming pass.
      */
     @Nullable
     public <A> A parseAccountTo(Class<A> clazz) {
         try {
-            return new GsonBuilder().registerTypeAdapter(clazz, new AccountGSONDeserializer<A>()).create()
-                    .fromJson(asJson(), clazz);
+            return GsonRegistry.getInstance().getAccountGson().fromJson(asJson(), clazz);
         } catch (Exception ex) {
             ex.printStackTrace();
         }
@@ -101,7 +200,7 @@ public class GigyaApiResponse {
      */
     @SuppressWarnings("LoopStatementThatDoesntLoop")
     public boolean contains(String key) {
-        return mapped.containsKey(key);
+        return getMapped().containsKey(key);
     }
 
     /**
@@ -112,64 +211,43 @@ public class GigyaApiResponse {
      * @return TRUE of nested key is present.
      */
     public boolean containsNested(String key) {
-        String[] split = key.split("\\.");
-        if (split.length == 1) {
-            return mapped.containsKey(key);
-        } else {
-            Map map = mapped;
-            for (int i = 0; i < split.length; i++) {
-                Object obj = map.get(split[i]);
-                if (obj == null) {
-                    return false;
-                }
-                if (obj instanceof Map) {
-                    map = (Map) obj;
-                } else if (i < split.length - 1) {
-                    return false;
-                }
-            }
-            return true;
-        }
+        return containsNested(ResponsePath.compile(key));
+    }
+
+    /**
+     * Check if response parameters contains a specific nested path.
+     *
+     * @param path Compiled path for evaluation.
+     * @return TRUE of nested path is present.
+     */
+    public boolean containsNested(ResponsePath path) {
+        return path.isPresent(getMapped());
     }
 
     /**
      * Type field optional getter.
      * Allows fetching an parsed object from response parameters given required type.
-     * Uses GSON as the parsing engine.
+     * Primitive values are converted directly. Uses GSON as the parsing engine for other types.
      *
-     * @param key   Requested parameter key.
+     * @param key   Requested parameter key. Nested key example: profile.firstName
      * @param clazz Required  parsed object type.
      * @return Parsed hard copy class according to provided key and type.
      */
-    @SuppressWarnings("unchecked")
     @Nullable
     public <T> T getField(String key, Class<T> clazz) {
-        String[] split = key.split("\\.");
-        if (split.length == 1) {
-            if (mapped.containsKey(key)) {
-                final String json = gson.toJson(mapped.get(key));
-                return gson.fromJson(json, clazz);
-            }
-        }
-        if (containsNested(key)) {
-            Map map = mapped;
-            Object obj = null;
-            for (int i = 0; i < split.length; i++) {
-                obj = map.get(split[i]);
-                if (i < split.length - 1) {
-                    map = (Map) obj;
-                }
-            }
-            if (obj == null) {
-                return null;
-            }
-            if (obj.getClass() == clazz) {
-                return (T) obj;
-            }
-        } else {
-            return null;
-        }
-        return null;
+        return getField(ResponsePath.compile(key), clazz);
+    }
+
+    /**
+     * Type field optional getter using a compiled path.
+     *
+     * @param path  Requested parameter path.
+     * @param clazz Required  parsed object type.
+     * @return Parsed hard copy class according to provided path and type.
+     */
+    @Nullable
+    public <T> T getField(ResponsePath path, Class<T> clazz) {
+        return path.resolve(getMapped(), clazz, getGson());
     }
 
     //region ROOT ELEMENT GETTERS
@@ -180,13 +258,7 @@ public class GigyaApiResponse {
      * @return Integer status code.
      */
     public int getStatusCode() {
-        if (mapped == null) return INVALID_VALUE;
-        try {
-            return (int) mapped.get("statusCode");
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            return INVALID_VALUE;
-        }
+        return statusCode;
     }
 
     /**
@@ -195,13 +267,7 @@ public class GigyaApiResponse {
      * @return Integer error code.
      */
     public int getErrorCode() {
-        if (mapped == null) return INVALID_VALUE;
-        try {
-            return (int) mapped.get("errorCode");
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            return INVALID_VALUE;
-        }
+        return errorCode;
     }
 
     /**
@@ -211,15 +277,7 @@ public class GigyaApiResponse {
      */
     @Nullable
     public String getErrorDetails() {
-        if (mapped == null) return null;
-        try {
-            if (mapped.containsKey("errorDetails")) {
-                return (String) mapped.get("errorDetails");
-            }
-        } catch (Exception ex) {
-            ex.printStackTrace();
-        }
-        return null;
+        return errorDetails;
     }
 
     /**
@@ -229,15 +287,7 @@ public class GigyaApiResponse {
      */
     @Nullable
     public String getStatusReason() {
-        if (mapped == null) return null;
-        try {
-            if (mapped.containsKey("statusReason")) {
-                return (String) mapped.get("statusReason");
-            }
-        } catch (Exception ex) {
-            ex.printStackTrace();
-        }
-        return null;
+        return statusReason;
     }
 
     /**
@@ -247,15 +297,7 @@ public class GigyaApiResponse {
      */
     @Nullable
     public String getCallId() {
-        if (mapped == null) return null;
-        try {
-            if (mapped.containsKey("callId")) {
-                return (String) mapped.get("callId");
-            }
-        } catch (Exception ex) {
-            ex.printStackTrace();
-        }
-        return null;
+        return callId;
     }
 
     /**
@@ -265,15 +307,7 @@ public class GigyaApiResponse {
      */
     @Nullable
     public String getTime() {
-        if (mapped == null) return null;
-        try {
-            if (mapped.containsKey("time")) {
-                return (String) mapped.get("time");
-            }
-        } catch (Exception ex) {
-            ex.printStackTrace();
-        }
-        return null;
+        return time;
     }
 
     //endregion
@@ -10,5 +10,15 @@ public interface IApiService {
 
     void cancel(String tag);
 
+    void cancel(GigyaApiRequest request);
+
+    /**
+     * Override the retry policy of a specific API.
+     *
+     * @param api    Api name.
+     * @param policy Retry policy. Null to restore the default policy.
+     */
+    void setRetryPolicy(String api, RetryPolicy policy);
+
     void getSdkConfig(final ApiService.IApiServiceResponse apiCallback);
 }
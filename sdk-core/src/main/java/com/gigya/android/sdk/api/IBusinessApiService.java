@@ -18,6 +18,8 @@ public interface IBusinessApiService<A extends GigyaAccount> {
 
     IAccountService<A> getAccountService();
 
+    RequestCoalescer getRequestCoalescer();
+
     <V> void send(String api, Map<String, Object> params, int requestMethod, Class<V> clazz, GigyaCallback<V> gigyaCallback);
 
     <V> void send(String api, Map<String, Object> params, Map<String, String> headers, Class<V> clazz, GigyaCallback<V> gigyaCallback);
@@ -0,0 +1,16 @@
+package com.gigya.android.sdk.api;
+
+import java.util.Random;
+
+public interface INonceGenerator {
+
+    /**
+     * Generate a new request nonce.
+     */
+    String nextNonce();
+
+    /**
+     * Get the shared random source. Used where a random value is required without a dedicated instance.
+     */
+    Random getRandom();
+}
@@ -0,0 +1,183 @@
+package com.gigya.android.sdk.api;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.gigya.android.sdk.GigyaCallback;
+import com.gigya.android.sdk.GigyaLoginCallback;
+import com.gigya.android.sdk.interruption.IPendingRegistrationResolver;
+import com.gigya.android.sdk.interruption.link.ILinkAccountsResolver;
+import com.gigya.android.sdk.interruption.tfa.TFAResolverFactory;
+import com.gigya.android.sdk.interruption.tfa.models.TFAProviderModel;
+import com.gigya.android.sdk.network.GigyaError;
+import com.gigya.android.sdk.network.adapter.CallbackExecutors;
+
+import java.util.List;
+
+/**
+ * Callback wrapper invoking the wrapped callback on the main thread.
+ * <p>
+ * Business api responses are parsed and interruptions are resolved on the network callback executor.
+ * Only the final callback invocation hops to the main thread.
+ *
+ * @param <T> Callback response type.
+ */
+class MainThreadCallback<T> extends GigyaLoginCallback<T> {
+
+    final private GigyaCallback<T> _callback;
+
+    private MainThreadCallback(GigyaCallback<T> callback) {
+        _callback = callback;
+    }
+
+    /**
+     * Wrap a callback. Null and already wrapped callbacks are returned as is.
+     */
+    @Nullable
+    static <T> GigyaLoginCallback<T> wrap(@Nullable GigyaCallback<T> callback) {
+        if (callback == null) {
+            return null;
+        }
+        if (callback instanceof MainThreadCallback) {
+            return (MainThreadCallback<T>) callback;
+        }
+        return new MainThreadCallback<>(callback);
+    }
+
+    @Nullable
+    private GigyaLoginCallback<T> loginCallback() {
+        return _callback instanceof GigyaLoginCallback ? (GigyaLoginCallback<T>) _callback : null;
+    }
+
+    @Override
+    public void onSuccess(final T obj) {
+        CallbackExecutors.runOnMainThread(new Runnable() {
+            @Override
+            public void run() {
+                _callback.onSuccess(obj);
+            }
+        });
+    }
+
+    @Override
+    public void onError(final GigyaError error) {
+        CallbackExecutors.runOnMainThread(new Runnable() {
+            @Override
+            public void run() {
+                _callback.onError(error);
+            }
+        });
+    }
+
+    @Override
+    public void onOperationCanceled() {
+        CallbackExecutors.runOnMainThread(new Runnable() {
+            @Override
+            public void run() {
+                _callback.onOperationCanceled();
+            }
+        });
+    }
+
+    @Override
+    public void onIntermediateLoad() {
+        CallbackExecutors.runOnMainThread(new Runnable() {
+            @Override
+            public void run() {
+                _callback.onIntermediateLoad();
+            }
+        });
+    }
+
+    @Override
+    public void onPendingVerification(@NonNull final GigyaApiResponse response, @Nullable final String regToken) {
+        final GigyaLoginCallback<T> loginCallback = loginCallback();
+        if (loginCallback == null) {
+            super.onPendingVerification(response, regToken);
+            return;
+        }
+        CallbackExecutors.runOnMainThread(new Runnable() {
+            @Override
+            public void run() {
+                loginCallback.onPendingVerification(response, regToken);
+            }
+        });
+    }
+
+    @Override
+    public void onPendingRegistration(@NonNull final GigyaApiResponse response, @NonNull final IPendingRegistrationResolver resolver) {
+        final GigyaLoginCallback<T> loginCallback = loginCallback();
+        if (loginCallback == null) {
+            super.onPendingRegistration(response, resolver);
+            return;
+        }
+        CallbackExecutors.runOnMainThread(new Runnable() {
+            @Override
+            public void run() {
+                loginCallback.onPendingRegistration(response, resolver);
+            }
+        });
+    }
+
+    @Override
+    public void onConflictingAccounts(@NonNull final GigyaApiResponse response, @NonNull final ILinkAccountsResolver resolver) {
+        final GigyaLoginCallback<T> loginCallback = loginCallback();
+        if (loginCallback == null) {
+            super.onConflictingAccounts(response, resolver);
+            return;
+        }
+        CallbackExecutors.runOnMainThread(new Runnable() {
+            @Override
+            public void run() {
+                loginCallback.onConflictingAccounts(response, resolver);
+            }
+        });
+    }
+
+    @Override
+    public void onPendingPasswordChange(@NonNull final GigyaApiResponse response) {
+        final GigyaLoginCallback<T> loginCallback = loginCallback();
+        if (loginCallback == null) {
+            super.onPendingPasswordChange(response);
+            return;
+        }
+        CallbackExecutors.runOnMainThread(new Runnable() {
+            @Override
+            public void run() {
+                loginCallback.onPendingPasswordChange(response);
+            }
+        });
+    }
+
+    @Override
+    public void onPendingTwoFactorRegistration(@NonNull final GigyaApiResponse response, @NonNull final List<TFAProviderModel> inactiveProviders,
+                                               @NonNull final TFAResolverFactory resolverFactory) {
+        final GigyaLoginCallback<T> loginCallback = loginCallback();
+        if (loginCallback == null) {
+            super.onPendingTwoFactorRegistration(response, inactiveProviders, resolverFactory);
+            return;
+        }
+        CallbackExecutors.runOnMainThread(new Runnable() {
+            @Override
+            public void run() {
+                loginCallback.onPendingTwoFactorRegistration(response, inactiveProviders, resolverFactory);
+            }
+        });
+    }
+
+    @Override
+    public void onPendingTwoFactorVerification(@NonNull final GigyaApiResponse response, @NonNull final List<TFAProviderModel> activeProviders,
+                                               @NonNull final TFAResolverFactory resolverFactory) {
+        final GigyaLoginCallback<T> loginCallback = loginCallback();
+        if (loginCallback == null) {
+            super.onPendingTwoFactorVerification(response, activeProviders, resolverFactory);
+            return;
+        }
+        CallbackExecutors.runOnMainThread(new Runnable() {
+            @Override
+            public void run() {
+                loginCallback.onPendingTwoFactorVerification(response, activeProviders, resolverFactory);
+            }
+        });
+    }
+}
@@ -0,0 +1,39 @@
+package com.gigya.android.sdk.api;
+
+import java.security.SecureRandom;
+import java.util.Random;
+
+/**
+ * Request nonce generator backed by a single SecureRandom.
+ * <p>
+ * Seeding a SecureRandom may block on entropy, so the instance is created once per SDK instance.
+ * Nonces are formatted as "timestamp_random" where the random part is a non negative 63 bit value.
+ */
+public class NonceGenerator implements INonceGenerator {
+
+    /*
+    Maximal nonce length: 13 digit millisecond timestamp, separator & 19 digit random value.
+     */
+    private static final int NONCE_CAPACITY = 33;
+
+    final private SecureRandom _random;
+
+    public NonceGenerator() {
+        _random = new SecureRandom();
+    }
+
+    @Override
+    public String nextNonce() {
+        final long value = _random.nextLong() & Long.MAX_VALUE;
+        return new StringBuilder(NONCE_CAPACITY)
+                .append(System.currentTimeMillis())
+                .append('_')
+                .append(value)
+                .toString();
+    }
+
+    @Override
+    public Random getRandom() {
+        return _random;
+    }
+}
@@ -0,0 +1,217 @@
+package com.gigya.android.sdk.api;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.gigya.android.sdk.GigyaDefinitions;
+import com.gigya.android.sdk.GigyaLogger;
+import com.gigya.android.sdk.network.GigyaError;
+import com.gigya.android.sdk.network.adapter.CallbackExecutors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single flight coalescing of identical in-flight read requests.
+ * The first request for a key is dispatched. Identical requests issued while it is in-flight are
+ * parked and receive the same response data. Each caller receives its own response instance.
+ * Counters are available via {@link IBusinessApiService#getRequestCoalescer()}.
+ */
+public class RequestCoalescer {
+
+    private static final String LOG_TAG = "RequestCoalescer";
+
+    /*
+    Idempotent read APIs allowed to share a single in-flight request.
+     */
+    private static final List<String> COALESCED_APIS = Arrays.asList(
+            GigyaDefinitions.API.API_GET_ACCOUNT_INFO,
+            GigyaDefinitions.API.API_GET_SCHEMA,
+            GigyaDefinitions.API.API_GET_SDK_CONFIG,
+            GigyaDefinitions.API.API_TFA_GET_PROVIDERS,
+            GigyaDefinitions.API.API_GET_POLICIES
+    );
+
+    /*
+    Parameters that differ between otherwise identical requests.
+     */
+    private static final List<String> VOLATILE_PARAMS = Arrays.asList("nonce", "timestamp", "sig", "oauth_token");
+
+    private final Map<String, InFlight> _inFlight = new HashMap<>();
+
+    private final AtomicLong _dispatched = new AtomicLong(0);
+    private final AtomicLong _coalesced = new AtomicLong(0);
+
+    /**
+     * Generate the coalescing key for a request.
+     *
+     * @param request Request instance.
+     * @param scope   Session scope. Requests of different sessions are never coalesced.
+     * @return Coalescing key or null if the request cannot be coalesced.
+     */
+    @Nullable
+    public String keyFor(@NonNull GigyaApiRequest request, @Nullable String scope) {
+        if (!COALESCED_APIS.contains(request.getApi())) {
+            return null;
+        }
+        final StringBuilder sb = new StringBuilder()
+                .append(request.getMethod())
+                .append('|')
+                .append(request.getApi())
+                .append('|')
+                .append(scope == null ? "" : scope)
+                .append('|');
+        for (Map.Entry<String, Object> entry : request.getParams().entrySet()) {
+            if (VOLATILE_PARAMS.contains(entry.getKey())) {
+                continue;
+            }
+            sb.append(entry.getKey()).append('=').append(entry.getValue()).append('&');
+        }
+        if (request.getHeaders() != null) {
+            sb.append('|').append(request.getHeaders().toString());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Join an in-flight request if one exists for the given key. Otherwise register the caller as the
+     * dispatching request.
+     *
+     * @param key         Coalescing key.
+     * @param apiCallback Caller callback.
+     * @return True if the caller was parked on an in-flight request and must not dispatch.
+     */
+    public synchronized boolean join(@NonNull String key, @NonNull ApiService.IApiServiceResponse apiCallback) {
+        final InFlight waiting = _inFlight.get(key);
+        if (waiting != null) {
+            waiting.callbacks.add(apiCallback);
+            final long coalesced = _coalesced.incrementAndGet();
+            GigyaLogger.debug(LOG_TAG, "join: request coalesced. Saved " + coalesced + " of "
+                    + (coalesced + _dispatched.get()) + " requests");
+            return true;
+        }
+        final InFlight entry = new InFlight();
+        entry.callbacks.add(apiCallback);
+        _inFlight.put(key, entry);
+        _dispatched.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Generate the callback for the dispatched request. The result is delivered to all parked callers.
+     * Each caller receives its own response instance, so a caller mutating its response map does not
+     * affect the others. The callback is delivered on the network callback executor. Parked callers that are not
+     * {@link ApiService.ICallbackExecutorResponse} are invoked on the main thread.
+     * <p>
+     * When the dispatched request is cancelled its entry is removed. Parked callers are failed with
+     * {@link GigyaError#cancelledOperation()}, unless all requests of the tag were cancelled.
+     *
+     * @param key Coalescing key.
+     */
+    public synchronized ApiService.ICallbackExecutorResponse fanOut(@NonNull final String key) {
+        return new FanOut(key, _inFlight.get(key));
+    }
+
+    private class FanOut implements ApiService.ICallbackExecutorResponse, ApiService.ICancellableResponse {
+
+        final private String _key;
+        final private InFlight _entry;
+
+        FanOut(String key, InFlight entry) {
+            _key = key;
+            _entry = entry;
+        }
+
+        @Override
+        public void onApiSuccess(final GigyaApiResponse response) {
+            final List<ApiService.IApiServiceResponse> callbacks = drain(_key, _entry);
+            for (int i = 0; i < callbacks.size(); i++) {
+                final ApiService.IApiServiceResponse callback = callbacks.get(i);
+                // The dispatching caller keeps the original. Copies re-scan the same JSON lazily.
+                final GigyaApiResponse callerResponse = i == 0 ? response : new GigyaApiResponse(response.asJson());
+                deliver(callback, new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onApiSuccess(callerResponse);
+                    }
+                });
+            }
+        }
+
+        @Override
+        public void onApiError(final GigyaError gigyaError) {
+            for (final ApiService.IApiServiceResponse callback : drain(_key, _entry)) {
+                deliver(callback, new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onApiError(gigyaError);
+                    }
+                });
+            }
+        }
+
+        @Override
+        public void onCancelled(boolean byTag) {
+            final List<ApiService.IApiServiceResponse> callbacks = drain(_key, _entry);
+            if (byTag) {
+                // Parked callers share the api tag, so they are cancelled as well.
+                GigyaLogger.debug(LOG_TAG, "onCancelled: dropped " + callbacks.size() + " coalesced callers");
+                return;
+            }
+            // The dispatching caller was cancelled. Its callback is never delivered.
+            for (int i = 1; i < callbacks.size(); i++) {
+                final ApiService.IApiServiceResponse callback = callbacks.get(i);
+                deliver(callback, new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onApiError(GigyaError.cancelledOperation());
+                    }
+                });
+            }
+        }
+    }
+
+    private static void deliver(ApiService.IApiServiceResponse callback, Runnable delivery) {
+        if (callback instanceof ApiService.ICallbackExecutorResponse) {
+            delivery.run();
+        } else {
+            CallbackExecutors.runOnMainThread(delivery);
+        }
+    }
+
+    /**
+     * Number of network requests dispatched through the coalescer.
+     */
+    public long getDispatchedCount() {
+        return _dispatched.get();
+    }
+
+    /**
+     * Number of network requests saved by coalescing.
+     */
+    public long getCoalescedCount() {
+        return _coalesced.get();
+    }
+
+    private synchronized List<ApiService.IApiServiceResponse> drain(String key, InFlight entry) {
+        if (entry == null) {
+            return new ArrayList<>();
+        }
+        if (_inFlight.get(key) == entry) {
+            _inFlight.remove(key);
+        }
+        // Callers are delivered once, whichever completion comes first.
+        final List<ApiService.IApiServiceResponse> callbacks = new ArrayList<>(entry.callbacks);
+        entry.callbacks.clear();
+        return callbacks;
+    }
+
+    private static class InFlight {
+
+        final List<ApiService.IApiServiceResponse> callbacks = new ArrayList<>();
+    }
+}
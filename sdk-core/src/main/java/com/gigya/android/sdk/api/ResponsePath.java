@@ -0,0 +1,170 @@
+package com.gigya.android.sdk.api;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.Gson;
+
+import org.json.JSONObject;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled dot separated path of a response field. Path example: profile.firstName
+ * <p>
+ * The path is split once on compile. Compiled paths are cached, so the same path string is never split twice.
+ * String, number & boolean values are converted directly. Other values are converted using GSON.
+ */
+public class ResponsePath {
+
+    /*
+    Paths are usually constants. The cache stops growing at this size.
+     */
+    private static final int MAX_CACHED_PATHS = 256;
+
+    private static final Map<String, ResponsePath> CACHE = new ConcurrentHashMap<>();
+
+    final private String _path;
+    final private String[] _segments;
+
+    private ResponsePath(String path) {
+        _path = path;
+        _segments = path.split("\\.");
+    }
+
+    /**
+     * Compile a dot separated path.
+     *
+     * @param path Field path. Nested path example: profile.firstName
+     * @return Cached compiled path.
+     */
+    public static ResponsePath compile(@NonNull String path) {
+        ResponsePath compiled = CACHE.get(path);
+        if (compiled == null) {
+            compiled = new ResponsePath(path);
+            if (CACHE.size() < MAX_CACHED_PATHS) {
+                CACHE.put(path, compiled);
+            }
+        }
+        return compiled;
+    }
+
+    public String getPath() {
+        return _path;
+    }
+
+    /**
+     * Check if the path is present in the response map.
+     *
+     * @param root Response map.
+     * @return TRUE if all path segments are present.
+     */
+    @SuppressWarnings("unchecked")
+    public boolean isPresent(@NonNull Map<String, Object> root) {
+        Map<String, Object> map = root;
+        for (int i = 0; i < _segments.length; i++) {
+            final Object obj = map.get(_segments[i]);
+            if (obj == null) {
+                return false;
+            }
+            if (obj instanceof Map) {
+                map = (Map<String, Object>) obj;
+            } else if (i < _segments.length - 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the raw value of the path.
+     *
+     * @param root Response map.
+     * @return Value or null if not present or JSON null.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public Object resolve(@NonNull Map<String, Object> root) {
+        Object obj = root;
+        for (String segment : _segments) {
+            if (!(obj instanceof Map)) {
+                return null;
+            }
+            obj = ((Map<String, Object>) obj).get(segment);
+        }
+        return obj == JSONObject.NULL ? null : obj;
+    }
+
+    /**
+     * Get the typed value of the path.
+     *
+     * @param root  Response map.
+     * @param clazz Required type.
+     * @param gson  GSON instance for non primitive types.
+     * @return Converted hard copy of the value or null if not present.
+     */
+    @Nullable
+    public <T> T resolve(@NonNull Map<String, Object> root, Class<T> clazz, Gson gson) {
+        return convert(resolve(root), clazz, gson);
+    }
+
+    /**
+     * Convert a response map value to the required type.
+     * Maps & lists are converted using GSON so the response map is never shared.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    static <T> T convert(@Nullable Object value, Class<T> clazz, Gson gson) {
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Map) && !(value instanceof List)) {
+            if (clazz.isInstance(value)) {
+                return (T) value;
+            }
+            if (clazz == String.class && (value instanceof Number || value instanceof Boolean)) {
+                return (T) String.valueOf(value);
+            }
+            if (value instanceof Number) {
+                final Number converted = convertNumber((Number) value, clazz);
+                if (converted != null) {
+                    return (T) converted;
+                }
+            }
+        }
+        return gson.fromJson(gson.toJsonTree(value), clazz);
+    }
+
+    /*
+    Integral values are converted to integral types when in range, any number to decimal types.
+    Returns null for GSON to handle the conversion.
+     */
+    @Nullable
+    private static Number convertNumber(Number value, Class<?> clazz) {
+        if (clazz == Double.class) {
+            return value.doubleValue();
+        }
+        if (clazz == Float.class) {
+            return value.floatValue();
+        }
+        if (!(value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte)) {
+            return null;
+        }
+        final long longValue = value.longValue();
+        if (clazz == Long.class) {
+            return longValue;
+        }
+        if (clazz == Integer.class && longValue == (int) longValue) {
+            return (int) longValue;
+        }
+        return null;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return _path;
+    }
+}
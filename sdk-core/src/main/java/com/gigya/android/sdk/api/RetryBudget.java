@@ -0,0 +1,50 @@
+package com.gigya.android.sdk.api;
+
+/**
+ * Token bucket limiting the ratio of retries to original requests.
+ * <p>
+ * Every original request deposits a fraction of a token and every retry withdraws a whole token.
+ * When the network is flaky the bucket drains and failures are delivered instead of amplifying load.
+ */
+public class RetryBudget {
+
+    /*
+    Tokens are kept in thousandths to avoid accumulating rounding errors.
+     */
+    private static final long UNIT = 1000;
+
+    final private long maxTokens;
+
+    private long tokens;
+
+    public RetryBudget(int maxTokens) {
+        this.maxTokens = maxTokens * UNIT;
+        this.tokens = this.maxTokens;
+    }
+
+    /**
+     * Deposit the share of an original request.
+     *
+     * @param ratio Allowed retries per original request.
+     */
+    public synchronized void onRequest(double ratio) {
+        tokens = Math.min(maxTokens, tokens + Math.round(ratio * UNIT));
+    }
+
+    /**
+     * Withdraw a retry token.
+     *
+     * @return False if the budget is exhausted and the retry should not be attempted.
+     */
+    public synchronized boolean tryAcquire() {
+        if (tokens < UNIT) {
+            return false;
+        }
+        tokens -= UNIT;
+        return true;
+    }
+
+    public synchronized double getTokens() {
+        return (double) tokens / UNIT;
+    }
+}
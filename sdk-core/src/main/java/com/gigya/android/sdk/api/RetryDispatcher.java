@@ -1,26 +1,58 @@
 package com.gigya.android.sdk.api;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.gigya.android.sdk.GigyaLogger;
 import com.gigya.android.sdk.network.GigyaError;
 import com.gigya.android.sdk.network.adapter.IRestAdapter;
 import com.gigya.android.sdk.network.adapter.IRestAdapterCallback;
 
-import java.security.SecureRandom;
-
+import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retries a failed request according to a {@link RetryPolicy}.
+ * Delayed attempts are scheduled on a shared background timer thread.
+ */
 public class RetryDispatcher {
 
     private static final String LOG_TAG = "RetryDispatcher";
 
+    private static ScheduledExecutorService _timer;
+
     private GigyaApiRequest request;
     private IRestAdapter adapter;
     private IApiRequestFactory factory;
     private IRetryHandler handler;
     private int errorCode;
     private int tries;
-
-    private final SecureRandom random = new SecureRandom();
+    @Nullable
+    private RetryPolicy policy;
+    @Nullable
+    private RetryBudget budget;
+    private long lastDelay = 0;
+
+    /*
+    Backoff jitter source. Shared fallback when no random source is provided.
+     */
+    private static Random _defaultRandom;
+
+    @Nullable
+    private Random random;
+
+    /*
+    Cancellation state. Guarded by this dispatcher.
+     */
+    private boolean cancelled = false;
+    @Nullable
+    private ScheduledFuture<?> pendingAttempt;
+    @Nullable
+    private GigyaApiRequest currentRequest;
 
     public interface IRetryHandler {
 
@@ -28,7 +60,13 @@ public class RetryDispatcher {
 
         void onCompleteWithError(GigyaError error);
 
-        void onUpdateDate(String date);
+        /**
+         * Update the server time offset from an attempt response.
+         *
+         * @param date   Response date header.
+         * @param sentAt Device time the attempt was sent.
+         */
+        void onUpdateDate(String date, long sentAt);
     }
 
     private boolean decrement() {
@@ -36,28 +74,149 @@ public class RetryDispatcher {
         return this.tries > 0;
     }
 
+    private boolean isRetryable(int code) {
+        if (policy != null) {
+            return policy.isRetryable(code);
+        }
+        return code == errorCode;
+    }
+
+    private boolean acquireBudget() {
+        if (budget == null || budget.tryAcquire()) {
+            return true;
+        }
+        GigyaLogger.debug(LOG_TAG, "Retry budget exhausted. Parent flow will continue");
+        return false;
+    }
+
+    private static synchronized Random getDefaultRandom() {
+        if (_defaultRandom == null) {
+            _defaultRandom = new Random();
+        }
+        return _defaultRandom;
+    }
+
+    private static synchronized ScheduledExecutorService getTimer() {
+        if (_timer == null) {
+            final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                @Override
+                public Thread newThread(@NonNull Runnable runnable) {
+                    final Thread thread = new Thread(runnable, "gigya-retry");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            timer.setKeepAliveTime(30, TimeUnit.SECONDS);
+            timer.allowCoreThreadTimeOut(true);
+            _timer = timer;
+        }
+        return _timer;
+    }
+
+    /**
+     * Dispatch the next attempt after the policy backoff delay.
+     * Attempts without delay are dispatched immediately on the calling thread.
+     * Each call dispatches a retry. Callers must check that the policy allows retries before the first call.
+     */
+    public void schedule() {
+        final long delay = policy == null ? 0 : policy.nextDelay(lastDelay, random != null ? random : getDefaultRandom());
+        lastDelay = delay;
+        if (delay <= 0) {
+            dispatch();
+            return;
+        }
+        GigyaLogger.debug(LOG_TAG, "Retry scheduled in " + delay + "ms for " + request.getApi());
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            pendingAttempt = getTimer().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    dispatch();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Get the original request being retried.
+     */
+    public GigyaApiRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * Cancel the retries. A pending attempt is dropped and an attempt already sent is cancelled.
+     * The handler is not called after cancellation.
+     */
+    public void cancel() {
+        final GigyaApiRequest sent;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            if (pendingAttempt != null) {
+                pendingAttempt.cancel(false);
+                pendingAttempt = null;
+            }
+            sent = currentRequest;
+            currentRequest = null;
+        }
+        GigyaLogger.debug(LOG_TAG, "Retries cancelled for " + request.getApi());
+        if (sent != null) {
+            adapter.cancel(sent);
+        }
+    }
+
+    private synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
     public void dispatch() {
         // Recreate the request to avoid duplicate nonce & additional errors.
-        final GigyaApiRequest newRequest = factory.create(
-                request.getApi(),
-                request.getParams(),
-                request.getMethod());
+        final GigyaApiRequest newRequest = request.getHeaders() != null ?
+                factory.create(
+                        request.getApi(),
+                        request.getParams(),
+                        request.getMethod(),
+                        request.getHeaders()) :
+                factory.create(
+                        request.getApi(),
+                        request.getParams(),
+                        request.getMethod());
+        if (newRequest != null) {
+            newRequest.setAnonymous(request.isAnonymous());
+        }
+
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            pendingAttempt = null;
+            currentRequest = newRequest;
+        }
 
+        final long sentAt = System.currentTimeMillis();
         adapter.send(newRequest, false, new IRestAdapterCallback() {
 
             @Override
             public void onResponse(String jsonResponse, String responseDateHeader) {
+                if (isCancelled()) {
+                    return;
+                }
 
                 // Make sure to update the offset date.
-                handler.onUpdateDate(responseDateHeader);
+                handler.onUpdateDate(responseDateHeader, sentAt);
 
                 final GigyaApiResponse apiResponse = new GigyaApiResponse(jsonResponse);
                 final boolean retry = decrement();
-                if (retry && apiResponse.getErrorCode() == errorCode) {
+                if (retry && isRetryable(apiResponse.getErrorCode()) && acquireBudget()) {
 
-                    GigyaLogger.debug(LOG_TAG, "Retry error for code: " + errorCode + ". number of tries remaining = " + tries);
+                    GigyaLogger.debug(LOG_TAG, "Retry error for code: " + apiResponse.getErrorCode() + ". number of tries remaining = " + tries);
 
-                    dispatch();
+                    schedule();
                     return;
                 }
 
@@ -68,12 +227,15 @@ public class RetryDispatcher {
 
             @Override
             public void onError(GigyaError gigyaError) {
+                if (isCancelled()) {
+                    return;
+                }
                 final boolean retry = decrement();
-                if (retry && gigyaError.getErrorCode() == errorCode) {
+                if (retry && isRetryable(gigyaError.getErrorCode()) && acquireBudget()) {
 
-                    GigyaLogger.debug(LOG_TAG, "Retry error for code: " + errorCode + ". number of tries remaining = " + tries);
+                    GigyaLogger.debug(LOG_TAG, "Retry error for code: " + gigyaError.getErrorCode() + ". number of tries remaining = " + tries);
 
-                    dispatch();
+                    schedule();
                     return;
                 }
 
@@ -109,6 +271,28 @@ public class RetryDispatcher {
             return this;
         }
 
+        /**
+         * Set the retry policy. Overrides the error code and the number of tries.
+         */
+        public RetryDispatcher.Builder policy(@NonNull RetryPolicy policy) {
+            dispatcher.policy = policy;
+            dispatcher.tries = policy.getMaxRetries();
+            return this;
+        }
+
+        /**
+         * Set the backoff jitter random source.
+         */
+        public RetryDispatcher.Builder random(@Nullable Random random) {
+            dispatcher.random = random;
+            return this;
+        }
+
+        public RetryDispatcher.Builder budget(@Nullable RetryBudget budget) {
+            dispatcher.budget = budget;
+            return this;
+        }
+
         public RetryDispatcher handler(@NonNull IRetryHandler handler) {
             dispatcher.handler = handler;
             return dispatcher;
@@ -0,0 +1,82 @@
+package com.gigya.android.sdk.api;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.gigya.android.sdk.Config;
+import com.gigya.android.sdk.GigyaDefinitions;
+import com.gigya.android.sdk.network.GigyaNetworkConfig;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the retry policy of an API.
+ * Explicitly registered policies take precedence over the idempotency class of the API.
+ */
+public class RetryPolicies {
+
+    /*
+    Idempotent APIs not following the get/is naming.
+     */
+    private static final List<String> IDEMPOTENT_APIS = Arrays.asList(
+            GigyaDefinitions.API.API_VERIFY_LOGIN,
+            GigyaDefinitions.API.API_IS_SESSION_VALID,
+            GigyaDefinitions.API.API_GET_IDS
+    );
+
+    final private Config _config;
+
+    final private Map<String, RetryPolicy> _policies = new ConcurrentHashMap<>();
+
+    public RetryPolicies(Config config) {
+        _config = config;
+    }
+
+    /**
+     * Register a policy for a specific API.
+     *
+     * @param api    Api name.
+     * @param policy Retry policy. Null to restore the default policy.
+     */
+    public void setPolicy(@NonNull String api, @Nullable RetryPolicy policy) {
+        if (policy == null) {
+            _policies.remove(api);
+            return;
+        }
+        _policies.put(api, policy);
+    }
+
+    @NonNull
+    public RetryPolicy forApi(@Nullable String api) {
+        if (api == null) {
+            return RetryPolicy.none();
+        }
+        final RetryPolicy registered = _policies.get(api);
+        if (registered != null) {
+            return registered;
+        }
+        final GigyaNetworkConfig networkConfig = getNetworkConfig();
+        if (isIdempotent(api)) {
+            return RetryPolicy.idempotent(networkConfig);
+        }
+        return RetryPolicy.nonIdempotent(networkConfig);
+    }
+
+    public GigyaNetworkConfig getNetworkConfig() {
+        if (_config != null && _config.getGigyaNetworkConfig() != null) {
+            return _config.getGigyaNetworkConfig();
+        }
+        return new GigyaNetworkConfig();
+    }
+
+    static boolean isIdempotent(String api) {
+        if (IDEMPOTENT_APIS.contains(api)) {
+            return true;
+        }
+        final String method = api.substring(api.lastIndexOf('.') + 1);
+        return method.startsWith("get") || method.startsWith("is") || method.startsWith("search");
+    }
+}
@@ -0,0 +1,130 @@
+package com.gigya.android.sdk.api;
+
+import com.gigya.android.sdk.network.GigyaError;
+import com.gigya.android.sdk.network.GigyaNetworkConfig;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Retry policy of an API request.
+ * <p>
+ * Defines which error codes are retried, how many times and the backoff between attempts.
+ * Delays use exponential backoff with decorrelated jitter: each delay is a random value between the
+ * base delay and three times the previous delay, capped by the maximal delay.
+ */
+public class RetryPolicy {
+
+    /*
+    Request never reached the server. Safe to retry for any API.
+    Rate limit errors are not retried. Retrying within the backoff window only extends the limit.
+     */
+    private static final Set<Integer> UNPROCESSED_CODES = new HashSet<>(Collections.singletonList(
+            GigyaError.Codes.ERROR_NO_NETWORK
+    ));
+
+    /*
+    Transient server errors. Only safe to retry for idempotent APIs.
+    Network errors (including socket & connect timeouts) are not retried. Each attempt may take a full timeout.
+     */
+    private static final Set<Integer> TRANSIENT_CODES = new HashSet<>(Arrays.asList(
+            GigyaError.Codes.ERROR_NO_NETWORK,
+            GigyaError.Codes.ERROR_GENERAL_SERVER,
+            GigyaError.Codes.ERROR_SERVER_TIMEOUT,
+            GigyaError.Codes.ERROR_SERVER_REQUEST_TIMEOUT
+    ));
+
+    final private int maxRetries;
+    final private long baseDelayMillis;
+    final private long maxDelayMillis;
+    final private Set<Integer> retryableCodes;
+    final private boolean retryServerErrors;
+
+    public RetryPolicy(int maxRetries, long baseDelayMillis, long maxDelayMillis, Set<Integer> retryableCodes, boolean retryServerErrors) {
+        this.maxRetries = maxRetries;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = Math.max(baseDelayMillis, maxDelayMillis);
+        this.retryableCodes = retryableCodes;
+        this.retryServerErrors = retryServerErrors;
+    }
+
+    /**
+     * Maximal number of retries, not including the original request.
+     * 0 disables retries. A value of 2 allows up to 3 requests in total.
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Check if an error code should be retried.
+     *
+     * @param code Gigya error code or HTTP status code.
+     */
+    public boolean isRetryable(int code) {
+        if (retryableCodes.contains(code)) {
+            return true;
+        }
+        // Raw HTTP 5xx status codes.
+        return retryServerErrors && code >= 500 && code < 600;
+    }
+
+    /**
+     * Generate the delay of the next attempt.
+     *
+     * @param previousDelay Delay of the previous attempt. 0 for the first attempt.
+     * @param random        Random source.
+     * @return Delay in milliseconds.
+     */
+    public long nextDelay(long previousDelay, Random random) {
+        if (baseDelayMillis <= 0) {
+            return 0;
+        }
+        final long upper = Math.max(baseDelayMillis, previousDelay * 3);
+        final long delay = baseDelayMillis + (long) (random.nextDouble() * (upper - baseDelayMillis));
+        return Math.min(maxDelayMillis, delay);
+    }
+
+    /**
+     * Immediate retries of a single error code.
+     *
+     * @param tries Maximal number of retries.
+     */
+    public static RetryPolicy immediate(int errorCode, int tries) {
+        return new RetryPolicy(tries, 0, 0, Collections.singleton(errorCode), false);
+    }
+
+    /**
+     * Retry policy of requests rejected due to timestamp skew.
+     * The server offset is updated from the failed response so a short delay is enough.
+     */
+    public static RetryPolicy requestExpired() {
+        return new RetryPolicy(2, 100, 1000, Collections.singleton(GigyaError.Codes.ERROR_REQUEST_HAS_EXPIRED), false);
+    }
+
+    /**
+     * Retry policy of idempotent (read) APIs. Transient network and server errors are retried.
+     */
+    public static RetryPolicy idempotent(GigyaNetworkConfig networkConfig) {
+        return new RetryPolicy(networkConfig.getRetryMaxAttempts(), networkConfig.getRetryBaseDelayMillis(),
+                networkConfig.getRetryMaxDelayMillis(), TRANSIENT_CODES, true);
+    }
+
+    /**
+     * Retry policy of non idempotent APIs. Only requests that were not processed by the server are retried.
+     */
+    public static RetryPolicy nonIdempotent(GigyaNetworkConfig networkConfig) {
+        return new RetryPolicy(networkConfig.getRetryMaxAttempts(), networkConfig.getRetryBaseDelayMillis(),
+                networkConfig.getRetryMaxDelayMillis(), UNPROCESSED_CODES, false);
+    }
+
+    /**
+     * No retries.
+     */
+    public static RetryPolicy none() {
+        return new RetryPolicy(0, 0, 0, Collections.<Integer>emptySet(), false);
+    }
+}
@@ -0,0 +1,108 @@
+package com.gigya.android.sdk.api;
+
+import androidx.annotation.Nullable;
+
+import com.gigya.android.sdk.Config;
+import com.gigya.android.sdk.GigyaLogger;
+import com.gigya.android.sdk.persistence.IPersistenceService;
+import com.gigya.android.sdk.utils.HttpDateParser;
+
+/**
+ * Tracks the offset between the device clock and the server clock used for request timestamps.
+ * <p>
+ * Each response "Date" header is a sample. The sample is taken against the middle of the request round trip
+ * and samples are smoothed so a single slow response does not skew the offset. A sample far from the
+ * current estimate (device clock change) replaces it. The offset is published to {@link Config} in seconds
+ * and persisted, so a cold start signs with the last known offset.
+ */
+public class ServerClock {
+
+    private static final String LOG_TAG = "ServerClock";
+
+    /*
+    Smoothing factor of a sample with no round trip time. Slower samples weigh less.
+     */
+    private static final double SMOOTHING = 0.25;
+
+    /*
+    Deviation (beyond the sample uncertainty) that is treated as a clock change rather than noise.
+     */
+    private static final long STEP_THRESHOLD_MILLIS = 5000;
+
+    final private Config _config;
+    final private IPersistenceService _psService;
+
+    private double _offsetMillis;
+    private int _samples;
+    private long _persistedSeconds = Long.MIN_VALUE;
+
+    public ServerClock(Config config, IPersistenceService psService) {
+        _config = config;
+        _psService = psService;
+    }
+
+    /**
+     * Restore the persisted offset if no offset is available yet.
+     * The first live sample replaces the restored offset.
+     */
+    public synchronized void restore() {
+        if (_samples > 0 || _config.getServerOffset() != null) {
+            return;
+        }
+        final Long persisted = _psService.getServerOffset();
+        if (persisted == null) {
+            return;
+        }
+        _offsetMillis = persisted;
+        _persistedSeconds = toSeconds(persisted);
+        _config.setServerOffset(_persistedSeconds);
+        GigyaLogger.debug(LOG_TAG, "restore: server offset = " + _persistedSeconds);
+    }
+
+    /**
+     * Update the offset with a response date header.
+     *
+     * @param dateHeader       Response "Date" header.
+     * @param sentAtMillis     Device time the request was sent.
+     * @param receivedAtMillis Device time the response was received.
+     * @param reset            Replace the current estimate (e.g. the server rejected the request timestamp).
+     */
+    public synchronized void update(@Nullable String dateHeader, long sentAtMillis, long receivedAtMillis, boolean reset) {
+        final long serverMillis = HttpDateParser.parse(dateHeader);
+        if (serverMillis < 0) {
+            if (dateHeader != null) {
+                GigyaLogger.error(LOG_TAG, "update: unable to parse date header " + dateHeader);
+            }
+            return;
+        }
+        final long roundTrip = Math.max(0, receivedAtMillis - sentAtMillis);
+        final double sample = serverMillis - (sentAtMillis + roundTrip / 2.0);
+        if (_samples == 0 || reset || Math.abs(sample - _offsetMillis) > STEP_THRESHOLD_MILLIS + roundTrip / 2.0) {
+            _offsetMillis = sample;
+        } else {
+            final double weight = SMOOTHING * 1000 / (1000 + roundTrip);
+            _offsetMillis += weight * (sample - _offsetMillis);
+        }
+        _samples++;
+
+        final long offsetSeconds = toSeconds(_offsetMillis);
+        GigyaLogger.debug(LOG_TAG, "update: server offset = " + offsetSeconds + " (round trip " + roundTrip + "ms)");
+        _config.setServerOffset(offsetSeconds);
+        if (offsetSeconds != _persistedSeconds) {
+            _persistedSeconds = offsetSeconds;
+            _psService.setServerOffset((long) _offsetMillis);
+        }
+    }
+
+    /**
+     * Get the smoothed offset in milliseconds.
+     */
+    public synchronized long getOffsetMillis() {
+        return (long) _offsetMillis;
+    }
+
+    private static long toSeconds(double offsetMillis) {
+        // Truncated toward zero.
+        return (long) (offsetMillis / 1000);
+    }
+}
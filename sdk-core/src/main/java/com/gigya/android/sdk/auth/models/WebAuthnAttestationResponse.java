@@ -1,6 +1,6 @@
 package com.gigya.android.sdk.auth.models;
 
-import com.google.gson.Gson;
+import com.gigya.android.sdk.utils.GsonRegistry;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -12,8 +12,6 @@ public class WebAuthnAttestationResponse {
     public String idBase64;
     public String rawIdBase64;
 
-    private final Gson gson = new Gson();
-
     public WebAuthnAttestationResponse(
             String clientDataJSONBase64,
             String attestationObjectBase64,
@@ -38,6 +36,6 @@ public class WebAuthnAttestationResponse {
         attestation.put("rawId", this.rawIdBase64);
         attestation.put("type", "public-key");
         attestation.put("response", getResponse());
-        return gson.toJson(attestation);
+        return GsonRegistry.getInstance().getGson().toJson(attestation);
     }
 }
@@ -1,6 +1,6 @@
 package com.gigya.android.sdk.auth.models;
 
-import com.google.gson.Gson;
+import com.gigya.android.sdk.utils.GsonRegistry;
 
 public class WebAuthnGetOptionsResponseModel {
 
@@ -8,6 +8,6 @@ public class WebAuthnGetOptionsResponseModel {
     public String token;
 
     public WebAuthnGetOptionsModel parseOptions() {
-        return new Gson().fromJson(options, WebAuthnGetOptionsModel.class);
+        return GsonRegistry.getInstance().getGson().fromJson(options, WebAuthnGetOptionsModel.class);
     }
 }
@@ -1,7 +1,7 @@
 package com.gigya.android.sdk.auth.models;
 
 
-import com.google.gson.Gson;
+import com.gigya.android.sdk.utils.GsonRegistry;
 
 public class WebAuthnInitRegisterResponseModel {
 
@@ -9,6 +9,6 @@ public class WebAuthnInitRegisterResponseModel {
     public String token;
 
     public WebAuthnOptionsModel parseOptions() {
-        return new Gson().fromJson(this.options, WebAuthnOptionsModel.class);
+        return GsonRegistry.getInstance().getGson().fromJson(this.options, WebAuthnOptionsModel.class);
     }
 }
@@ -1,6 +1,6 @@
 package com.gigya.android.sdk.auth.models;
 
-import com.google.gson.Gson;
+import com.gigya.android.sdk.utils.GsonRegistry;
 import com.google.gson.reflect.TypeToken;
 
 import java.lang.reflect.Type;
@@ -34,13 +34,13 @@ public class WebAuthnKeyModel {
         }
         Type listType = new TypeToken<ArrayList<WebAuthnKeyModel>>() {
         }.getType();
-        return new Gson().<ArrayList<WebAuthnKeyModel>>fromJson(json, listType);
+        return GsonRegistry.getInstance().getGson().<ArrayList<WebAuthnKeyModel>>fromJson(json, listType);
     }
 
     public static String toJsonList(List<WebAuthnKeyModel> list) {
         Type listType = new TypeToken<ArrayList<WebAuthnKeyModel>>() {
         }.getType();
-        return new Gson().toJson(list, listType);
+        return GsonRegistry.getInstance().getGson().toJson(list, listType);
     }
 
 }
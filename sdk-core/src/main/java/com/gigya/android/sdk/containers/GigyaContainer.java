@@ -12,6 +12,8 @@ import com.gigya.android.sdk.api.GigyaApiRequestFactory;
 import com.gigya.android.sdk.api.IApiRequestFactory;
 import com.gigya.android.sdk.api.IApiService;
 import com.gigya.android.sdk.api.IBusinessApiService;
+import com.gigya.android.sdk.api.INonceGenerator;
+import com.gigya.android.sdk.api.NonceGenerator;
 import com.gigya.android.sdk.auth.FidoApiServiceImpl;
 import com.gigya.android.sdk.auth.FidoApiServiceV23Impl;
 import com.gigya.android.sdk.auth.IFidoApiService;
@@ -49,17 +51,20 @@ import com.gigya.android.sdk.ui.plugin.WebViewFragmentFactory;
 import com.gigya.android.sdk.ui.plugin.webbridgetmanager.IWebBridgeInterruptionManager;
 import com.gigya.android.sdk.ui.plugin.webbridgetmanager.WebBridgeInterruptionManager;
 import com.gigya.android.sdk.utils.FileUtils;
+import com.gigya.android.sdk.utils.GsonRegistry;
 
 public class GigyaContainer extends IoCContainer {
     public GigyaContainer() {
         bind(FileUtils.class, FileUtils.class, true)
+                .bind(GsonRegistry.class, GsonRegistry.getInstance())
                 .bind(Config.class, Config.class, true)
                 .bind(ConfigFactory.class, ConfigFactory.class, false)
                 .bind(IRestAdapter.class, RestAdapter.class, true)
                 .bind(IPersistenceService.class, PersistenceService.class, false)
-                .bind(IApiService.class, ApiService.class, false)
+                .bind(IApiService.class, ApiService.class, true)
                 .bind(IReportingService.class, ReportingService.class, true)
                 .bind(IReportingManager.class, ReportingManager.class, true)
+                .bind(INonceGenerator.class, NonceGenerator.class, true)
                 .bind(IApiRequestFactory.class, GigyaApiRequestFactory.class, true)
                 .bind(SessionStateHandler.class, SessionStateHandler.class, true)
                 .bind(ISessionService.class, SessionService.class, true)
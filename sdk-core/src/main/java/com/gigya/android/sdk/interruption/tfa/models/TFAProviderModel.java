@@ -9,7 +9,15 @@ public class TFAProviderModel {
         return name;
     }
 
+    public void setName(String name) {
+        this.name = name;
+    }
+
     public int getAuthLevel() {
         return authLevel;
     }
+
+    public void setAuthLevel(int authLevel) {
+        this.authLevel = authLevel;
+    }
 }
@@ -14,7 +14,15 @@ public class TFAProvidersModel extends GigyaResponseModel {
         return activeProviders;
     }
 
+    public void setActiveProviders(List<TFAProviderModel> activeProviders) {
+        this.activeProviders = activeProviders;
+    }
+
     public List<TFAProviderModel> getInactiveProviders() {
         return inactiveProviders;
     }
+
+    public void setInactiveProviders(List<TFAProviderModel> inactiveProviders) {
+        this.inactiveProviders = inactiveProviders;
+    }
 }
@@ -3,7 +3,7 @@ package com.gigya.android.sdk.network;
 import androidx.annotation.NonNull;
 
 import com.gigya.android.sdk.api.GigyaApiResponse;
-import com.google.gson.Gson;
+import com.gigya.android.sdk.utils.GsonRegistry;
 
 import org.json.JSONObject;
 
@@ -28,6 +28,14 @@ public class GigyaError extends GigyaResponseModel {
         public static final int ERROR_INVALID_JWT = 400006;
 
         public static final int ERROR_REQUEST_HAS_EXPIRED = 403002;
+
+        public static final int ERROR_NO_NETWORK = 400106;
+
+        public static final int ERROR_GENERAL_SERVER = 500001;
+        public static final int ERROR_SERVER_TIMEOUT = 504001;
+        public static final int ERROR_SERVER_REQUEST_TIMEOUT = 504002;
+
+        public static final int ERROR_CIRCUIT_OPEN = 503100;
     }
 
     /* Raw Json data. */
@@ -74,6 +82,10 @@ public class GigyaError extends GigyaResponseModel {
         return new GigyaError(200001, message, "");
     }
 
+    public static GigyaError circuitOpen(String host) {
+        return new GigyaError(Codes.ERROR_CIRCUIT_OPEN, "Host " + host + " is temporarily unavailable", "");
+    }
+
     public static GigyaError fromResponse(GigyaApiResponse response) {
         final int errorCode = response.getErrorCode();
         final String localizedMessage = response.getErrorDetails();
@@ -129,6 +141,6 @@ public class GigyaError extends GigyaResponseModel {
         if (data != null) {
             return data;
         }
-        return new Gson().toJson(this);
+        return GsonRegistry.getInstance().getGson().toJson(this);
     }
 }
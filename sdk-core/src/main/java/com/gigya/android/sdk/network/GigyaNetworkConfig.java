@@ -0,0 +1,287 @@
+package com.gigya.android.sdk.network;
+
+public class GigyaNetworkConfig {
+
+    private int workerPoolSize = 4;
+    private int workerQueueCapacity = 64;
+    private boolean keepAlive = false;
+    private int maxIdleConnectionsPerHost = 5;
+    private long keepAliveDuration = 300000;
+    private int tlsSessionCacheSize = 20;
+    private int tlsSessionTimeout = 86400;
+    private int releaseMaxConcurrency = 4;
+    private long releasePacingMillis = 50;
+    private int retryMaxAttempts = 2;
+    private long retryBaseDelayMillis = 250;
+    private long retryMaxDelayMillis = 4000;
+    private double retryBudgetRatio = 0.1;
+    private int circuitFailureThreshold = 5;
+    private long circuitOpenDurationMillis = 30000;
+    private boolean prewarm = false;
+    private long prewarmBudgetMillis = 3000;
+    private long connectTimeoutMillis = 30000;
+    private long readTimeoutMillis = 30000;
+    private boolean http2 = true;
+    private long userCallTimeoutMillis = 0;
+    private long defaultCallTimeoutMillis = 0;
+    private long backgroundCallTimeoutMillis = 0;
+    private boolean requestCompression = false;
+    private int requestCompressionThreshold = 8192;
+    private String[] requestCompressionApis = {"accounts.setAccountInfo", "accounts.register"};
+
+    public int getWorkerPoolSize() {
+        return workerPoolSize;
+    }
+
+    public void setWorkerPoolSize(int workerPoolSize) {
+        this.workerPoolSize = workerPoolSize;
+    }
+
+    public int getWorkerQueueCapacity() {
+        return workerQueueCapacity;
+    }
+
+    public void setWorkerQueueCapacity(int workerQueueCapacity) {
+        this.workerQueueCapacity = workerQueueCapacity;
+    }
+
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    public void setKeepAlive(boolean keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    /**
+     * Maximal number of idle pooled connections. Applies to the OkHttp provider pool.
+     * HttpURLConnection based providers use the platform pool limits.
+     */
+    public int getMaxIdleConnectionsPerHost() {
+        return maxIdleConnectionsPerHost;
+    }
+
+    public void setMaxIdleConnectionsPerHost(int maxIdleConnectionsPerHost) {
+        this.maxIdleConnectionsPerHost = maxIdleConnectionsPerHost;
+    }
+
+    /**
+     * Idle connection eviction time in milliseconds. Applies to the OkHttp provider pool.
+     */
+    public long getKeepAliveDuration() {
+        return keepAliveDuration;
+    }
+
+    public void setKeepAliveDuration(long keepAliveDuration) {
+        this.keepAliveDuration = keepAliveDuration;
+    }
+
+    /**
+     * TLS session cache size of SDK connections.
+     */
+    public int getTlsSessionCacheSize() {
+        return tlsSessionCacheSize;
+    }
+
+    public void setTlsSessionCacheSize(int tlsSessionCacheSize) {
+        this.tlsSessionCacheSize = tlsSessionCacheSize;
+    }
+
+    /**
+     * TLS session resumption timeout in seconds.
+     */
+    public int getTlsSessionTimeout() {
+        return tlsSessionTimeout;
+    }
+
+    public void setTlsSessionTimeout(int tlsSessionTimeout) {
+        this.tlsSessionTimeout = tlsSessionTimeout;
+    }
+
+    /**
+     * Maximal number of concurrent requests released from the blocked queue.
+     */
+    public int getReleaseMaxConcurrency() {
+        return releaseMaxConcurrency;
+    }
+
+    public void setReleaseMaxConcurrency(int releaseMaxConcurrency) {
+        this.releaseMaxConcurrency = releaseMaxConcurrency;
+    }
+
+    /**
+     * Minimal interval in milliseconds between requests released from the blocked queue.
+     */
+    public long getReleasePacingMillis() {
+        return releasePacingMillis;
+    }
+
+    public void setReleasePacingMillis(long releasePacingMillis) {
+        this.releasePacingMillis = releasePacingMillis;
+    }
+
+    /**
+     * Maximal number of retries of a failed request, not including the original request.
+     * 0 disables retries. The default of 2 allows up to 3 requests in total.
+     */
+    public int getRetryMaxAttempts() {
+        return retryMaxAttempts;
+    }
+
+    public void setRetryMaxAttempts(int retryMaxAttempts) {
+        this.retryMaxAttempts = retryMaxAttempts;
+    }
+
+    public long getRetryBaseDelayMillis() {
+        return retryBaseDelayMillis;
+    }
+
+    public void setRetryBaseDelayMillis(long retryBaseDelayMillis) {
+        this.retryBaseDelayMillis = retryBaseDelayMillis;
+    }
+
+    public long getRetryMaxDelayMillis() {
+        return retryMaxDelayMillis;
+    }
+
+    public void setRetryMaxDelayMillis(long retryMaxDelayMillis) {
+        this.retryMaxDelayMillis = retryMaxDelayMillis;
+    }
+
+    /**
+     * Allowed retries per original request. Limits retry load on a flaky network.
+     */
+    public double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    public void setRetryBudgetRatio(double retryBudgetRatio) {
+        this.retryBudgetRatio = retryBudgetRatio;
+    }
+
+    /**
+     * Consecutive host failures opening the circuit. 0 disables the circuit breaker.
+     */
+    public int getCircuitFailureThreshold() {
+        return circuitFailureThreshold;
+    }
+
+    public void setCircuitFailureThreshold(int circuitFailureThreshold) {
+        this.circuitFailureThreshold = circuitFailureThreshold;
+    }
+
+    /**
+     * Time an open circuit fails requests before allowing a probe request.
+     */
+    public long getCircuitOpenDurationMillis() {
+        return circuitOpenDurationMillis;
+    }
+
+    public void setCircuitOpenDurationMillis(long circuitOpenDurationMillis) {
+        this.circuitOpenDurationMillis = circuitOpenDurationMillis;
+    }
+
+    /**
+     * Resolve & pre-connect the api hosts when the SDK is initialized.
+     */
+    public boolean isPrewarm() {
+        return prewarm;
+    }
+
+    public void setPrewarm(boolean prewarm) {
+        this.prewarm = prewarm;
+    }
+
+    public long getPrewarmBudgetMillis() {
+        return prewarmBudgetMillis;
+    }
+
+    public void setPrewarmBudgetMillis(long prewarmBudgetMillis) {
+        this.prewarmBudgetMillis = prewarmBudgetMillis;
+    }
+
+    /**
+     * Connect & read timeouts of the OkHttp client.
+     */
+    public long getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    public void setConnectTimeoutMillis(long connectTimeoutMillis) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+    }
+
+    public long getReadTimeoutMillis() {
+        return readTimeoutMillis;
+    }
+
+    public void setReadTimeoutMillis(long readTimeoutMillis) {
+        this.readTimeoutMillis = readTimeoutMillis;
+    }
+
+    /**
+     * Negotiate HTTP/2 to multiplex concurrent requests to a host over a single connection (OkHttp only).
+     */
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    public void setHttp2(boolean http2) {
+        this.http2 = http2;
+    }
+
+    /**
+     * Timeout of a complete call of user initiated apis (OkHttp only). 0 for no call timeout.
+     */
+    public long getUserCallTimeoutMillis() {
+        return userCallTimeoutMillis;
+    }
+
+    public void setUserCallTimeoutMillis(long userCallTimeoutMillis) {
+        this.userCallTimeoutMillis = userCallTimeoutMillis;
+    }
+
+    public long getDefaultCallTimeoutMillis() {
+        return defaultCallTimeoutMillis;
+    }
+
+    public void setDefaultCallTimeoutMillis(long defaultCallTimeoutMillis) {
+        this.defaultCallTimeoutMillis = defaultCallTimeoutMillis;
+    }
+
+    public long getBackgroundCallTimeoutMillis() {
+        return backgroundCallTimeoutMillis;
+    }
+
+    public void setBackgroundCallTimeoutMillis(long backgroundCallTimeoutMillis) {
+        this.backgroundCallTimeoutMillis = backgroundCallTimeoutMillis;
+    }
+
+    /**
+     * Gzip POST bodies of the allowed apis above the threshold (bytes). Requires server support of
+     * "Content-Encoding: gzip" requests.
+     */
+    public boolean isRequestCompression() {
+        return requestCompression;
+    }
+
+    public void setRequestCompression(boolean requestCompression) {
+        this.requestCompression = requestCompression;
+    }
+
+    public int getRequestCompressionThreshold() {
+        return requestCompressionThreshold;
+    }
+
+    public void setRequestCompressionThreshold(int requestCompressionThreshold) {
+        this.requestCompressionThreshold = requestCompressionThreshold;
+    }
+
+    public String[] getRequestCompressionApis() {
+        return requestCompressionApis;
+    }
+
+    public void setRequestCompressionApis(String[] requestCompressionApis) {
+        this.requestCompressionApis = requestCompressionApis;
+    }
+}
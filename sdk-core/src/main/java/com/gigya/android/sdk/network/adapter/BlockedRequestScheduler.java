@@ -0,0 +1,345 @@
+package com.gigya.android.sdk.network.adapter;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.gigya.android.sdk.GigyaLogger;
+import com.gigya.android.sdk.api.GigyaApiRequest;
+import com.gigya.android.sdk.network.GigyaError;
+import com.gigya.android.sdk.network.GigyaNetworkConfig;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds requests while the network provider is blocked and releases them by priority.
+ * <p>
+ * Released requests are dispatched with bounded concurrency and a minimal interval between
+ * dispatches, so a long blocked period does not end with a burst of requests.
+ * <p>
+ * Releasing runs on the network worker pool, so requests are never signed on the calling (UI) thread.
+ * A released request holds a concurrency slot until its in-flight token is untracked, its callback is
+ * invoked or it is removed, whichever comes first.
+ */
+class BlockedRequestScheduler {
+
+    private static final String LOG_TAG = "BlockedRequestScheduler";
+
+    final private NetworkProvider _provider;
+
+    final private PriorityQueue<Entry> _queue = new PriorityQueue<>(11, new Comparator<Entry>() {
+        @Override
+        public int compare(Entry lhs, Entry rhs) {
+            if (lhs.priority != rhs.priority) {
+                return lhs.priority.order() < rhs.priority.order() ? -1 : 1;
+            }
+            return lhs.sequence < rhs.sequence ? -1 : (lhs.sequence == rhs.sequence ? 0 : 1);
+        }
+    });
+
+    /*
+    Released requests awaiting a response.
+     */
+    final private List<Entry> _released = new ArrayList<>();
+
+    /*
+    Delay before retrying a release the worker pool rejected.
+     */
+    private static final long BUSY_RETRY_MILLIS = 100;
+
+    /*
+    Shared timer of paced releases. Delayed releases are handed over to the worker pool.
+     */
+    private static ScheduledExecutorService _timer;
+
+    private long _sequence = 0;
+    private long _lastDispatch = 0;
+    private boolean _drainScheduled = false;
+    private boolean _draining = false;
+    private boolean _drainAgain = false;
+
+    private final Runnable _drain = new Runnable() {
+        @Override
+        public void run() {
+            do {
+                try {
+                    drain();
+                } catch (RuntimeException ex) {
+                    GigyaLogger.error(LOG_TAG, "drain: failed with " + ex.getMessage());
+                }
+            } while (continueDraining());
+        }
+    };
+
+    private final Runnable _delayedDrain = new Runnable() {
+        @Override
+        public void run() {
+            synchronized (BlockedRequestScheduler.this) {
+                _drainScheduled = false;
+            }
+            requestDrain();
+        }
+    };
+
+    BlockedRequestScheduler(NetworkProvider provider) {
+        _provider = provider;
+    }
+
+    private static synchronized ScheduledExecutorService getTimer() {
+        if (_timer == null) {
+            final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                @Override
+                public Thread newThread(@NonNull Runnable runnable) {
+                    final Thread thread = new Thread(runnable, "gigya-release");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            timer.setKeepAliveTime(30, TimeUnit.SECONDS);
+            timer.allowCoreThreadTimeOut(true);
+            _timer = timer;
+        }
+        return _timer;
+    }
+
+    synchronized void add(GigyaApiRequest request, IRestAdapterCallback networkCallbacks) {
+        final Entry entry = new Entry(request, networkCallbacks, RequestPriority.of(request.getApi()), _sequence++);
+        GigyaLogger.debug(LOG_TAG, "add: " + request.getApi() + " with priority " + entry.priority);
+        _queue.add(entry);
+    }
+
+    synchronized boolean isEmpty() {
+        return _queue.isEmpty();
+    }
+
+    synchronized int size() {
+        return _queue.size();
+    }
+
+    /**
+     * Start releasing queued requests.
+     */
+    void release() {
+        requestDrain();
+    }
+
+    /**
+     * Free the slot of a released request once it is no longer in flight.
+     * Called when the provider untracks the request cancellation token.
+     */
+    void onFinished(GigyaApiRequest request) {
+        boolean freed = false;
+        synchronized (this) {
+            final Iterator<Entry> it = _released.iterator();
+            while (it.hasNext()) {
+                if (it.next().request == request) {
+                    it.remove();
+                    freed = true;
+                }
+            }
+        }
+        if (freed) {
+            requestDrain();
+        }
+    }
+
+    /**
+     * Free all released slots. Called when the worker pool is shut down and pending tasks are dropped.
+     */
+    void onShutdown() {
+        synchronized (this) {
+            _released.clear();
+        }
+    }
+
+    /**
+     * Remove queued requests matching the given tag.
+     *
+     * @param tag Request tag or null to remove all requests.
+     */
+    void remove(@Nullable String tag) {
+        synchronized (this) {
+            removeFrom(_queue.iterator(), tag, null);
+            removeFrom(_released.iterator(), tag, null);
+        }
+        requestDrain();
+    }
+
+    /**
+     * Remove a specific queued request.
+     */
+    void remove(GigyaApiRequest request) {
+        synchronized (this) {
+            removeFrom(_queue.iterator(), null, request);
+            removeFrom(_released.iterator(), null, request);
+        }
+        requestDrain();
+    }
+
+    private void removeFrom(Iterator<Entry> it, @Nullable String tag, @Nullable GigyaApiRequest request) {
+        while (it.hasNext()) {
+            final Entry entry = it.next();
+            final boolean matches = request != null ? entry.request == request
+                    : (tag == null || tag.equals(entry.request.getTag()));
+            if (matches) {
+                it.remove();
+            }
+        }
+    }
+
+    /*
+    Run a release on the worker pool. Releases are serialized. A request made while releasing
+    is picked up by the running release.
+     */
+    private void requestDrain() {
+        synchronized (this) {
+            if (_draining) {
+                _drainAgain = true;
+                return;
+            }
+            _draining = true;
+        }
+        if (!_provider._workerPool.execute(_drain)) {
+            synchronized (this) {
+                _draining = false;
+            }
+            GigyaLogger.debug(LOG_TAG, "requestDrain: worker pool is busy. Retrying in " + BUSY_RETRY_MILLIS + "ms");
+            scheduleDrain(BUSY_RETRY_MILLIS);
+        }
+    }
+
+    private synchronized boolean continueDraining() {
+        if (_drainAgain) {
+            _drainAgain = false;
+            return true;
+        }
+        _draining = false;
+        return false;
+    }
+
+    private synchronized void scheduleDrain(long delay) {
+        if (!_drainScheduled) {
+            _drainScheduled = true;
+            getTimer().schedule(_delayedDrain, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /*
+    Dispatch queued requests while concurrency and pacing allow. Runs on a worker thread.
+     */
+    private void drain() {
+        while (true) {
+            final Entry next;
+            synchronized (this) {
+                if (_provider._blocked || _queue.isEmpty()) {
+                    return;
+                }
+                final GigyaNetworkConfig networkConfig = _provider.getNetworkConfig();
+                if (_released.size() >= Math.max(1, networkConfig.getReleaseMaxConcurrency())) {
+                    // Resumed when a released request completes.
+                    return;
+                }
+                final long now = System.currentTimeMillis();
+                final long delay = _lastDispatch + networkConfig.getReleasePacingMillis() - now;
+                if (delay > 0) {
+                    scheduleDrain(delay);
+                    return;
+                }
+                next = _queue.poll();
+                _released.add(next);
+                _lastDispatch = now;
+            }
+            GigyaLogger.debug(LOG_TAG, "drain: releasing " + next.request.getApi() + " with priority " + next.priority);
+            _provider.getEventReporter().report(next.request.getApi(), INetworkEventListener.Phase.QUEUE_WAIT,
+                    System.nanoTime() - next.enqueuedAt);
+            // Requests are signed on dispatch.
+            try {
+                _provider.dispatch(next.request, next.callback);
+            } catch (RuntimeException ex) {
+                GigyaLogger.error(LOG_TAG, "drain: dispatch failed for " + next.request.getApi() + " with " + ex.getMessage());
+                failDispatch(next, ex);
+            }
+        }
+    }
+
+    /*
+    Free the slot of a request that failed to dispatch and deliver the failure.
+     */
+    private void failDispatch(final Entry entry, final RuntimeException ex) {
+        synchronized (this) {
+            _released.remove(entry);
+        }
+        _provider.getCallbackExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                entry.callback.onError(GigyaError.errorFrom(ex.getMessage()));
+            }
+        });
+    }
+
+    private void onComplete(Entry entry) {
+        final boolean freed;
+        synchronized (this) {
+            freed = _released.remove(entry);
+        }
+        if (freed) {
+            requestDrain();
+        }
+    }
+
+    private class Entry {
+
+        final GigyaApiRequest request;
+        final RequestPriority priority;
+        final long sequence;
+        final long enqueuedAt = System.nanoTime();
+        final IRestAdapterCallback callback;
+
+        Entry(GigyaApiRequest request, final IRestAdapterCallback networkCallbacks, RequestPriority priority, long sequence) {
+            this.request = request;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.callback = new IRestAdapterCallback() {
+                @Override
+                public void onResponse(String jsonResponse, String responseDateHeader) {
+                    try {
+                        if (networkCallbacks != null) {
+                            networkCallbacks.onResponse(jsonResponse, responseDateHeader);
+                        }
+                    } finally {
+                        onComplete(Entry.this);
+                    }
+                }
+
+                @Override
+                public void onResponse(RestResponseBody responseBody, String responseDateHeader) {
+                    try {
+                        if (networkCallbacks != null) {
+                            networkCallbacks.onResponse(responseBody, responseDateHeader);
+                        }
+                    } finally {
+                        onComplete(Entry.this);
+                    }
+                }
+
+                @Override
+                public void onError(GigyaError gigyaError) {
+                    try {
+                        if (networkCallbacks != null) {
+                            networkCallbacks.onError(gigyaError);
+                        }
+                    } finally {
+                        onComplete(Entry.this);
+                    }
+                }
+            };
+        }
+    }
+}
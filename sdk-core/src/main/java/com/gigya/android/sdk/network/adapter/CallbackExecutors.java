@@ -0,0 +1,60 @@
+package com.gigya.android.sdk.network.adapter;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Executors used to deliver network callbacks.
+ * <p>
+ * Providers deliver responses on the configured callback executor, the main thread by default.
+ * With a background executor responses are parsed off the main thread and only the final
+ * delivery hops to the main thread using {@link #runOnMainThread(Runnable)}.
+ */
+public class CallbackExecutors {
+
+    private static Executor _mainThread;
+
+    private CallbackExecutors() {
+    }
+
+    /**
+     * Get the shared executor posting to the main thread.
+     */
+    public static synchronized Executor mainThread() {
+        if (_mainThread == null) {
+            _mainThread = new Executor() {
+
+                final private Handler _handler = new Handler(Looper.getMainLooper());
+
+                @Override
+                public void execute(@NonNull Runnable runnable) {
+                    _handler.post(runnable);
+                }
+            };
+        }
+        return _mainThread;
+    }
+
+    /**
+     * Check if the current thread is the main thread.
+     * Always true when no main looper is available (unit tests).
+     */
+    public static boolean isMainThread() {
+        return Looper.myLooper() == Looper.getMainLooper();
+    }
+
+    /**
+     * Run on the main thread. Runs immediately when already called on the main thread.
+     */
+    public static void runOnMainThread(@NonNull Runnable runnable) {
+        if (isMainThread()) {
+            runnable.run();
+        } else {
+            mainThread().execute(runnable);
+        }
+    }
+}
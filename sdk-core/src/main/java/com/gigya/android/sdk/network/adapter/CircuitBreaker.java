@@ -0,0 +1,211 @@
+package com.gigya.android.sdk.network.adapter;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.gigya.android.sdk.Config;
+import com.gigya.android.sdk.GigyaLogger;
+import com.gigya.android.sdk.network.GigyaError;
+import com.gigya.android.sdk.network.GigyaNetworkConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per host circuit breaker.
+ * <p>
+ * A host failing consecutive requests is opened and requests to it fail fast with
+ * {@link GigyaError.Codes#ERROR_CIRCUIT_OPEN} instead of waiting for the connection timeout.
+ * Once the open duration elapses a single probe request is allowed (half open). A probe answered by the
+ * server closes the circuit, including error responses. A probe failing to reach the host opens it again.
+ */
+public class CircuitBreaker {
+
+    private static final String LOG_TAG = "CircuitBreaker";
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    public interface IStateListener {
+
+        /**
+         * Circuit state of a host has changed. Invoked on the thread completing the request.
+         *
+         * @param host  Api host.
+         * @param state New state.
+         */
+        void onStateChanged(String host, State state);
+    }
+
+    private static class Circuit {
+
+        State state = State.CLOSED;
+        int failures;
+        long openedAt;
+        long probeStartedAt;
+    }
+
+    /*
+    Network configuration is read lazily since the adapter is created before the configuration is loaded.
+     */
+    final private Config _config;
+
+    final private Map<String, Circuit> _circuits = new HashMap<>();
+
+    @Nullable
+    private volatile IStateListener _listener;
+
+    public CircuitBreaker(Config config) {
+        _config = config;
+    }
+
+    public void setStateListener(@Nullable IStateListener listener) {
+        _listener = listener;
+    }
+
+    @NonNull
+    public synchronized State getState(String host) {
+        final Circuit circuit = _circuits.get(host);
+        return circuit == null ? State.CLOSED : circuit.state;
+    }
+
+    /**
+     * Check if a request to the host may be sent.
+     * Moves an open circuit to half open once the open duration elapsed and admits it as the probe.
+     */
+    public boolean allowRequest(String host) {
+        if (!isEnabled()) {
+            return true;
+        }
+        final long now = now();
+        final long openDuration = getNetworkConfig().getCircuitOpenDurationMillis();
+        synchronized (this) {
+            final Circuit circuit = _circuits.get(host);
+            if (circuit == null || circuit.state == State.CLOSED) {
+                return true;
+            }
+            if (circuit.state == State.OPEN) {
+                if (now - circuit.openedAt < openDuration) {
+                    return false;
+                }
+                circuit.state = State.HALF_OPEN;
+                circuit.probeStartedAt = now;
+            } else if (now - circuit.probeStartedAt >= openDuration) {
+                // Probe never completed (cancelled or lost). Allow another one.
+                circuit.probeStartedAt = now;
+                return true;
+            } else {
+                return false;
+            }
+        }
+        notifyStateChanged(host, State.HALF_OPEN);
+        return true;
+    }
+
+    public void onSuccess(String host) {
+        synchronized (this) {
+            final Circuit circuit = _circuits.get(host);
+            if (circuit == null) {
+                return;
+            }
+            circuit.failures = 0;
+            if (circuit.state == State.CLOSED) {
+                return;
+            }
+            circuit.state = State.CLOSED;
+        }
+        notifyStateChanged(host, State.CLOSED);
+    }
+
+    public void onFailure(String host) {
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (this) {
+            Circuit circuit = _circuits.get(host);
+            if (circuit == null) {
+                circuit = new Circuit();
+                _circuits.put(host, circuit);
+            }
+            circuit.failures++;
+            final boolean open = circuit.state == State.HALF_OPEN
+                    || (circuit.state == State.CLOSED && circuit.failures >= getNetworkConfig().getCircuitFailureThreshold());
+            if (!open) {
+                return;
+            }
+            circuit.state = State.OPEN;
+            circuit.openedAt = now();
+        }
+        GigyaLogger.debug(LOG_TAG, "Circuit opened for host: " + host);
+        notifyStateChanged(host, State.OPEN);
+    }
+
+    /**
+     * Record a failed request.
+     * Host failures count as failures. Error responses of the server count as success, since the host answered.
+     * Other errors (device offline, local failures) do not reflect the host state. They only release the probe.
+     */
+    public void onError(String host, GigyaError error) {
+        if (isHostFailure(error)) {
+            onFailure(host);
+        } else if (isServerResponse(error)) {
+            onSuccess(host);
+        } else {
+            onProbeAborted(host);
+        }
+    }
+
+    /*
+    Allow the next request to probe a half open host right away.
+     */
+    private synchronized void onProbeAborted(String host) {
+        final Circuit circuit = _circuits.get(host);
+        if (circuit != null && circuit.state == State.HALF_OPEN) {
+            circuit.probeStartedAt = 0;
+        }
+    }
+
+    /**
+     * Check if an error indicates the host is unavailable: HTTP server errors or no response from the host.
+     * Device connectivity errors are not counted since they do not reflect the host state.
+     * Gigya error codes returned in response bodies are delivered as responses and never reach this check.
+     */
+    public static boolean isHostFailure(GigyaError error) {
+        final int code = error.getErrorCode();
+        return (code >= 500 && code < 600)
+                || code == GigyaError.Codes.ERROR_NETWORK;
+    }
+
+    /**
+     * Check if an error is an HTTP error response of the server.
+     */
+    public static boolean isServerResponse(GigyaError error) {
+        final int code = error.getErrorCode();
+        return code >= 400 && code < 500;
+    }
+
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    private GigyaNetworkConfig getNetworkConfig() {
+        if (_config != null && _config.getGigyaNetworkConfig() != null) {
+            return _config.getGigyaNetworkConfig();
+        }
+        return new GigyaNetworkConfig();
+    }
+
+    private boolean isEnabled() {
+        return getNetworkConfig().getCircuitFailureThreshold() > 0;
+    }
+
+    private void notifyStateChanged(String host, State state) {
+        final IStateListener listener = _listener;
+        if (listener != null) {
+            listener.onStateChanged(host, state);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.gigya.android.sdk.network.adapter;
+
+import androidx.annotation.NonNull;
+
+import com.gigya.android.sdk.GigyaLogger;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves and pre-connects api hosts ahead of the first request.
+ * <p>
+ * Runs on a background thread within a time budget. Each host is resolved and connected through the
+ * active provider so the connection and TLS session land in the provider pool.
+ * <p>
+ * Timings are reported through the provider {@link NetworkEventReporter} under the {@link #PREWARM_API} api name:
+ * DNS for name resolution and CONNECT for the cold connection, including TLS. The connect phase of the first
+ * real request to the host is reported by the provider under the request api name, so both can be compared
+ * to measure the saved latency.
+ */
+public class ConnectionPrewarmer {
+
+    private static final String LOG_TAG = "ConnectionPrewarmer";
+
+    /**
+     * Api name of the reported pre-warm timings.
+     */
+    public static final String PREWARM_API = "prewarm";
+
+    /**
+     * Timings of a single pre-warmed host.
+     */
+    public static class HostTiming {
+
+        final private String host;
+        final private long dnsMillis;
+        final private long coldMillis;
+
+        HostTiming(String host, long dnsMillis, long coldMillis) {
+            this.host = host;
+            this.dnsMillis = dnsMillis;
+            this.coldMillis = coldMillis;
+        }
+
+        public String getHost() {
+            return host;
+        }
+
+        public long getDnsMillis() {
+            return dnsMillis;
+        }
+
+        /**
+         * Cold connection time, including TLS and the pre-connect request itself.
+         */
+        public long getColdMillis() {
+            return coldMillis;
+        }
+    }
+
+    final private NetworkProvider _provider;
+
+    /*
+    Last warm-up time of each host. Hosts are not warmed again while their connection may still be pooled.
+     */
+    final private Map<String, Long> _warmedAt = new HashMap<>();
+
+    final private List<HostTiming> _timings = Collections.synchronizedList(new ArrayList<HostTiming>());
+
+    public ConnectionPrewarmer(@NonNull NetworkProvider provider) {
+        _provider = provider;
+    }
+
+    /**
+     * Warm up the hosts on a background thread.
+     */
+    public void start(final List<String> hosts, final long budgetMillis) {
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                warm(hosts, budgetMillis);
+            }
+        }, "gigya-prewarm");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Warm up the hosts on the calling thread. Stops once the budget is used.
+     */
+    public void warm(List<String> hosts, long budgetMillis) {
+        final long deadline = now() + budgetMillis;
+        final long reuseWindow = _provider.getNetworkConfig().getKeepAliveDuration();
+        for (String host : new LinkedHashSet<>(hosts)) {
+            if (host == null || !claim(host, reuseWindow)) {
+                continue;
+            }
+            if (now() >= deadline) {
+                GigyaLogger.debug(LOG_TAG, "warm: budget exhausted before " + host);
+                release(host);
+                break;
+            }
+            final HostTiming timing = warmHost(host, deadline);
+            if (timing == null) {
+                release(host);
+                continue;
+            }
+            _timings.add(timing);
+            GigyaLogger.debug(LOG_TAG, "warm: " + host + " dns = " + timing.getDnsMillis() + "ms, cold = "
+                    + timing.getColdMillis() + "ms");
+        }
+    }
+
+    /**
+     * Get the timings of all pre-warmed hosts.
+     */
+    public List<HostTiming> getTimings() {
+        synchronized (_timings) {
+            return new ArrayList<>(_timings);
+        }
+    }
+
+    private HostTiming warmHost(String host, long deadline) {
+        final String url = "https://" + host + "/";
+        final NetworkEventReporter eventReporter = _provider.getEventReporter();
+        try {
+            long start = now();
+            resolve(host);
+            final long dns = now() - start;
+            eventReporter.report(PREWARM_API, INetworkEventListener.Phase.DNS, TimeUnit.MILLISECONDS.toNanos(dns));
+            // A zero timeout means no timeout. Never preconnect without budget.
+            final int left = remaining(deadline);
+            if (left <= 0) {
+                return new HostTiming(host, dns, 0);
+            }
+
+            start = now();
+            _provider.preconnect(url, left);
+            final long cold = now() - start;
+            eventReporter.report(PREWARM_API, INetworkEventListener.Phase.CONNECT, TimeUnit.MILLISECONDS.toNanos(cold));
+            return new HostTiming(host, dns, cold);
+        } catch (Exception ex) {
+            GigyaLogger.debug(LOG_TAG, "warm: failed for " + host + " with " + ex.getMessage());
+            return null;
+        }
+    }
+
+    private synchronized boolean claim(String host, long reuseWindow) {
+        final Long warmedAt = _warmedAt.get(host);
+        if (warmedAt != null && now() - warmedAt < reuseWindow) {
+            return false;
+        }
+        _warmedAt.put(host, now());
+        return true;
+    }
+
+    private synchronized void release(String host) {
+        _warmedAt.remove(host);
+    }
+
+    private int remaining(long deadline) {
+        return (int) Math.max(0, deadline - now());
+    }
+
+    protected void resolve(String host) throws Exception {
+        InetAddress.getAllByName(host);
+    }
+
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,139 @@
+package com.gigya.android.sdk.network.adapter;
+
+import androidx.annotation.Nullable;
+
+import com.gigya.android.sdk.GigyaLogger;
+import com.gigya.android.sdk.network.GigyaNetworkConfig;
+
+import java.net.HttpURLConnection;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+
+/**
+ * Connection reuse policy for HttpURLConnection based providers.
+ * <p>
+ * HttpURLConnection keeps a per host pool of idle connections. Reuse only happens when the request does not
+ * ask for "connection: close" and the response stream is fully consumed and closed instead of disconnecting
+ * the connection.
+ * <p>
+ * The policy never changes process wide state. With keep-alive enabled, SDK connections use a dedicated
+ * SSLSocketFactory, so the TLS session cache settings apply to SDK connections only. Otherwise connections
+ * keep the platform default factory, including any factory installed by the application. The HttpURLConnection pool itself is owned by the
+ * platform and only configurable through global system properties, so HttpURLConnection based providers use
+ * the platform pool limits. The pool limits of the configuration apply to the OkHttp provider pool.
+ */
+class HttpKeepAlivePolicy {
+
+    private static final String LOG_TAG = "HttpKeepAlivePolicy";
+
+    @Nullable
+    private static SSLContext _sslContext;
+
+    private static boolean _sslContextFailed = false;
+
+    /*
+    TLS session cache settings last applied to the SDK SSL context.
+     */
+    private static int _appliedCacheSize = -1;
+    private static int _appliedTimeout = -1;
+
+    private HttpKeepAlivePolicy() {
+    }
+
+    /**
+     * Get the SSLSocketFactory of SDK connections.
+     * A single instance is shared so pooled connections are reused across SDK requests.
+     *
+     * @return SDK socket factory or null if unavailable (the platform default factory is used).
+     */
+    @Nullable
+    static synchronized SSLSocketFactory getSocketFactory() {
+        final SSLContext sslContext = getSSLContext();
+        return sslContext == null ? null : sslContext.getSocketFactory();
+    }
+
+    /**
+     * Apply the TLS session settings to the SDK SSL context.
+     * Settings are re-applied whenever the configuration changes.
+     *
+     * @param networkConfig Network configuration section.
+     */
+    static synchronized void apply(GigyaNetworkConfig networkConfig) {
+        if (!networkConfig.isKeepAlive()) {
+            return;
+        }
+        final int cacheSize = networkConfig.getTlsSessionCacheSize();
+        final int timeout = networkConfig.getTlsSessionTimeout();
+        if (cacheSize == _appliedCacheSize && timeout == _appliedTimeout) {
+            return;
+        }
+        final SSLContext sslContext = getSSLContext();
+        if (sslContext == null) {
+            return;
+        }
+        final SSLSessionContext sessionContext = sslContext.getClientSessionContext();
+        if (sessionContext != null) {
+            sessionContext.setSessionCacheSize(cacheSize);
+            sessionContext.setSessionTimeout(timeout);
+        }
+        _appliedCacheSize = cacheSize;
+        _appliedTimeout = timeout;
+
+        GigyaLogger.debug(LOG_TAG, "apply: TLS session cache size = " + cacheSize + ", timeout = " + timeout + "s");
+    }
+
+    /**
+     * Configure an SDK connection before it is connected.
+     * Connections are left unchanged when keep-alive is disabled.
+     *
+     * @param connection    Unconnected connection.
+     * @param networkConfig Network configuration section.
+     */
+    static void configure(HttpURLConnection connection, GigyaNetworkConfig networkConfig) {
+        if (!networkConfig.isKeepAlive()) {
+            return;
+        }
+        apply(networkConfig);
+        if (connection instanceof HttpsURLConnection) {
+            final SSLSocketFactory socketFactory = getSocketFactory();
+            if (socketFactory != null) {
+                ((HttpsURLConnection) connection).setSSLSocketFactory(socketFactory);
+            }
+        }
+    }
+
+    /**
+     * Release a connection according to the active policy.
+     *
+     * @param connection Active connection.
+     * @param keepAlive  True if the connection should be kept for reuse.
+     * @param failed     True if the request failed. Failed connections are never reused.
+     */
+    static void release(HttpURLConnection connection, boolean keepAlive, boolean failed) {
+        if (connection == null) {
+            return;
+        }
+        if (!keepAlive || failed) {
+            connection.disconnect();
+        }
+    }
+
+    @Nullable
+    private static SSLContext getSSLContext() {
+        if (_sslContext == null && !_sslContextFailed) {
+            try {
+                final SSLContext sslContext = SSLContext.getInstance("TLS");
+                // Platform default key & trust managers.
+                sslContext.init(null, null, null);
+                _sslContext = sslContext;
+            } catch (Exception ex) {
+                _sslContextFailed = true;
+                GigyaLogger.error(LOG_TAG, "getSSLContext: unable to create SDK SSL context. Using platform default");
+            }
+        }
+        return _sslContext;
+    }
+}
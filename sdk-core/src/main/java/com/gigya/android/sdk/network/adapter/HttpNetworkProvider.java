@@ -1,106 +1,92 @@
 package com.gigya.android.sdk.network.adapter;
 
-import android.os.Handler;
-import android.os.Looper;
-
+import com.gigya.android.sdk.Config;
 import com.gigya.android.sdk.GigyaLogger;
 import com.gigya.android.sdk.api.GigyaApiHttpRequest;
 import com.gigya.android.sdk.api.GigyaApiRequest;
 import com.gigya.android.sdk.api.IApiRequestFactory;
 import com.gigya.android.sdk.network.GigyaError;
+import com.gigya.android.sdk.network.GigyaNetworkConfig;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
+import java.io.OutputStream;
+import java.net.ConnectException;
 import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
 import java.net.URL;
 import java.net.UnknownHostException;
-import java.util.Iterator;
 import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
 import java.util.zip.GZIPInputStream;
 
 public class HttpNetworkProvider extends NetworkProvider {
 
-    private Queue<HttpTask> _queue = new ConcurrentLinkedQueue<>();
-
     public HttpNetworkProvider(IApiRequestFactory requestFactory) {
         super(requestFactory);
     }
 
+    public HttpNetworkProvider(IApiRequestFactory requestFactory, NetworkWorkerPool workerPool) {
+        super(requestFactory, workerPool);
+    }
+
+    public HttpNetworkProvider(IApiRequestFactory requestFactory, Config config, NetworkWorkerPool workerPool) {
+        super(requestFactory, config, workerPool);
+    }
+
+    private ExecutorAsyncTask newTask(GigyaApiRequest request, IRestAdapterCallback networkCallbacks) {
+        final GigyaNetworkConfig networkConfig = getNetworkConfig();
+        return new ExecutorAsyncTask(networkCallbacks, _workerPool, networkConfig.isKeepAlive(), track(request), request.getApi());
+    }
+
     @Override
     public void addToQueue(GigyaApiRequest request, IRestAdapterCallback networkCallbacks) {
         if (_blocked) {
-            _queue.add(new HttpTask(_requestFactory, new ExecutorAsyncTask(networkCallbacks), request));
+            enqueueBlocked(request, networkCallbacks);
             return;
         }
         // If not blocked send the request.
-        new ExecutorAsyncTask(networkCallbacks).execute(_requestFactory.sign(request));
+        dispatch(request, networkCallbacks);
+    }
+
+    @Override
+    protected void dispatch(GigyaApiRequest request, IRestAdapterCallback networkCallbacks) {
+        newTask(request, networkCallbacks).execute(sign(request));
     }
 
     @Override
     public void addToQueueUnsigned(GigyaApiRequest request, IRestAdapterCallback networkCallbacks) {
-        new ExecutorAsyncTask(networkCallbacks).execute(_requestFactory.unsigned(request));
+        newTask(request, networkCallbacks).execute(_requestFactory.unsigned(request));
     }
 
     @Override
     public void sendBlocking(GigyaApiRequest request, IRestAdapterCallback networkCallbacks) {
-        _requestFactory.sign(request);
-        new ExecutorAsyncTask(networkCallbacks).execute(_requestFactory.sign(request));
+        newTask(request, networkCallbacks).execute(sign(request));
         _blocked = true;
     }
 
     @Override
-    public void release() {
-        super.release();
-        if (_queue.isEmpty()) {
-            return;
-        }
-
-        HttpTask queued = _queue.poll();
-        // Requests need to be re-signed when released from the blocking queue.
-        _requestFactory.sign(queued.getRequest());
-
-        while (queued != null) {
-            queued.run();
-            queued = _queue.poll();
-        }
+    public void cancel(String tag) {
+        cancelQueued(tag);
+        // Disconnect requests already sent.
+        cancelInFlight(tag);
     }
 
     @Override
-    public void cancel(String tag) {
-        if (tag == null) {
-            _queue.clear();
-            // Unable to cancel already sent requests.
-        }
-        if (!_queue.isEmpty()) {
-            Iterator it = _queue.iterator();
-            while (it.hasNext()) {
-                final HttpTask task = (HttpTask) it.next();
-                final String requestTag = task.request.getTag();
-                if (requestTag.equals(tag)) {
-                    it.remove();
-                }
-            }
-        }
+    public void cancel(GigyaApiRequest request) {
+        cancelQueued(request);
+        cancelInFlight(request);
     }
 
     // Async implementation.
 
     private static class AsyncResult {
         private int code;
-        private String result;
+        private RestResponseBody body;
         private String date;
 
-        AsyncResult(int code, String result, String date) {
+        AsyncResult(int code, RestResponseBody body, String date) {
             this.code = code;
-            this.result = result;
+            this.body = body;
             this.date = date;
         }
 
@@ -109,94 +95,95 @@ public class HttpNetworkProvider extends NetworkProvider {
         }
     }
 
-    private static class HttpTask {
-
-        private ExecutorAsyncTask asyncTask;
-        private GigyaApiRequest request;
-        private IApiRequestFactory requestFactory;
-
-        public GigyaApiRequest getRequest() {
-            return request;
-        }
-
-        public void setRequest(GigyaApiRequest request) {
-            this.request = request;
-        }
-
-        HttpTask(IApiRequestFactory requestFactory, ExecutorAsyncTask asyncTask, GigyaApiRequest request) {
-            this.requestFactory = requestFactory;
-            this.asyncTask = asyncTask;
-            this.request = request;
-        }
-
-        void run() {
-            final GigyaApiHttpRequest signedRequest = this.requestFactory.sign(request);
-            this.asyncTask.execute(signedRequest);
-        }
-    }
-
-    private static class ExecutorAsyncTask {
+    private class ExecutorAsyncTask {
 
         private static final String LOG_TAG = "ExecutorAsyncTask";
         private final IRestAdapterCallback callback;
-        private final ExecutorService executor;
-
-        public ExecutorAsyncTask(IRestAdapterCallback networkCallbacks) {
-            callback = networkCallbacks;
-            executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
-                @Override
-                public Thread newThread(Runnable runnable) {
-                    final Thread t = new Thread(runnable);
-                    t.setDaemon(true);
-                    return t;
-                }
-            });
-        }
-        private Handler handler;
-
-        private Handler getHandler() {
-            if (handler == null) {
-                synchronized (ExecutorAsyncTask.class) {
-                    handler = new Handler(Looper.getMainLooper());
-                }
-            }
-            return handler;
+        private final NetworkWorkerPool workerPool;
+        private final boolean keepAlive;
+        private final RequestCancellationToken token;
+        private final String api;
+
+        public ExecutorAsyncTask(IRestAdapterCallback networkCallbacks, NetworkWorkerPool workerPool, boolean keepAlive, RequestCancellationToken token, String api) {
+            this.callback = networkCallbacks;
+            this.workerPool = workerPool;
+            this.keepAlive = keepAlive;
+            this.token = token;
+            this.api = api;
         }
 
         public void execute(final GigyaApiHttpRequest request) {
-            executor.execute(new Runnable() {
+            if (token.isCancelled()) {
+                untrack(token);
+                return;
+            }
+            final boolean accepted = workerPool.execute(new Runnable() {
                 @Override
                 public void run() {
+                    if (token.isCancelled()) {
+                        // Cancelled while waiting for a worker.
+                        return;
+                    }
                     GigyaLogger.debug(LOG_TAG, "Executor: execute request with " + request.getUrl());
                     final AsyncResult result = doInBackground(request);
-                    getHandler().post(new Runnable() {
+                    untrack(token);
+                    if (token.isCancelled()) {
+                        GigyaLogger.debug(LOG_TAG, "Executor: request cancelled " + request.getUrl());
+                        return;
+                    }
+                    getCallbackExecutor().execute(_eventReporter.timeDispatch(api, new Runnable() {
                         @Override
                         public void run() {
+                            if (token.isCancelled()) {
+                                return;
+                            }
                             GigyaLogger.debug(LOG_TAG, "Executor: post execute request with " + request.getUrl());
                             onPostExecute(result);
-                            if (executor != null) {
-                                executor.shutdownNow();
-                            }
                         }
-                    });
+                    }));
                 }
             });
+            if (!accepted) {
+                untrack(token);
+                getCallbackExecutor().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (callback != null && !token.isCancelled()) {
+                            callback.onError(GigyaError.errorFrom("Network worker queue is full"));
+                        }
+                    }
+                });
+            }
         }
 
         private AsyncResult doInBackground(GigyaApiHttpRequest request) {
             if (request != null) {
                 HttpURLConnection connection = null;
-                OutputStreamWriter outputStreamWriter = null;
-                BufferedReader bufferedReader = null;
-                StringBuilder response = new StringBuilder();
+                OutputStream outputStream = null;
+                InputStream input = null;
+                boolean failed = true;
                 try {
                     URL url = new URL(request.getUrl());
                     connection = (HttpURLConnection) url.openConnection();
+                    HttpKeepAlivePolicy.configure(connection, getNetworkConfig());
+                    final HttpURLConnection activeConnection = connection;
+                    token.bind(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                // Aborts any blocking read/write of the worker thread.
+                                activeConnection.disconnect();
+                            } catch (Exception ignored) {
+                            }
+                        }
+                    });
                     connection.setUseCaches(false);
                     connection.setConnectTimeout(30000);
                     connection.setReadTimeout(15000);
                     connection.setRequestProperty("Accept-Encoding", "gzip");
-                    connection.setRequestProperty("connection", "close");
+                    if (!keepAlive) {
+                        connection.setRequestProperty("connection", "close");
+                    }
 
                     // Add custom headers if available.
                     if (request.getHeaders() != null) {
@@ -206,54 +193,84 @@ public class HttpNetworkProvider extends NetworkProvider {
                     }
 
                     connection.setRequestMethod(request.getHttpMethod().intValue() == 0 ? "GET" : "POST");
-                    if (request.getHttpMethod().intValue() == 1) {
+                    byte[] requestBody = request.getBody();
+                    final boolean hasBody = request.getHttpMethod().intValue() == 1 && requestBody != null;
+                    if (hasBody) {
+                        final byte[] compressed = RequestCompressor.compress(request, getNetworkConfig());
+                        if (compressed != null) {
+                            connection.setRequestProperty("Content-Encoding", RequestCompressor.CONTENT_ENCODING);
+                            requestBody = compressed;
+                        }
                         connection.setDoOutput(true);
-                        outputStreamWriter = new OutputStreamWriter(connection.getOutputStream());
-                        outputStreamWriter.write(request.getEncodedParams());
-                        outputStreamWriter.flush();
+                        // Sets Content-Length and streams the pre-encoded body without buffering it again.
+                        connection.setFixedLengthStreamingMode(requestBody.length);
+                    }
+
+                    // Includes DNS & TLS. HttpURLConnection does not expose them separately.
+                    long phaseStart = System.nanoTime();
+                    connection.connect();
+                    _eventReporter.report(api, INetworkEventListener.Phase.CONNECT, System.nanoTime() - phaseStart);
+
+                    phaseStart = System.nanoTime();
+                    if (hasBody) {
+                        outputStream = connection.getOutputStream();
+                        outputStream.write(requestBody);
+                        outputStream.flush();
                     }
                     int responseStatusCode = connection.getResponseCode();
+                    _eventReporter.report(api, INetworkEventListener.Phase.TIME_TO_FIRST_BYTE, System.nanoTime() - phaseStart);
+
+                    phaseStart = System.nanoTime();
                     boolean badRequest = (responseStatusCode >= HttpURLConnection.HTTP_BAD_REQUEST);
-                    InputStream input;
                     if (badRequest)
                         input = connection.getErrorStream();
                     else
                         input = connection.getInputStream();
-                    if ("gzip".equals(connection.getContentEncoding())) {
+                    // Content-Length describes the compressed payload when gzip is used.
+                    long contentLength = connection.getContentLength();
+                    if ("gzip".equals(connection.getContentEncoding()) && input != null) {
                         input = new GZIPInputStream(input);
+                        contentLength = -1;
                     }
-                    bufferedReader = new BufferedReader(new InputStreamReader(input, "UTF-8"));
-                    String line;
-                    while ((line = bufferedReader.readLine()) != null) {
-                        response.append(line);
-                    }
+                    final RestResponseBody body = ResponseBodyReader.read(input, contentLength, connection.getContentType());
+                    // Decode on the worker thread. Callbacks are posted to the callback executor.
+                    body.asString();
+                    _eventReporter.report(api, INetworkEventListener.Phase.BODY_READ, System.nanoTime() - phaseStart);
 
                     final String dateHeader = connection.getHeaderField("Date");
 
-                    return new AsyncResult(responseStatusCode, response.toString(), dateHeader);
+                    failed = false;
+                    return new AsyncResult(responseStatusCode, body, dateHeader);
                 } catch (Exception ex) {
+                    if (token.isCancelled()) {
+                        // Connection was disconnected by cancellation.
+                        return null;
+                    }
                     // Check for host not found exception.
                     if (ex instanceof UnknownHostException) {
                         return new AsyncResult(400106, null, null);
+                    } else if (ex instanceof SocketTimeoutException || ex instanceof ConnectException) {
+                        // Host unreachable or not responding.
+                        return new AsyncResult(GigyaError.Codes.ERROR_NETWORK, null, null);
                     } else {
                         ex.printStackTrace();
                     }
                 } finally {
-                    if (outputStreamWriter != null) {
+                    token.bind(null);
+                    if (outputStream != null) {
                         try {
-                            outputStreamWriter.close();
+                            outputStream.close();
                         } catch (IOException ignored) {
                         }
                     }
-                    if (bufferedReader != null) {
+                    if (input != null) {
                         try {
-                            bufferedReader.close();
+                            input.close();
                         } catch (IOException ignored) {
                         }
                     }
-                    if (connection != null) {
-                        connection.disconnect();
-                    }
+                    // Fully read & closed connections are kept for reuse when keep-alive is enabled.
+                    HttpKeepAlivePolicy.release(connection, keepAlive, failed);
                 }
             }
             return null;
@@ -279,12 +296,12 @@ public class HttpNetworkProvider extends NetworkProvider {
                 }
 
                 // Generate gigya error.
-                final GigyaError gigyaError = new GigyaError(asyncResult.code, asyncResult.result, null);
+                final GigyaError gigyaError = new GigyaError(asyncResult.code, asyncResult.body == null ? null : asyncResult.body.asString(), null);
                 callback.onError(gigyaError);
                 return;
             }
 
-            callback.onResponse(asyncResult.result, asyncResult.date);
+            callback.onResponse(asyncResult.body, asyncResult.date);
         }
     }
 
@@ -0,0 +1,48 @@
+package com.gigya.android.sdk.network.adapter;
+
+/**
+ * Listener for request timing events, e.g. for exporting network metrics.
+ * <p>
+ * Called on the thread the phase completed on. Implementations should return quickly.
+ * Providers report the phases they can observe:
+ * <ul>
+ * <li>DNS & TLS are reported by the OkHttp provider only. The HttpURLConnection provider includes them in CONNECT.</li>
+ * <li>The Volley provider does not report connection phases. BODY_READ covers decoding of the received body.</li>
+ * <li>QUEUE_WAIT is reported for requests held while the provider is blocked.</li>
+ * <li>Connection pre-warming reports DNS & CONNECT (including TLS) under the {@link ConnectionPrewarmer#PREWARM_API}
+ * api name. A request over a pooled connection reports a near zero CONNECT (OkHttp & HttpURLConnection providers).</li>
+ * </ul>
+ */
+public interface INetworkEventListener {
+
+    enum Phase {
+        /* Time held in the blocked queue. */
+        QUEUE_WAIT,
+        /* Request signing. */
+        SIGN,
+        /* Host name resolution. */
+        DNS,
+        /* Connection establishment. */
+        CONNECT,
+        /* TLS handshake. */
+        TLS,
+        /* Request sent until response headers received. */
+        TIME_TO_FIRST_BYTE,
+        /* Response body read & decode. */
+        BODY_READ,
+        /* Response JSON parsing. */
+        PARSE,
+        /* Response ready until the callback runs on the callback executor. */
+        CALLBACK_DISPATCH
+    }
+
+    /**
+     * Phase completed.
+     *
+     * @param api           Api name.
+     * @param providerType  Network provider type, as returned by {@link IRestAdapter#getProviderType()}.
+     * @param phase         Completed phase.
+     * @param durationNanos Phase duration in nanoseconds.
+     */
+    void onEvent(String api, String providerType, Phase phase, long durationNanos);
+}
@@ -3,6 +3,8 @@ package com.gigya.android.sdk.network.adapter;
 import com.gigya.android.sdk.api.GigyaApiRequest;
 import com.gigya.android.sdk.api.IApiRequestFactory;
 
+import java.util.concurrent.Executor;
+
 public interface IRestAdapter {
 
     void send(GigyaApiRequest apiRequest, boolean blocking, IRestAdapterCallback requestCallbacks);
@@ -17,6 +19,40 @@ public interface IRestAdapter {
 
     void cancel(String tag);
 
+    void cancel(GigyaApiRequest apiRequest);
+
+    void shutdown();
+
+    /**
+     * Resolve & pre-connect the api hosts in the background when enabled by the network configuration.
+     */
+    void prewarm();
+
+    /**
+     * Observe the circuit breaker state of the api hosts.
+     */
+    void setCircuitStateListener(CircuitBreaker.IStateListener listener);
+
+    /**
+     * Get the circuit breaker state of the host an api is sent to.
+     */
+    CircuitBreaker.State getCircuitState(String api);
+
+    /**
+     * Observe request timing events. Null removes the listener.
+     */
+    void setNetworkEventListener(INetworkEventListener listener);
+
+    /**
+     * Report a request phase measured outside of the network provider, e.g. response parsing.
+     */
+    void reportEvent(String api, INetworkEventListener.Phase phase, long durationNanos);
+
+    /**
+     * Set the executor responses are delivered on. Null restores delivery on the main thread.
+     */
+    void setCallbackExecutor(Executor executor);
+
     String getProviderType();
 
     void forceDefaultRestAdapter(IApiRequestFactory requestFactory);
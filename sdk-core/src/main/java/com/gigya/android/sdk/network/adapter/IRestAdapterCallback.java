@@ -6,5 +6,16 @@ public abstract class IRestAdapterCallback {
 
     public abstract void onResponse(String jsonResponse, String responseDateHeader);
 
+    /**
+     * Raw response body overload. Providers deliver responses through this method.
+     * Override to consume the body bytes or stream directly. Defaults to the decoded String overload.
+     *
+     * @param responseBody       Raw response body.
+     * @param responseDateHeader Response date header.
+     */
+    public void onResponse(RestResponseBody responseBody, String responseDateHeader) {
+        onResponse(responseBody.asString(), responseDateHeader);
+    }
+
     public abstract void onError(GigyaError gigyaError);
 }
@@ -0,0 +1,79 @@
+package com.gigya.android.sdk.network.adapter;
+
+import androidx.annotation.Nullable;
+
+import com.gigya.android.sdk.GigyaLogger;
+
+/**
+ * Reports request timing events of a network provider to the registered {@link INetworkEventListener}.
+ * Reporting is a no-op while no listener is registered.
+ */
+public class NetworkEventReporter {
+
+    private static final String LOG_TAG = "NetworkEventReporter";
+
+    final private String _providerType;
+
+    @Nullable
+    private volatile INetworkEventListener _listener;
+
+    public NetworkEventReporter(String providerType) {
+        _providerType = providerType;
+    }
+
+    public void setListener(@Nullable INetworkEventListener listener) {
+        _listener = listener;
+    }
+
+    public boolean isEnabled() {
+        return _listener != null;
+    }
+
+    public String getProviderType() {
+        return _providerType;
+    }
+
+    /**
+     * Report a completed phase.
+     *
+     * @param api           Api name.
+     * @param phase         Completed phase.
+     * @param durationNanos Phase duration in nanoseconds.
+     */
+    public void report(String api, INetworkEventListener.Phase phase, long durationNanos) {
+        final INetworkEventListener listener = _listener;
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.onEvent(api, _providerType, phase, durationNanos);
+        } catch (Exception ex) {
+            // Listener failures must not affect the request.
+            GigyaLogger.error(LOG_TAG, "report: listener failed with " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Wrap a callback delivery to report the time until it runs as {@link INetworkEventListener.Phase#CALLBACK_DISPATCH}.
+     */
+    public Runnable timeDispatch(final String api, final Runnable delivery) {
+        if (!isEnabled()) {
+            return delivery;
+        }
+        final long postedAt = System.nanoTime();
+        return new Runnable() {
+            @Override
+            public void run() {
+                report(api, INetworkEventListener.Phase.CALLBACK_DISPATCH, System.nanoTime() - postedAt);
+                delivery.run();
+            }
+        };
+    }
+
+    /**
+     * Api name of a request url. Request urls end with the api name.
+     */
+    public static String apiOf(String url) {
+        return url.substring(url.lastIndexOf('/') + 1);
+    }
+}
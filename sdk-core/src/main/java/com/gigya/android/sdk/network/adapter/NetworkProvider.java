@@ -1,31 +1,257 @@
 package com.gigya.android.sdk.network.adapter;
 
+import androidx.annotation.Nullable;
+
+import com.gigya.android.sdk.Config;
+import com.gigya.android.sdk.api.GigyaApiHttpRequest;
 import com.gigya.android.sdk.api.GigyaApiRequest;
 import com.gigya.android.sdk.api.IApiRequestFactory;
+import com.gigya.android.sdk.network.GigyaNetworkConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 public abstract class NetworkProvider {
 
     public IApiRequestFactory _requestFactory;
 
+    /*
+    Shared bounded worker pool used to execute requests off the main thread.
+     */
+    protected NetworkWorkerPool _workerPool;
+
+    @Nullable
+    protected Config _config;
+
+    /*
+    Request timing events of this provider.
+     */
+    final protected NetworkEventReporter _eventReporter = new NetworkEventReporter(getClass().getSimpleName());
+
+    /*
+    Requests currently executing. Used for cancellation of requests already sent.
+     */
+    final private Set<RequestCancellationToken> _inFlight =
+            Collections.newSetFromMap(new ConcurrentHashMap<RequestCancellationToken, Boolean>());
+
     public NetworkProvider(IApiRequestFactory requestFactory) {
+        this(requestFactory, new NetworkWorkerPool(null));
+    }
+
+    public NetworkProvider(IApiRequestFactory requestFactory, NetworkWorkerPool workerPool) {
+        this(requestFactory, null, workerPool);
+    }
+
+    public NetworkProvider(IApiRequestFactory requestFactory, @Nullable Config config, NetworkWorkerPool workerPool) {
         _requestFactory = requestFactory;
+        _config = config;
+        _workerPool = workerPool;
+    }
+
+    /**
+     * Get the network configuration section. Defaults are used when no configuration is available.
+     */
+    protected GigyaNetworkConfig getNetworkConfig() {
+        if (_config != null && _config.getGigyaNetworkConfig() != null) {
+            return _config.getGigyaNetworkConfig();
+        }
+        return new GigyaNetworkConfig();
+    }
+
+    public NetworkEventReporter getEventReporter() {
+        return _eventReporter;
+    }
+
+    public void setEventListener(@Nullable INetworkEventListener listener) {
+        _eventReporter.setListener(listener);
+    }
+
+    /**
+     * Sign a request & report the signing time.
+     */
+    protected GigyaApiHttpRequest sign(GigyaApiRequest request) {
+        final long start = System.nanoTime();
+        final GigyaApiHttpRequest signedRequest = _requestFactory.sign(request);
+        _eventReporter.report(request.getApi(), INetworkEventListener.Phase.SIGN, System.nanoTime() - start);
+        return signedRequest;
+    }
+
+    /**
+     * Get the executor responses are delivered on. Defaults to the main thread.
+     */
+    protected Executor getCallbackExecutor() {
+        if (_config != null && _config.getCallbackExecutor() != null) {
+            return _config.getCallbackExecutor();
+        }
+        return CallbackExecutors.mainThread();
+    }
+
+    /**
+     * Open a connection to a host ahead of the first request. Blocking, called on a background thread.
+     * <p>
+     * The default implementation sends a HEAD request through HttpURLConnection, whose connection pool
+     * and TLS session cache are shared by HttpURLConnection based providers.
+     *
+     * @param url           Host root url.
+     * @param timeoutMillis Connect & read timeout.
+     */
+    protected void preconnect(String url, int timeoutMillis) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        // Same socket factory as SDK requests, so the warmed connection is pooled for them.
+        HttpKeepAlivePolicy.configure(connection, getNetworkConfig());
+        connection.setConnectTimeout(timeoutMillis);
+        connection.setReadTimeout(timeoutMillis);
+        connection.setRequestMethod("HEAD");
+        connection.getResponseCode();
+        // Close the (empty) response stream to return the connection to the pool.
+        InputStream input = null;
+        try {
+            input = connection.getInputStream();
+        } catch (IOException ignored) {
+            // Error responses still leave a reusable connection.
+        } finally {
+            if (input != null) {
+                input.close();
+            }
+        }
     }
 
     public boolean _blocked = false;
 
+    /*
+    Requests held while the provider is blocked.
+     */
+    final private BlockedRequestScheduler _blockedQueue = new BlockedRequestScheduler(this);
+
     public abstract void addToQueue(GigyaApiRequest request, IRestAdapterCallback networkCallbacks);
 
     public abstract void addToQueueUnsigned(GigyaApiRequest request, IRestAdapterCallback networkCallbacks);
 
     public abstract void sendBlocking(GigyaApiRequest request, IRestAdapterCallback networkCallbacks);
 
+    /**
+     * Sign (if required) and send the request immediately.
+     * Used for requests released from the blocked queue.
+     *
+     * @param request          Request instance.
+     * @param networkCallbacks Response callback.
+     */
+    protected abstract void dispatch(GigyaApiRequest request, IRestAdapterCallback networkCallbacks);
+
+    /**
+     * Hold a request until the provider is released.
+     */
+    protected void enqueueBlocked(GigyaApiRequest request, IRestAdapterCallback networkCallbacks) {
+        _blockedQueue.add(request, networkCallbacks);
+    }
+
+    /**
+     * Remove requests held in the blocked queue.
+     *
+     * @param tag Request tag or null to remove all held requests.
+     */
+    protected void cancelQueued(@Nullable String tag) {
+        _blockedQueue.remove(tag);
+    }
+
+    /**
+     * Remove a specific request held in the blocked queue.
+     */
+    protected void cancelQueued(GigyaApiRequest request) {
+        _blockedQueue.remove(request);
+    }
+
     public void block() {
         _blocked = true;
     }
 
+    /**
+     * Unblock the provider and release queued requests by priority.
+     */
     public void release() {
         _blocked = false;
+        _blockedQueue.release();
     }
 
+    /**
+     * Cancel queued & in-flight requests.
+     *
+     * @param tag Request tag (api name) or null to cancel all requests.
+     */
     public abstract void cancel(String tag);
+
+    /**
+     * Cancel a specific queued or in-flight request.
+     *
+     * @param request Request instance as passed to the provider.
+     */
+    public abstract void cancel(GigyaApiRequest request);
+
+    /**
+     * Register a request as in-flight.
+     *
+     * @param request Request instance.
+     * @return Cancellation token of the request.
+     */
+    protected RequestCancellationToken track(GigyaApiRequest request) {
+        final RequestCancellationToken token = new RequestCancellationToken(request);
+        _inFlight.add(token);
+        return token;
+    }
+
+    /**
+     * Remove a completed request from the in-flight set.
+     * Frees the release slot of the request if it was held in the blocked queue.
+     */
+    protected void untrack(RequestCancellationToken token) {
+        _inFlight.remove(token);
+        _blockedQueue.onFinished(token.getRequest());
+    }
+
+    /**
+     * Cancel in-flight requests matching the given tag.
+     *
+     * @param tag Request tag or null for all in-flight requests.
+     */
+    protected void cancelInFlight(@Nullable String tag) {
+        for (RequestCancellationToken token : snapshotInFlight()) {
+            if (tag == null || tag.equals(token.getTag())) {
+                untrack(token);
+                token.cancel();
+            }
+        }
+    }
+
+    /**
+     * Cancel the in-flight execution of a specific request.
+     */
+    protected void cancelInFlight(GigyaApiRequest request) {
+        for (RequestCancellationToken token : snapshotInFlight()) {
+            if (token.getRequest() == request) {
+                untrack(token);
+                token.cancel();
+            }
+        }
+    }
+
+    private List<RequestCancellationToken> snapshotInFlight() {
+        return new ArrayList<>(_inFlight);
+    }
+
+    /**
+     * Release worker threads held by the provider.
+     */
+    public void shutdown() {
+        _workerPool.shutdown();
+        // Pending tasks are dropped and will never complete.
+        _blockedQueue.onShutdown();
+    }
 }
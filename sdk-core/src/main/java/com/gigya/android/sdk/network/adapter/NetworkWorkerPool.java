@@ -0,0 +1,107 @@
+package com.gigya.android.sdk.network.adapter;
+
+import androidx.annotation.Nullable;
+
+import com.gigya.android.sdk.Config;
+import com.gigya.android.sdk.GigyaLogger;
+import com.gigya.android.sdk.network.GigyaNetworkConfig;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded worker pool shared by all network providers.
+ * Threads are created lazily and are allowed to time out when idle, so bursts of requests reuse
+ * the same workers instead of spawning a thread per request.
+ */
+public class NetworkWorkerPool {
+
+    private static final String LOG_TAG = "NetworkWorkerPool";
+
+    private static final String THREAD_NAME_PREFIX = "gigya-network-";
+    private static final long IDLE_TIMEOUT_SECONDS = 30;
+
+    @Nullable
+    final private Config _config;
+
+    private ThreadPoolExecutor _executor;
+
+    private final AtomicInteger _threadCount = new AtomicInteger(0);
+
+    public NetworkWorkerPool(@Nullable Config config) {
+        _config = config;
+    }
+
+    /**
+     * Submit a task to the pool.
+     *
+     * @param task Runnable to execute on a worker thread.
+     * @return False if the task was rejected because the pending queue is full.
+     */
+    public boolean execute(Runnable task) {
+        try {
+            getExecutor().execute(task);
+            return true;
+        } catch (RejectedExecutionException ex) {
+            GigyaLogger.error(LOG_TAG, "execute: task rejected. Worker queue is full");
+            return false;
+        }
+    }
+
+    /**
+     * Shut down all worker threads. The pool will be lazily recreated if used again.
+     */
+    public synchronized void shutdown() {
+        if (_executor != null) {
+            GigyaLogger.debug(LOG_TAG, "shutdown: stopping worker threads");
+            _executor.shutdownNow();
+            _executor = null;
+        }
+    }
+
+    public synchronized int getActiveCount() {
+        return _executor == null ? 0 : _executor.getActiveCount();
+    }
+
+    public synchronized int getQueuedCount() {
+        return _executor == null ? 0 : _executor.getQueue().size();
+    }
+
+    private synchronized ThreadPoolExecutor getExecutor() {
+        if (_executor == null) {
+            // Pool settings are read on first use, after the SDK configuration has been loaded.
+            final int poolSize = Math.max(1, getNetworkConfig().getWorkerPoolSize());
+            final int queueCapacity = Math.max(1, getNetworkConfig().getWorkerQueueCapacity());
+
+            GigyaLogger.debug(LOG_TAG, "getExecutor: creating pool with size = " + poolSize + ", queue capacity = " + queueCapacity);
+
+            _executor = new ThreadPoolExecutor(
+                    poolSize,
+                    poolSize,
+                    IDLE_TIMEOUT_SECONDS,
+                    TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(queueCapacity),
+                    new ThreadFactory() {
+                        @Override
+                        public Thread newThread(Runnable runnable) {
+                            final Thread t = new Thread(runnable, THREAD_NAME_PREFIX + _threadCount.incrementAndGet());
+                            t.setDaemon(true);
+                            return t;
+                        }
+                    });
+            _executor.allowCoreThreadTimeOut(true);
+        }
+        return _executor;
+    }
+
+    private GigyaNetworkConfig getNetworkConfig() {
+        if (_config != null && _config.getGigyaNetworkConfig() != null) {
+            return _config.getGigyaNetworkConfig();
+        }
+        return new GigyaNetworkConfig();
+    }
+}
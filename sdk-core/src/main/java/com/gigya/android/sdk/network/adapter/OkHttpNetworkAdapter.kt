@@ -1,27 +1,41 @@
 package com.gigya.android.sdk.network.adapter
 
-import android.os.Handler
-import android.os.Looper
+import com.gigya.android.sdk.Config
 import com.gigya.android.sdk.GigyaLogger
 import com.gigya.android.sdk.api.GigyaApiHttpRequest
 import com.gigya.android.sdk.api.GigyaApiRequest
 import com.gigya.android.sdk.api.IApiRequestFactory
 import com.gigya.android.sdk.network.GigyaError
+import com.gigya.android.sdk.network.GigyaNetworkConfig
 import okhttp3.Call
+import okhttp3.Connection
+import okhttp3.ConnectionPool
+import okhttp3.EventListener
+import okhttp3.Handshake
 import okhttp3.Headers.Companion.toHeaders
+import okhttp3.HttpUrl
 import okhttp3.OkHttpClient
+import okhttp3.Protocol
 import okhttp3.Request
 import okhttp3.RequestBody.Companion.toRequestBody
+import okhttp3.Response
 import okhttp3.logging.HttpLoggingInterceptor
+import java.io.IOException
+import java.io.InterruptedIOException
+import java.net.ConnectException
 import java.net.HttpURLConnection
-import java.util.Queue
-import java.util.concurrent.ConcurrentLinkedQueue
-import java.util.concurrent.ExecutorService
-import java.util.concurrent.Executors
+import java.net.InetAddress
+import java.net.InetSocketAddress
+import java.net.Proxy
+import java.util.concurrent.Executor
 import java.util.concurrent.TimeUnit
 
 
-class OkHttpNetworkAdapter(requestFactory: IApiRequestFactory?) : NetworkProvider(requestFactory) {
+class OkHttpNetworkAdapter @JvmOverloads constructor(
+    requestFactory: IApiRequestFactory?,
+    config: Config? = null,
+    workerPool: NetworkWorkerPool = NetworkWorkerPool(config)
+) : NetworkProvider(requestFactory, config, workerPool) {
 
     companion object {
         @JvmStatic
@@ -33,10 +47,21 @@ class OkHttpNetworkAdapter(requestFactory: IApiRequestFactory?) : NetworkProvide
                 false
             }
         }
+
+        /**
+         * Share the application OkHttpClient (connection pool, dispatcher & interceptors) with the SDK.
+         * Must be called before the SDK sends its first request.
+         */
+        @JvmStatic
+        fun setClient(client: OkHttpClient?) {
+            NetworkClient.appClient = client
+        }
     }
 
-    private val _queue: Queue<OkHttpTask> = ConcurrentLinkedQueue()
-    private val client = NetworkClient()
+    /*
+    Created on first use since the network configuration is loaded after the adapter is created.
+     */
+    private val client: NetworkClient by lazy { NetworkClient(networkConfig, _eventReporter) }
 
     override fun addToQueue(
         request: GigyaApiRequest,
@@ -44,14 +69,19 @@ class OkHttpNetworkAdapter(requestFactory: IApiRequestFactory?) : NetworkProvide
     ) {
         if (_blocked) {
             // Add request to queue.
-            _queue.add(
-                OkHttpTask(OkHttpAsyncTask(networkCallbacks, client), request)
-            )
+            enqueueBlocked(request, networkCallbacks)
             return
         }
         // Send request here.
-        val signedRequest = _requestFactory.sign(request)
-        OkHttpAsyncTask(networkCallbacks, client).execute(signedRequest)
+        dispatch(request, networkCallbacks)
+    }
+
+    override fun dispatch(
+        request: GigyaApiRequest,
+        networkCallbacks: IRestAdapterCallback
+    ) {
+        val signedRequest = sign(request)
+        newTask(request, networkCallbacks).execute(signedRequest)
     }
 
     override fun addToQueueUnsigned(
@@ -60,7 +90,7 @@ class OkHttpNetworkAdapter(requestFactory: IApiRequestFactory?) : NetworkProvide
     ) {
         // Send the request here.
         val unsignedRequest = _requestFactory.unsigned(request)
-        OkHttpAsyncTask(networkCallbacks, client).execute(unsignedRequest)
+        newTask(request, networkCallbacks).execute(unsignedRequest)
     }
 
     override fun sendBlocking(
@@ -68,66 +98,95 @@ class OkHttpNetworkAdapter(requestFactory: IApiRequestFactory?) : NetworkProvide
         networkCallbacks: IRestAdapterCallback
     ) {
         // Send the request here.
-        val signedRequest = _requestFactory.sign(request)
-        OkHttpAsyncTask(networkCallbacks, client).execute(signedRequest)
+        val signedRequest = sign(request)
+        newTask(request, networkCallbacks).execute(signedRequest)
         _blocked = true
     }
 
-    override fun cancel(tag: String?) {
-        if (tag == null) {
-            _queue.clear()
-            // Unable to cancel already sent requests.
-        }
-        if (!_queue.isEmpty()) {
-            val it: MutableIterator<*> = _queue.iterator()
-            while (it.hasNext()) {
-                val task = it.next() as OkHttpTask
-                val requestTag = task.request.tag
-                if (requestTag == tag) {
-                    it.remove()
-                }
-            }
-        }
+    private fun newTask(
+        request: GigyaApiRequest,
+        networkCallbacks: IRestAdapterCallback
+    ): OkHttpAsyncTask {
+        val token = track(request)
+        val callTimeout = callTimeoutMillis(RequestPriority.of(request.api))
+        return OkHttpAsyncTask(networkCallbacks, client, _workerPool, token, callTimeout, networkConfig, callbackExecutor, _eventReporter) { untrack(token) }
     }
 
-    override fun release() {
-        super.release()
-        if (_queue.isEmpty()) {
-            return
-        }
-        while (!_queue.isEmpty()) {
-            val queued: OkHttpTask = _queue.poll() as OkHttpTask
-            val signedRequest = _requestFactory.sign(queued.request)
-            queued.task.execute(signedRequest)
+    private fun callTimeoutMillis(priority: RequestPriority): Long {
+        val config = networkConfig
+        return when (priority) {
+            RequestPriority.USER -> config.userCallTimeoutMillis
+            RequestPriority.BACKGROUND -> config.backgroundCallTimeoutMillis
+            else -> config.defaultCallTimeoutMillis
         }
     }
 
-}
+    override fun preconnect(url: String, timeoutMillis: Int) {
+        // Warms the connection pool of the shared client.
+        client.preconnect(url, timeoutMillis.toLong())
+    }
 
-data class OkHttpTask(
-    var task: OkHttpAsyncTask,
-    var request: GigyaApiRequest
-)
+    override fun cancel(tag: String?) {
+        cancelQueued(tag)
+        // Cancel calls already sent.
+        cancelInFlight(tag)
+    }
+
+    override fun cancel(request: GigyaApiRequest) {
+        cancelQueued(request)
+        cancelInFlight(request)
+    }
+
+}
 
 data class Result(
     val code: Int,
-    val result: String?,
+    val body: RestResponseBody?,
     val date: String?
 )
 
-class NetworkClient {
+class NetworkClient(networkConfig: GigyaNetworkConfig, eventReporter: NetworkEventReporter) {
 
     internal companion object {
-        const val DEFAULT_TIMEOUT: Int = 30
+        @Volatile
+        var appClient: OkHttpClient? = null
+
+        private var sharedPool: ConnectionPool? = null
+
+        /*
+        Single pool for all SDK clients so a provider switch does not open new connections to the same hosts.
+         */
+        @Synchronized
+        fun sharedPool(networkConfig: GigyaNetworkConfig): ConnectionPool {
+            return sharedPool ?: ConnectionPool(
+                networkConfig.maxIdleConnectionsPerHost,
+                networkConfig.keepAliveDuration,
+                TimeUnit.MILLISECONDS
+            ).also { sharedPool = it }
+        }
     }
 
     private val okHttpClient: OkHttpClient
 
+    /*
+    Event listeners of the application client. SDK calls keep notifying them.
+     */
+    private val appEventListenerFactory: EventListener.Factory? = appClient?.eventListenerFactory
+
     init {
-        val builder = OkHttpClient.Builder()
+        // Derive from the application client to share its pool & dispatcher.
+        val builder = appClient?.newBuilder() ?: OkHttpClient.Builder()
+            .connectionPool(sharedPool(networkConfig))
 
-        builder.connectTimeout(DEFAULT_TIMEOUT.toLong(), TimeUnit.SECONDS)
-        builder.readTimeout(DEFAULT_TIMEOUT.toLong(), TimeUnit.SECONDS)
+        builder.connectTimeout(networkConfig.connectTimeoutMillis, TimeUnit.MILLISECONDS)
+        builder.readTimeout(networkConfig.readTimeoutMillis, TimeUnit.MILLISECONDS)
+
+        // Multiplex concurrent requests to the same host over a single connection.
+        if (networkConfig.isHttp2()) {
+            builder.protocols(listOf(Protocol.HTTP_2, Protocol.HTTP_1_1))
+        } else {
+            builder.protocols(listOf(Protocol.HTTP_1_1))
+        }
 
         // Add network logging if set to allow (default set to false).
         if (GigyaLogger.isDebug()) {
@@ -136,52 +195,311 @@ class NetworkClient {
                     .setLevel(HttpLoggingInterceptor.Level.BODY)
             )
         }
+        // Connection phase timing. Calls are not instrumented while no listener is registered.
+        builder.eventListenerFactory(object : EventListener.Factory {
+            override fun create(call: Call): EventListener {
+                val appListener = appEventListenerFactory?.create(call)
+                if (!eventReporter.isEnabled) {
+                    return appListener ?: EventListener.NONE
+                }
+                val phaseListener = PhaseEventListener(eventReporter, NetworkEventReporter.apiOf(call.request().url.encodedPath))
+                return if (appListener != null) ForwardingEventListener(appListener, phaseListener) else phaseListener
+            }
+        })
         okHttpClient = builder.build()
     }
 
     fun newCall(request: Request): Call {
-        return okHttpClient.newCall(request);
+        return okHttpClient.newCall(request)
+    }
+
+    fun preconnect(url: String, timeoutMillis: Long) {
+        // Derived client shares the connection pool. Timings are reported by the prewarmer.
+        val builder = okHttpClient.newBuilder()
+            .callTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+        if (appEventListenerFactory != null) {
+            builder.eventListenerFactory(appEventListenerFactory)
+        } else {
+            builder.eventListener(EventListener.NONE)
+        }
+        val call = builder.build()
+            .newCall(Request.Builder().url(url).head().build())
+        call.execute().close()
+    }
+}
+
+/*
+Delivers OkHttp call events to the application listener, then to the SDK listener.
+ */
+internal class ForwardingEventListener(
+    private val first: EventListener,
+    private val second: EventListener
+) : EventListener() {
+
+    override fun callStart(call: Call) {
+        first.callStart(call)
+        second.callStart(call)
+    }
+
+    override fun proxySelectStart(call: Call, url: HttpUrl) {
+        first.proxySelectStart(call, url)
+        second.proxySelectStart(call, url)
+    }
+
+    override fun proxySelectEnd(call: Call, url: HttpUrl, proxies: List<Proxy>) {
+        first.proxySelectEnd(call, url, proxies)
+        second.proxySelectEnd(call, url, proxies)
+    }
+
+    override fun dnsStart(call: Call, domainName: String) {
+        first.dnsStart(call, domainName)
+        second.dnsStart(call, domainName)
+    }
+
+    override fun dnsEnd(call: Call, domainName: String, inetAddressList: List<InetAddress>) {
+        first.dnsEnd(call, domainName, inetAddressList)
+        second.dnsEnd(call, domainName, inetAddressList)
+    }
+
+    override fun connectStart(call: Call, inetSocketAddress: InetSocketAddress, proxy: Proxy) {
+        first.connectStart(call, inetSocketAddress, proxy)
+        second.connectStart(call, inetSocketAddress, proxy)
+    }
+
+    override fun secureConnectStart(call: Call) {
+        first.secureConnectStart(call)
+        second.secureConnectStart(call)
+    }
+
+    override fun secureConnectEnd(call: Call, handshake: Handshake?) {
+        first.secureConnectEnd(call, handshake)
+        second.secureConnectEnd(call, handshake)
+    }
+
+    override fun connectEnd(call: Call, inetSocketAddress: InetSocketAddress, proxy: Proxy, protocol: Protocol?) {
+        first.connectEnd(call, inetSocketAddress, proxy, protocol)
+        second.connectEnd(call, inetSocketAddress, proxy, protocol)
+    }
+
+    override fun connectFailed(
+        call: Call,
+        inetSocketAddress: InetSocketAddress,
+        proxy: Proxy,
+        protocol: Protocol?,
+        ioe: IOException
+    ) {
+        first.connectFailed(call, inetSocketAddress, proxy, protocol, ioe)
+        second.connectFailed(call, inetSocketAddress, proxy, protocol, ioe)
+    }
+
+    override fun connectionAcquired(call: Call, connection: Connection) {
+        first.connectionAcquired(call, connection)
+        second.connectionAcquired(call, connection)
+    }
+
+    override fun connectionReleased(call: Call, connection: Connection) {
+        first.connectionReleased(call, connection)
+        second.connectionReleased(call, connection)
+    }
+
+    override fun requestHeadersStart(call: Call) {
+        first.requestHeadersStart(call)
+        second.requestHeadersStart(call)
+    }
+
+    override fun requestHeadersEnd(call: Call, request: Request) {
+        first.requestHeadersEnd(call, request)
+        second.requestHeadersEnd(call, request)
+    }
+
+    override fun requestBodyStart(call: Call) {
+        first.requestBodyStart(call)
+        second.requestBodyStart(call)
+    }
+
+    override fun requestBodyEnd(call: Call, byteCount: Long) {
+        first.requestBodyEnd(call, byteCount)
+        second.requestBodyEnd(call, byteCount)
+    }
+
+    override fun requestFailed(call: Call, ioe: IOException) {
+        first.requestFailed(call, ioe)
+        second.requestFailed(call, ioe)
+    }
+
+    override fun responseHeadersStart(call: Call) {
+        first.responseHeadersStart(call)
+        second.responseHeadersStart(call)
+    }
+
+    override fun responseHeadersEnd(call: Call, response: Response) {
+        first.responseHeadersEnd(call, response)
+        second.responseHeadersEnd(call, response)
+    }
+
+    override fun responseBodyStart(call: Call) {
+        first.responseBodyStart(call)
+        second.responseBodyStart(call)
+    }
+
+    override fun responseBodyEnd(call: Call, byteCount: Long) {
+        first.responseBodyEnd(call, byteCount)
+        second.responseBodyEnd(call, byteCount)
+    }
+
+    override fun responseFailed(call: Call, ioe: IOException) {
+        first.responseFailed(call, ioe)
+        second.responseFailed(call, ioe)
+    }
+
+    override fun callEnd(call: Call) {
+        first.callEnd(call)
+        second.callEnd(call)
+    }
+
+    override fun callFailed(call: Call, ioe: IOException) {
+        first.callFailed(call, ioe)
+        second.callFailed(call, ioe)
+    }
+
+    override fun canceled(call: Call) {
+        first.canceled(call)
+        second.canceled(call)
+    }
+
+    override fun satisfactionFailure(call: Call, response: Response) {
+        first.satisfactionFailure(call, response)
+        second.satisfactionFailure(call, response)
+    }
+
+    override fun cacheHit(call: Call, response: Response) {
+        first.cacheHit(call, response)
+        second.cacheHit(call, response)
+    }
+
+    override fun cacheMiss(call: Call) {
+        first.cacheMiss(call)
+        second.cacheMiss(call)
+    }
+
+    override fun cacheConditionalHit(call: Call, cachedResponse: Response) {
+        first.cacheConditionalHit(call, cachedResponse)
+        second.cacheConditionalHit(call, cachedResponse)
+    }
+}
+
+/*
+Reports OkHttp call events as network phases. TLS is reported separately and excluded from CONNECT.
+ */
+internal class PhaseEventListener(
+    private val reporter: NetworkEventReporter,
+    private val api: String
+) : EventListener() {
+
+    private var dnsStart = 0L
+    private var connectStart = 0L
+    private var tlsStart = 0L
+    private var tlsDuration = 0L
+    private var requestStart = 0L
+    private var bodyStart = 0L
+
+    override fun dnsStart(call: Call, domainName: String) {
+        dnsStart = System.nanoTime()
+    }
+
+    override fun dnsEnd(call: Call, domainName: String, inetAddressList: List<InetAddress>) {
+        reporter.report(api, INetworkEventListener.Phase.DNS, System.nanoTime() - dnsStart)
+    }
+
+    override fun connectStart(call: Call, inetSocketAddress: InetSocketAddress, proxy: Proxy) {
+        connectStart = System.nanoTime()
+        tlsDuration = 0L
+    }
+
+    override fun secureConnectStart(call: Call) {
+        tlsStart = System.nanoTime()
+    }
+
+    override fun secureConnectEnd(call: Call, handshake: Handshake?) {
+        tlsDuration = System.nanoTime() - tlsStart
+        reporter.report(api, INetworkEventListener.Phase.TLS, tlsDuration)
+    }
+
+    override fun connectEnd(call: Call, inetSocketAddress: InetSocketAddress, proxy: Proxy, protocol: Protocol?) {
+        reporter.report(api, INetworkEventListener.Phase.CONNECT, System.nanoTime() - connectStart - tlsDuration)
+    }
+
+    override fun connectionAcquired(call: Call, connection: Connection) {
+        // Pooled connection, e.g. pre-warmed. Reported so the saved connect time is visible.
+        if (connectStart == 0L) {
+            reporter.report(api, INetworkEventListener.Phase.CONNECT, 0L)
+        }
+    }
+
+    override fun requestHeadersStart(call: Call) {
+        requestStart = System.nanoTime()
+    }
+
+    override fun responseHeadersStart(call: Call) {
+        reporter.report(api, INetworkEventListener.Phase.TIME_TO_FIRST_BYTE, System.nanoTime() - requestStart)
+    }
+
+    override fun responseBodyStart(call: Call) {
+        bodyStart = System.nanoTime()
+    }
+
+    override fun responseBodyEnd(call: Call, byteCount: Long) {
+        reporter.report(api, INetworkEventListener.Phase.BODY_READ, System.nanoTime() - bodyStart)
     }
 }
 
 open class OkHttpAsyncTask(
     val callback: IRestAdapterCallback,
     private val client: NetworkClient,
+    private val workerPool: NetworkWorkerPool,
+    private val token: RequestCancellationToken,
+    private val callTimeoutMillis: Long,
+    private val networkConfig: GigyaNetworkConfig,
+    private val callbackExecutor: Executor,
+    private val eventReporter: NetworkEventReporter,
+    private val onComplete: () -> Unit
 ) {
 
-    private var executor: ExecutorService? = null
-    private var handler: Handler? = null
-
     companion object {
         const val LOG_TAG = "OkHttpAsyncTask"
         const val REQUEST_CONTENT_TYPE = "application/x-www-form-urlencoded"
     }
 
-    init {
-        executor = Executors.newSingleThreadExecutor { r ->
-            val t = Thread(r)
-            t.isDaemon = true
-            return@newSingleThreadExecutor t
+    fun execute(request: GigyaApiHttpRequest) {
+        if (token.isCancelled) {
+            onComplete()
+            return
         }
-    }
-
-    private fun getHandler(): Handler? {
-        if (handler == null) {
-            synchronized(OkHttpAsyncTask::class.java) {
-                handler = Handler(Looper.getMainLooper())
+        val accepted = workerPool.execute {
+            if (token.isCancelled) {
+                // Cancelled while waiting for a worker.
+                return@execute
             }
-        }
-        return handler
-    }
-
-    fun execute(request: GigyaApiHttpRequest) {
-        executor?.execute {
             GigyaLogger.debug(LOG_TAG, "Executor: execute request with ${request.url}")
             val result = doInBackground(request)
-            getHandler()?.post {
-                GigyaLogger.debug(LOG_TAG, "Executor: post execute request with ${request.url}")
-                result?.let { onPostExecute(it) }
-                shutDown()
+            onComplete()
+            if (token.isCancelled) {
+                GigyaLogger.debug(LOG_TAG, "Executor: request cancelled ${request.url}")
+                return@execute
+            }
+            callbackExecutor.execute(eventReporter.timeDispatch(NetworkEventReporter.apiOf(request.url)) {
+                if (!token.isCancelled) {
+                    GigyaLogger.debug(LOG_TAG, "Executor: post execute request with ${request.url}")
+                    onPostExecute(result)
+                }
+            })
+        }
+        if (!accepted) {
+            onComplete()
+            callbackExecutor.execute {
+                if (!token.isCancelled) {
+                    callback.onError(GigyaError.errorFrom("Network worker queue is full"))
+                }
             }
         }
     }
@@ -193,23 +511,47 @@ open class OkHttpAsyncTask(
         request.headers?.let {
             builder.headers(it.toHeaders())
         }
-        request.encodedParams?.let {
-            val data = it.toByteArray()
-            builder.post(data.toRequestBody())
+        request.body?.let {
+            val compressed = RequestCompressor.compress(request, networkConfig)
+            if (compressed != null) {
+                builder.header("Content-Encoding", RequestCompressor.CONTENT_ENCODING)
+            }
+            builder.post((compressed ?: it).toRequestBody())
         }
         builder.header("Content-Type", REQUEST_CONTENT_TYPE)
         val okHttpRequest = builder.build()
         val call = client.newCall(okHttpRequest)
+        if (callTimeoutMillis > 0) {
+            // Bounds the complete call (connect, write, read) per api class.
+            call.timeout().timeout(callTimeoutMillis, TimeUnit.MILLISECONDS)
+        }
+        token.bind { call.cancel() }
         return try {
-            val response = call.execute()
-            val responseCode = response.code
-            val responseBody = response.body?.string()
-            val responseDate = response.headers["date"]
-            Result(responseCode, responseBody, responseDate)
+            call.execute().use { response ->
+                val responseCode = response.code
+                // OkHttp handles gzip transparently. Content length is -1 when decompressed.
+                val responseBody = response.body?.let {
+                    ResponseBodyReader.read(it.byteStream(), it.contentLength(), it.contentType()?.toString())
+                }
+                // Decode on the worker thread. Callbacks are posted to the callback executor.
+                responseBody?.asString()
+                val responseDate = response.headers["date"]
+                Result(responseCode, responseBody, responseDate)
+            }
         } catch (ex: Exception) {
-            ex.printStackTrace()
-            GigyaLogger.error(LOG_TAG, "Call execution exception with ${ex.message}")
-            Result(400106, null, null)
+            if (!token.isCancelled) {
+                ex.printStackTrace()
+                GigyaLogger.error(LOG_TAG, "Call execution exception with ${ex.message}")
+            }
+            // Socket & call timeouts are both interrupted IO.
+            if (ex is InterruptedIOException || ex is ConnectException) {
+                // Host unreachable or not responding.
+                Result(GigyaError.Codes.ERROR_NETWORK, null, null)
+            } else {
+                Result(400106, null, null)
+            }
+        } finally {
+            token.bind(null)
         }
     }
 
@@ -230,16 +572,10 @@ open class OkHttpAsyncTask(
             }
 
             // Generate gigya error.
-            val gigyaError = GigyaError(result.code, result.result!!, null)
+            val gigyaError = GigyaError(result.code, result.body?.asString(), null)
             callback.onError(gigyaError)
             return
         }
-        callback.onResponse(result.result, result.date)
-    }
-
-    private fun shutDown() {
-        if (executor != null) {
-            executor!!.shutdownNow()
-        }
+        callback.onResponse(result.body ?: ResponseBodyReader.wrap(null, null), result.date)
     }
 }
\ No newline at end of file
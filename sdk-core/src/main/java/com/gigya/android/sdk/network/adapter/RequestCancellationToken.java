@@ -0,0 +1,73 @@
+package com.gigya.android.sdk.network.adapter;
+
+import androidx.annotation.Nullable;
+
+import com.gigya.android.sdk.api.GigyaApiRequest;
+
+/**
+ * Cancellation handle of a single in-flight request.
+ * <p>
+ * The executing provider binds the transport level cancellation (disconnecting the connection,
+ * cancelling the call) once the request is on the wire. Cancelled requests never deliver callbacks.
+ */
+public class RequestCancellationToken {
+
+    final private GigyaApiRequest _request;
+
+    private volatile boolean _cancelled = false;
+
+    @Nullable
+    private Runnable _onCancel;
+
+    public RequestCancellationToken(GigyaApiRequest request) {
+        _request = request;
+    }
+
+    public GigyaApiRequest getRequest() {
+        return _request;
+    }
+
+    public String getTag() {
+        return _request.getTag();
+    }
+
+    public boolean isCancelled() {
+        return _cancelled;
+    }
+
+    /**
+     * Bind the transport level cancellation action.
+     * If the token is already cancelled the action is invoked immediately.
+     *
+     * @param onCancel Cancellation action. Null to unbind.
+     */
+    public void bind(@Nullable Runnable onCancel) {
+        synchronized (this) {
+            if (!_cancelled) {
+                _onCancel = onCancel;
+                return;
+            }
+        }
+        if (onCancel != null) {
+            onCancel.run();
+        }
+    }
+
+    /**
+     * Cancel the request. Can be called from any thread.
+     */
+    public void cancel() {
+        final Runnable onCancel;
+        synchronized (this) {
+            if (_cancelled) {
+                return;
+            }
+            _cancelled = true;
+            onCancel = _onCancel;
+            _onCancel = null;
+        }
+        if (onCancel != null) {
+            onCancel.run();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.gigya.android.sdk.network.adapter;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.gigya.android.sdk.GigyaLogger;
+import com.gigya.android.sdk.api.GigyaApiHttpRequest;
+import com.gigya.android.sdk.network.GigyaNetworkConfig;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Optional gzip compression of large request bodies shared by the network providers.
+ * <p>
+ * Only POST bodies of allowed apis above the configured threshold are compressed. The signature covers the
+ * request parameters, not the transferred bytes, so compression does not affect signing.
+ */
+public class RequestCompressor {
+
+    private static final String LOG_TAG = "RequestCompressor";
+
+    public static final String CONTENT_ENCODING = "gzip";
+
+    private RequestCompressor() {
+    }
+
+    /**
+     * Compress the request body if compression applies to the request.
+     *
+     * @return Compressed body or null if the original body should be sent.
+     */
+    @Nullable
+    public static byte[] compress(@NonNull GigyaApiHttpRequest request, @Nullable GigyaNetworkConfig networkConfig) {
+        if (networkConfig == null || !networkConfig.isRequestCompression()) {
+            return null;
+        }
+        final byte[] body = request.getBody();
+        if (body == null || body.length < networkConfig.getRequestCompressionThreshold()
+                || request.getHttpMethod().intValue() != RestAdapter.POST) {
+            return null;
+        }
+        if (!isAllowed(NetworkEventReporter.apiOf(request.getUrl()), networkConfig.getRequestCompressionApis())) {
+            return null;
+        }
+        try {
+            final byte[] compressed = gzip(body);
+            if (compressed.length >= body.length) {
+                return null;
+            }
+            GigyaLogger.debug(LOG_TAG, "compress: " + body.length + " -> " + compressed.length + " bytes");
+            return compressed;
+        } catch (IOException ex) {
+            GigyaLogger.error(LOG_TAG, "compress: failed with " + ex.getMessage());
+            return null;
+        }
+    }
+
+    static byte[] gzip(byte[] data) throws IOException {
+        // Url encoded parameters usually compress to a fraction of their size.
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        final GZIPOutputStream gzip = new GZIPOutputStream(out);
+        try {
+            gzip.write(data);
+        } finally {
+            gzip.close();
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean isAllowed(String api, @Nullable String[] apis) {
+        if (apis == null) {
+            return false;
+        }
+        for (String allowed : apis) {
+            if (api.equals(allowed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
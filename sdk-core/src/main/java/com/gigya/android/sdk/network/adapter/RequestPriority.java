@@ -0,0 +1,77 @@
+package com.gigya.android.sdk.network.adapter;
+
+import androidx.annotation.Nullable;
+
+import com.gigya.android.sdk.GigyaDefinitions;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Request class by user impact.
+ * Orders the release of requests held while the network provider is blocked and selects the call timeout.
+ */
+public enum RequestPriority {
+
+    USER(0),
+    DEFAULT(1),
+    BACKGROUND(2);
+
+    private final int order;
+
+    RequestPriority(int order) {
+        this.order = order;
+    }
+
+    public int order() {
+        return order;
+    }
+
+    /*
+    Requests directly initiated by user interaction.
+     */
+    private static final List<String> USER_APIS = Arrays.asList(
+            GigyaDefinitions.API.API_LOGIN,
+            GigyaDefinitions.API.API_LOGOUT,
+            GigyaDefinitions.API.API_INIT_REGISTRATION,
+            GigyaDefinitions.API.API_REGISTER,
+            GigyaDefinitions.API.API_FINALIZE_REGISTRATION,
+            GigyaDefinitions.API.API_NOTIFY_LOGIN,
+            GigyaDefinitions.API.API_NOTIFY_SOCIAL_LOGIN,
+            GigyaDefinitions.API.API_RESET_PASSWORD,
+            GigyaDefinitions.API.API_SET_ACCOUNT_INFO,
+            GigyaDefinitions.API.API_IS_AVAILABLE_LOGIN_ID
+    );
+
+    /*
+    Requests the user is not waiting for.
+     */
+    private static final List<String> BACKGROUND_APIS = Arrays.asList(
+            GigyaDefinitions.API.API_VERIFY_LOGIN,
+            GigyaDefinitions.API.API_IS_SESSION_VALID,
+            GigyaDefinitions.API.API_GET_SDK_CONFIG,
+            GigyaDefinitions.API.API_AUTH_UPDATE_DEVICE,
+            "sdk.errorReport"
+    );
+
+    /**
+     * Resolve the priority of a request by its api.
+     *
+     * @param api Request api (or url for unsigned requests).
+     * @return Request priority. {@link #DEFAULT} for unknown apis.
+     */
+    public static RequestPriority of(@Nullable String api) {
+        if (api == null) {
+            return DEFAULT;
+        }
+        if (USER_APIS.contains(api)) {
+            return USER;
+        }
+        for (String background : BACKGROUND_APIS) {
+            if (api.equals(background) || api.endsWith("/" + background)) {
+                return BACKGROUND;
+            }
+        }
+        return DEFAULT;
+    }
+}
@@ -0,0 +1,139 @@
+package com.gigya.android.sdk.network.adapter;
+
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Locale;
+
+/**
+ * Shared response body reader used by the network providers.
+ * <p>
+ * When the content length is known the body is read straight into an exact sized array. Otherwise it
+ * is read into a per thread scratch buffer (worker threads are pooled) and copied once into the
+ * resulting array.
+ */
+public class ResponseBodyReader {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /*
+    Scratch buffers larger than this size are not retained by the worker thread.
+     */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 256 * 1024;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final ThreadLocal<byte[]> _scratch = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[DEFAULT_BUFFER_SIZE];
+        }
+    };
+
+    private ResponseBodyReader() {
+    }
+
+    /**
+     * Read the entire stream. The stream is not closed.
+     *
+     * @param input         Response stream.
+     * @param contentLength Content-Length of the (decoded) stream or -1 if unknown.
+     * @param contentType   Content-Type header used to resolve the charset. UTF-8 is used by default.
+     * @return Response body.
+     */
+    public static RestResponseBody read(InputStream input, long contentLength, @Nullable String contentType) throws IOException {
+        final Charset charset = parseCharset(contentType);
+        if (input == null) {
+            return new RestResponseBody(new byte[0], 0, charset);
+        }
+        if (contentLength > 0 && contentLength < Integer.MAX_VALUE) {
+            return readSized(input, (int) contentLength, charset);
+        }
+        return readUnsized(input, null, 0, charset);
+    }
+
+    /**
+     * Wrap an already available byte array without copying it.
+     */
+    public static RestResponseBody wrap(byte[] data, @Nullable String contentType) {
+        return new RestResponseBody(data == null ? new byte[0] : data, data == null ? 0 : data.length, parseCharset(contentType));
+    }
+
+    /**
+     * Resolve the charset parameter of a Content-Type header.
+     *
+     * @param contentType Content-Type header value.
+     * @return Resolved charset or UTF-8 if missing or not supported.
+     */
+    public static Charset parseCharset(@Nullable String contentType) {
+        if (contentType == null) {
+            return UTF_8;
+        }
+        final String[] parts = contentType.split(";");
+        for (int i = 1; i < parts.length; i++) {
+            final String[] pair = parts[i].trim().split("=");
+            if (pair.length == 2 && pair[0].trim().toLowerCase(Locale.ENGLISH).equals("charset")) {
+                try {
+                    return Charset.forName(pair[1].trim().replace("\"", ""));
+                } catch (Exception ignored) {
+                    return UTF_8;
+                }
+            }
+        }
+        return UTF_8;
+    }
+
+    /*
+    Read directly into the exact sized result array. If the stream turns out to be longer than
+    the announced length the remaining bytes are read through the unsized path.
+     */
+    private static RestResponseBody readSized(InputStream input, int contentLength, Charset charset) throws IOException {
+        final byte[] data = new byte[contentLength];
+        int offset = 0;
+        int read;
+        while (offset < contentLength && (read = input.read(data, offset, contentLength - offset)) != -1) {
+            offset += read;
+        }
+        if (offset < contentLength) {
+            // Stream ended early.
+            return new RestResponseBody(data, offset, charset);
+        }
+        final int next = input.read();
+        if (next == -1) {
+            return new RestResponseBody(data, offset, charset);
+        }
+        // Content-Length was wrong. Continue with the bytes already read.
+        final byte[] prefix = new byte[contentLength + 1];
+        System.arraycopy(data, 0, prefix, 0, contentLength);
+        prefix[contentLength] = (byte) next;
+        return readUnsized(input, prefix, prefix.length, charset);
+    }
+
+    private static RestResponseBody readUnsized(InputStream input, @Nullable byte[] prefix, int prefixLength, Charset charset) throws IOException {
+        byte[] buffer = _scratch.get();
+        if (buffer.length <= prefixLength) {
+            buffer = new byte[Math.max(prefixLength * 2, DEFAULT_BUFFER_SIZE)];
+        }
+        if (prefix != null) {
+            System.arraycopy(prefix, 0, buffer, 0, prefixLength);
+        }
+        int count = prefixLength;
+        int read;
+        while ((read = input.read(buffer, count, buffer.length - count)) != -1) {
+            count += read;
+            if (count == buffer.length) {
+                final byte[] grown = new byte[buffer.length * 2];
+                System.arraycopy(buffer, 0, grown, 0, count);
+                buffer = grown;
+            }
+        }
+        if (buffer.length <= MAX_RETAINED_BUFFER_SIZE) {
+            _scratch.set(buffer);
+        }
+        final byte[] data = new byte[count];
+        System.arraycopy(buffer, 0, data, 0, count);
+        return new RestResponseBody(data, count, charset);
+    }
+}
@@ -2,11 +2,24 @@ package com.gigya.android.sdk.network.adapter;
 
 import android.content.Context;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.gigya.android.sdk.Config;
+import com.gigya.android.sdk.GigyaLogger;
 import com.gigya.android.sdk.api.GigyaApiRequest;
 import com.gigya.android.sdk.api.IApiRequestFactory;
+import com.gigya.android.sdk.network.GigyaError;
+import com.gigya.android.sdk.network.GigyaNetworkConfig;
+import com.gigya.android.sdk.utils.UrlUtils;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
 
 public class RestAdapter implements IRestAdapter {
 
+    private static final String LOG_TAG = "RestAdapter";
+
     public enum HttpMethod {
 
         GET(0),
@@ -35,25 +48,45 @@ public class RestAdapter implements IRestAdapter {
 
     private NetworkProvider _networkProvider;
 
-    public RestAdapter(Context context, IApiRequestFactory requestFactory) {
+    /*
+    Worker pool is shared between providers so it survives a forced provider switch.
+     */
+    final private NetworkWorkerPool _workerPool;
+
+    final private Config _config;
+
+    final private CircuitBreaker _circuitBreaker;
+
+    private ConnectionPrewarmer _prewarmer;
+
+    @Nullable
+    private INetworkEventListener _eventListener;
+
+    public RestAdapter(Context context, Config config, IApiRequestFactory requestFactory) {
+        _config = config;
+        _circuitBreaker = new CircuitBreaker(config);
+        _workerPool = new NetworkWorkerPool(config);
         try {
             // Avoid runtime crash for different adapters.
             if (VolleyNetworkProvider.isAvailable()) {
-                _networkProvider = new VolleyNetworkProvider(requestFactory, context);
+                _networkProvider = new VolleyNetworkProvider(requestFactory, context, config, _workerPool);
             } else if (OkHttpNetworkAdapter.Companion.isAvailable()) {
-                _networkProvider = new OkHttpNetworkAdapter(requestFactory);
+                _networkProvider = new OkHttpNetworkAdapter(requestFactory, config, _workerPool);
             } else {
-                _networkProvider = new HttpNetworkProvider(requestFactory);
+                _networkProvider = new HttpNetworkProvider(requestFactory, config, _workerPool);
             }
         } catch (Exception ex) {
             // Implementation exception averted. In any case fallback to default HttpNetworkProvider.
-            _networkProvider = new HttpNetworkProvider(requestFactory);
+            _networkProvider = new HttpNetworkProvider(requestFactory, config, _workerPool);
         }
+        _prewarmer = new ConnectionPrewarmer(_networkProvider);
     }
 
     public void forceDefaultRestAdapter(IApiRequestFactory requestFactory) {
         _networkProvider = null;
-        _networkProvider = new HttpNetworkProvider(requestFactory);
+        _networkProvider = new HttpNetworkProvider(requestFactory, _config, _workerPool);
+        _networkProvider.setEventListener(_eventListener);
+        _prewarmer = new ConnectionPrewarmer(_networkProvider);
     }
 
     @Override
@@ -62,18 +95,118 @@ public class RestAdapter implements IRestAdapter {
             sendBlocking(apiRequest, requestCallbacks);
             return;
         }
-        _networkProvider.addToQueue(apiRequest, requestCallbacks);
+        final IRestAdapterCallback callback = guard(apiRequest, requestCallbacks);
+        if (callback != null) {
+            _networkProvider.addToQueue(apiRequest, callback);
+        }
     }
 
     @Override
     public void sendUnsigned(GigyaApiRequest apiRequest, IRestAdapterCallback requestCallbacks) {
-        _networkProvider.addToQueueUnsigned(apiRequest, requestCallbacks);
+        final IRestAdapterCallback callback = guard(apiRequest, requestCallbacks);
+        if (callback != null) {
+            _networkProvider.addToQueueUnsigned(apiRequest, callback);
+        }
     }
 
 
     @Override
     public void sendBlocking(GigyaApiRequest apiRequest, IRestAdapterCallback requestCallbacks) {
-        _networkProvider.sendBlocking(apiRequest, requestCallbacks);
+        final IRestAdapterCallback callback = guard(apiRequest, requestCallbacks);
+        if (callback != null) {
+            _networkProvider.sendBlocking(apiRequest, callback);
+        }
+    }
+
+    /**
+     * Apply the circuit breaker of the request host.
+     *
+     * The fast failure is posted to the provider callback executor, same as any other network response,
+     * so callers are never invoked re-entrantly from send().
+     *
+     * @return Callback recording the request outcome. Null if the circuit is open and the request failed fast.
+     */
+    @Nullable
+    private IRestAdapterCallback guard(GigyaApiRequest apiRequest, final IRestAdapterCallback requestCallbacks) {
+        final String host = UrlUtils.getHost(apiRequest.getApi(), _config);
+        if (!_circuitBreaker.allowRequest(host)) {
+            GigyaLogger.debug(LOG_TAG, "Circuit open. Failing fast: " + apiRequest.getApi());
+            _networkProvider.getCallbackExecutor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    requestCallbacks.onError(GigyaError.circuitOpen(host));
+                }
+            });
+            return null;
+        }
+        return new CircuitCallback(host, requestCallbacks);
+    }
+
+    /*
+    Reports the request outcome to the circuit breaker before delivering it.
+     */
+    private class CircuitCallback extends IRestAdapterCallback {
+
+        final private String _host;
+        final private IRestAdapterCallback _callback;
+
+        CircuitCallback(String host, IRestAdapterCallback callback) {
+            _host = host;
+            _callback = callback;
+        }
+
+        @Override
+        public void onResponse(String jsonResponse, String responseDateHeader) {
+            _circuitBreaker.onSuccess(_host);
+            _callback.onResponse(jsonResponse, responseDateHeader);
+        }
+
+        @Override
+        public void onResponse(RestResponseBody responseBody, String responseDateHeader) {
+            _circuitBreaker.onSuccess(_host);
+            _callback.onResponse(responseBody, responseDateHeader);
+        }
+
+        @Override
+        public void onError(GigyaError gigyaError) {
+            _circuitBreaker.onError(_host, gigyaError);
+            _callback.onError(gigyaError);
+        }
+    }
+
+    @Override
+    public void prewarm() {
+        final GigyaNetworkConfig networkConfig = _config.getGigyaNetworkConfig();
+        if (networkConfig == null || !networkConfig.isPrewarm() || _config.getApiDomain() == null) {
+            return;
+        }
+        // Cname replaces both hosts when enabled.
+        _prewarmer.start(Arrays.asList(
+                UrlUtils.getHost("accounts", _config),
+                UrlUtils.getHost("socialize", _config)
+        ), networkConfig.getPrewarmBudgetMillis());
+    }
+
+    @Override
+    public void setCircuitStateListener(@Nullable CircuitBreaker.IStateListener listener) {
+        _circuitBreaker.setStateListener(listener);
+    }
+
+    @Override
+    public void setNetworkEventListener(@Nullable INetworkEventListener listener) {
+        _eventListener = listener;
+        _networkProvider.setEventListener(listener);
+    }
+
+    @Override
+    public void reportEvent(String api, INetworkEventListener.Phase phase, long durationNanos) {
+        _networkProvider.getEventReporter().report(api, phase, durationNanos);
+    }
+
+    @NonNull
+    @Override
+    public CircuitBreaker.State getCircuitState(String api) {
+        return _circuitBreaker.getState(UrlUtils.getHost(api, _config));
     }
 
     @Override
@@ -91,6 +224,24 @@ public class RestAdapter implements IRestAdapter {
         _networkProvider.cancel(tag);
     }
 
+    @Override
+    public void cancel(GigyaApiRequest apiRequest) {
+        _networkProvider.cancel(apiRequest);
+    }
+
+    @Override
+    public void shutdown() {
+        _networkProvider.shutdown();
+    }
+
+    /*
+    Kept on the configuration so it applies to all providers, including a forced default provider.
+     */
+    @Override
+    public void setCallbackExecutor(@Nullable Executor executor) {
+        _config.setCallbackExecutor(executor);
+    }
+
     @Override
     public String getProviderType() {
         try {
@@ -0,0 +1,64 @@
+package com.gigya.android.sdk.network.adapter;
+
+import androidx.annotation.NonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Raw response body as read from the network.
+ * The body is decoded to a String only once, on first request.
+ */
+public class RestResponseBody {
+
+    @NonNull
+    final private byte[] data;
+    final private int length;
+    @NonNull
+    final private Charset charset;
+
+    private String decoded;
+
+    public RestResponseBody(@NonNull byte[] data, int length, @NonNull Charset charset) {
+        this.data = data;
+        this.length = length;
+        this.charset = charset;
+    }
+
+    /**
+     * Get the backing byte array. Only the first {@link #getLength()} bytes are valid.
+     */
+    @NonNull
+    public byte[] getData() {
+        return data;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    @NonNull
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * Get a stream over the body bytes. No copy of the body is made.
+     */
+    @NonNull
+    public InputStream asStream() {
+        return new ByteArrayInputStream(data, 0, length);
+    }
+
+    /**
+     * Get the body decoded with the response charset.
+     */
+    @NonNull
+    public synchronized String asString() {
+        if (decoded == null) {
+            decoded = new String(data, 0, length, charset);
+        }
+        return decoded;
+    }
+}
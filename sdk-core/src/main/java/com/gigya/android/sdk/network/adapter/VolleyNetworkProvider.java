@@ -16,31 +16,48 @@ import com.android.volley.Response;
 import com.android.volley.VolleyError;
 import com.android.volley.VolleyLog;
 import com.android.volley.toolbox.HttpHeaderParser;
+import com.android.volley.toolbox.HurlStack;
 import com.android.volley.toolbox.Volley;
+import com.gigya.android.sdk.Config;
 import com.gigya.android.sdk.GigyaLogger;
 import com.gigya.android.sdk.api.GigyaApiHttpRequest;
 import com.gigya.android.sdk.api.GigyaApiRequest;
 import com.gigya.android.sdk.api.IApiRequestFactory;
 import com.gigya.android.sdk.network.GigyaError;
-import com.gigya.android.sdk.utils.UrlUtils;
+import com.gigya.android.sdk.network.GigyaNetworkConfig;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.Charset;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
 public class VolleyNetworkProvider extends NetworkProvider {
 
     private static final String LOG_TAG = "VolleyNetworkProvider";
 
     private RequestQueue _requestQueue;
-    private Queue<HttpVolleyTask> _blockedQueue = new ConcurrentLinkedQueue<>();
 
     VolleyNetworkProvider(IApiRequestFactory requestFactory, Context appContext) {
-        super(requestFactory);
-        _requestQueue = Volley.newRequestQueue(appContext);
+        this(requestFactory, appContext, null, new NetworkWorkerPool(null));
+    }
+
+    VolleyNetworkProvider(IApiRequestFactory requestFactory, Context appContext, Config config, NetworkWorkerPool workerPool) {
+        super(requestFactory, config, workerPool);
+        // Volley executes requests using HttpURLConnection. Connections follow the same policy (see HttpKeepAlivePolicy).
+        _requestQueue = Volley.newRequestQueue(appContext, new HurlStack() {
+            @Override
+            protected HttpURLConnection createConnection(URL url) throws IOException {
+                final HttpURLConnection connection = super.createConnection(url);
+                HttpKeepAlivePolicy.configure(connection, getNetworkConfig());
+                return connection;
+            }
+        });
         // Enable Volley logs.
         VolleyLog.DEBUG = GigyaLogger.isDebug();
     }
@@ -60,17 +77,16 @@ public class VolleyNetworkProvider extends NetworkProvider {
 
         if (_blocked) {
             GigyaLogger.debug(LOG_TAG, "addToQueue: is blocked. adding to blocked queued - " + request.getApi());
-            _blockedQueue.add(new HttpVolleyTask(request, networkCallbacks));
+            enqueueBlocked(request, networkCallbacks);
             return;
         }
-        if (!_blockedQueue.isEmpty()) {
-            GigyaLogger.debug(LOG_TAG, "addToQueue: blockedQueue is empty releasing it - " + request.getApi());
-            release();
-        }
 
         GigyaLogger.debug(LOG_TAG, "addToQueue: adding to queue - " + request.getApi());
+        dispatch(request, networkCallbacks);
+    }
 
-        _requestFactory.sign(request);
+    @Override
+    protected void dispatch(GigyaApiRequest request, IRestAdapterCallback networkCallbacks) {
         VolleyNetworkRequest newRequest = createRequest(request, networkCallbacks, true);
         _requestQueue.add(newRequest);
     }
@@ -87,33 +103,14 @@ public class VolleyNetworkProvider extends NetworkProvider {
         GigyaLogger.debug(LOG_TAG, "sendBlocking: " + request.getApi());
         _requestQueue.getCache().clear();
 
-        _requestFactory.sign(request);
         VolleyNetworkRequest newRequest = createRequest(request, networkCallbacks, true);
         _requestQueue.add(newRequest);
         _blocked = true;
     }
 
-    @Override
-    public void release() {
-        super.release();
-        if (_blockedQueue.isEmpty()) {
-            return;
-        }
-
-        // Traverse over blocked queue and release all.
-        while (!_blockedQueue.isEmpty()) {
-
-            final HttpVolleyTask task = _blockedQueue.poll();
-            // Need to resign the request.
-            _requestFactory.sign(task.getRequest());
-
-            final VolleyNetworkRequest queued = createRequest(task.getRequest(), task.getNetworkCallbacks(), true);
-            GigyaLogger.debug(LOG_TAG, "release: polled request  - " + queued.getUrl());
-
-            _requestQueue.add(queued);
-        }
-    }
-
+    /*
+    Volley tracks in-flight requests itself. Cancelled requests are never delivered.
+     */
     @Override
     public void cancel(String tag) {
         if (tag == null) {
@@ -125,63 +122,52 @@ public class VolleyNetworkProvider extends NetworkProvider {
                     return true;
                 }
             });
-            _blockedQueue.clear();
+            cancelQueued((String) null);
             return;
         }
         _requestQueue.cancelAll(tag);
-        if (!_blockedQueue.isEmpty()) {
-            Iterator it = _blockedQueue.iterator();
-            while (it.hasNext()) {
-                final HttpVolleyTask task = (HttpVolleyTask) it.next();
-                final String requestTag = task.request.getTag();
-                if (requestTag.equals(tag)) {
-                    it.remove();
-                }
-            }
-        }
+        cancelQueued(tag);
     }
 
-    //region VOLLEY SPECIFIC IMPLEMENTATION
-
-    private static class HttpVolleyTask {
-
-        private GigyaApiRequest request;
-        private final IRestAdapterCallback networkCallbacks;
-
-        private HttpVolleyTask(GigyaApiRequest request, IRestAdapterCallback networkCallbacks) {
-            this.request = request;
-            this.networkCallbacks = networkCallbacks;
-        }
-
-        public GigyaApiRequest getRequest() {
-            return request;
-        }
-
-        public void setRequest(GigyaApiRequest request) {
-            this.request = request;
-        }
+    @Override
+    public void cancel(final GigyaApiRequest request) {
+        _requestQueue.cancelAll(new RequestQueue.RequestFilter() {
 
-        public IRestAdapterCallback getNetworkCallbacks() {
-            return networkCallbacks;
-        }
+            @Override
+            public boolean apply(Request<?> queued) {
+                return queued instanceof VolleyNetworkRequest && ((VolleyNetworkRequest) queued)._source == request;
+            }
+        });
+        cancelQueued(request);
     }
 
+    //region VOLLEY SPECIFIC IMPLEMENTATION
+
     /*
     Generate a new Volley request.
      */
     private VolleyNetworkRequest createRequest(final GigyaApiRequest request, final IRestAdapterCallback networkCallbacks, boolean sign) {
 
-        final GigyaApiHttpRequest signedRequest = sign ? _requestFactory.sign(request) : _requestFactory.unsigned(request);
+        final GigyaApiHttpRequest signedRequest = sign ? sign(request) : _requestFactory.unsigned(request);
+
+        // Volley executes requests using HttpURLConnection, so the same reuse policy applies.
+        final GigyaNetworkConfig networkConfig = getNetworkConfig();
+        HttpKeepAlivePolicy.apply(networkConfig);
 
         return new VolleyNetworkRequest(
                 request.getMethod().intValue(),
                 signedRequest.getUrl(),
                 new Response.Listener<VolleyResponsePair>() {
                     @Override
-                    public void onResponse(VolleyResponsePair response) {
-                        GigyaLogger.debug("GigyaApiResponse", "ApiService: " + signedRequest.getUrl() + "\n" + response);
+                    public void onResponse(final VolleyResponsePair response) {
+                        GigyaLogger.debug("GigyaApiResponse", "ApiService: " + signedRequest.getUrl() + "\n" + response.body.asString());
                         if (networkCallbacks != null) {
-                            networkCallbacks.onResponse(response.res, response.date);
+                            deliver(request.getApi(), response.readyAt, new Runnable() {
+                                @Override
+                                public void run() {
+                                    networkCallbacks.onResponse(response.body, response.date);
+                                }
+                            });
                         }
                     }
                 },
@@ -193,12 +179,20 @@ public class VolleyNetworkProvider extends NetworkProvider {
                             final GigyaError noNetworkError = new GigyaError(400106, "User is not connected to the required network or to any network", null);
                             GigyaLogger.debug("GigyaApiResponse", "No network error");
                             if (networkCallbacks != null) {
-                                networkCallbacks.onError(noNetworkError);
+                                deliver(request.getApi(), System.nanoTime(), new Runnable() {
+                                    @Override
+                                    public void run() {
+                                        networkCallbacks.onError(noNetworkError);
+                                    }
+                                });
                             }
                             return;
                         }
                         int errorCode = 0;
-                        if (error.networkResponse != null) {
+                        if (error instanceof com.android.volley.TimeoutError) {
+                            // Host not responding.
+                            errorCode = GigyaError.Codes.ERROR_NETWORK;
+                        } else if (error.networkResponse != null) {
                             errorCode = error.networkResponse.statusCode;
                         }
                         final String localizedMessage = error.getLocalizedMessage() == null ? "" : error.getLocalizedMessage();
@@ -207,16 +201,42 @@ public class VolleyNetworkProvider extends NetworkProvider {
                                 "ApiService: " + signedRequest.getUrl() + "\n" +
                                 gigyaError.toString());
                         if (networkCallbacks != null) {
-                            networkCallbacks.onError(gigyaError);
+                            deliver(request.getApi(), System.nanoTime(), new Runnable() {
+                                @Override
+                                public void run() {
+                                    networkCallbacks.onError(gigyaError);
+                                }
+                            });
                         }
                     }
                 },
-                signedRequest.getEncodedParams(),
-                signedRequest.getHeaders(),
-                request.getTag()
+                signedRequest,
+                request,
+                networkConfig,
+                _eventReporter
         );
     }
 
+    /*
+    Volley delivers on the main thread. Hand the response over when a callback executor is configured.
+    Dispatch time is measured from when the response was ready on the network thread.
+     */
+    private void deliver(final String api, final long readyAt, final Runnable delivery) {
+        final Runnable timedDelivery = !_eventReporter.isEnabled() ? delivery : new Runnable() {
+            @Override
+            public void run() {
+                _eventReporter.report(api, INetworkEventListener.Phase.CALLBACK_DISPATCH, System.nanoTime() - readyAt);
+                delivery.run();
+            }
+        };
+        final Executor callbackExecutor = _config != null ? _config.getCallbackExecutor() : null;
+        if (callbackExecutor == null) {
+            timedDelivery.run();
+        } else {
+            callbackExecutor.execute(timedDelivery);
+        }
+    }
+
     private static class VolleyNetworkRequest extends Request<VolleyResponsePair> {
 
         /**
@@ -228,23 +248,41 @@ public class VolleyNetworkProvider extends NetworkProvider {
         @GuardedBy("mLock")
         private Response.Listener<VolleyResponsePair> _listener;
 
-        @Nullable
-        private String _body;
+        private final GigyaApiHttpRequest _httpRequest;
+
+        private final GigyaNetworkConfig _networkConfig;
 
+        /*
+        Body to send. Resolved on the network thread as it may be compressed.
+         */
         @Nullable
-        Map<String, String> _headers;
+        private byte[] _body;
+
+        private boolean _bodyResolved;
+
+        private boolean _compressed;
+
+        private final NetworkEventReporter _eventReporter;
+
+        /*
+        Originating request. Used for cancellation by request handle.
+         */
+        private final GigyaApiRequest _source;
 
         VolleyNetworkRequest(int method,
                              String url,
                              @NonNull Response.Listener<VolleyResponsePair> listener,
                              @NonNull Response.ErrorListener errorListener,
-                             @Nullable String body,
-                             @Nullable Map<String, String> headers,
-                             String tag) {
+                             GigyaApiHttpRequest httpRequest,
+                             GigyaApiRequest source,
+                             GigyaNetworkConfig networkConfig,
+                             NetworkEventReporter eventReporter) {
             super(method, url, errorListener);
-            setTag(tag);
-            _body = body;
-            _headers = headers;
+            setTag(source.getTag());
+            _source = source;
+            _httpRequest = httpRequest;
+            _networkConfig = networkConfig;
+            _eventReporter = eventReporter;
             _listener = listener;
             setShouldCache(false);
             setRetryPolicy(new DefaultRetryPolicy(
@@ -257,21 +295,41 @@ public class VolleyNetworkProvider extends NetworkProvider {
         public Map<String, String> getHeaders() {
             Map<String, String> requestHeaders = new HashMap<>();
             requestHeaders.put("Accept-Encoding", "gzip, deflate");
-            requestHeaders.put("connection", "close");
-            if (_headers != null) {
-                requestHeaders.putAll(_headers);
+            if (!_networkConfig.isKeepAlive()) {
+                requestHeaders.put("connection", "close");
+            }
+            if (_httpRequest.getHeaders() != null) {
+                requestHeaders.putAll(_httpRequest.getHeaders());
+            }
+            resolveBody();
+            if (_compressed) {
+                requestHeaders.put("Content-Encoding", RequestCompressor.CONTENT_ENCODING);
             }
             return requestHeaders;
         }
 
         @Override
         public byte[] getBody() throws AuthFailureError {
-            if (_body != null) {
-                return this._body.getBytes();
+            final byte[] body = resolveBody();
+            if (body != null) {
+                return body;
             }
             return super.getBody();
         }
 
+        private synchronized byte[] resolveBody() {
+            if (!_bodyResolved) {
+                _bodyResolved = true;
+                _body = _httpRequest.getBody();
+                final byte[] compressed = RequestCompressor.compress(_httpRequest, _networkConfig);
+                if (compressed != null) {
+                    _body = compressed;
+                    _compressed = true;
+                }
+            }
+            return _body;
+        }
+
         @Override
         public void cancel() {
             super.cancel();
@@ -293,20 +351,27 @@ public class VolleyNetworkProvider extends NetworkProvider {
 
         @Override
         protected Response<VolleyResponsePair> parseNetworkResponse(NetworkResponse response) {
-            String jsonString;
             try {
+                final long start = System.nanoTime();
                 final String dateHeader = response.headers.get("Date");
                 final String encoding = response.headers.get("Content-Encoding");
+                final Charset charset = Charset.forName(HttpHeaderParser.parseCharset(response.headers, "utf-8"));
+                final RestResponseBody body;
                 if (encoding != null && encoding.equals("gzip")) {
                     // Response contains GZIP encoding.
-                    jsonString = UrlUtils.gzipDecode(response.data);
+                    body = ResponseBodyReader.read(
+                            new GZIPInputStream(new ByteArrayInputStream(response.data)),
+                            -1,
+                            response.headers.get("Content-Type"));
                 } else {
-                    jsonString = new String(
-                            response.data,
-                            HttpHeaderParser.parseCharset(response.headers, "utf-8"));
+                    body = new RestResponseBody(response.data, response.data.length, charset);
                 }
+                // Decode on the network thread. Responses are delivered on the main thread.
+                body.asString();
+                final long readyAt = System.nanoTime();
+                _eventReporter.report(_source.getApi(), INetworkEventListener.Phase.BODY_READ, readyAt - start);
                 return Response.success(
-                        new VolleyResponsePair(jsonString, dateHeader),
+                        new VolleyResponsePair(body, dateHeader, readyAt),
                         HttpHeaderParser.parseCacheHeaders(response));
             } catch (Exception e) {
                 return Response.error(new ParseError(e));
@@ -316,12 +381,18 @@ public class VolleyNetworkProvider extends NetworkProvider {
 
     static class VolleyResponsePair {
 
-        final private String res;
+        final private RestResponseBody body;
         final private String date;
 
-        VolleyResponsePair(String res, String date) {
-            this.res = res;
+        /*
+        Time (System.nanoTime) the response was ready for delivery.
+         */
+        final private long readyAt;
+
+        VolleyResponsePair(RestResponseBody body, String date, long readyAt) {
+            this.body = body;
             this.date = date;
+            this.readyAt = readyAt;
         }
     }
 
@@ -56,6 +56,11 @@ public interface IPersistenceService {
 
     long getGmidRefreshTime();
 
+    void setServerOffset(long offsetMillis);
+
+    @Nullable
+    Long getServerOffset();
+
     void setCoreVersion(String version);
 
     String getCoreVersion();
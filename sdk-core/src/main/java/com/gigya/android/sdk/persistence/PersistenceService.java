@@ -231,6 +231,20 @@ public class PersistenceService implements IPersistenceService {
         return getPrefs().getLong(PREFS_GMID_RT, 0);
     }
 
+    @Override
+    public void setServerOffset(long offsetMillis) {
+        getPrefs().edit().putLong(PREFS_SERVER_OFFSET, offsetMillis).apply();
+    }
+
+    @Nullable
+    @Override
+    public Long getServerOffset() {
+        if (!contains(PREFS_SERVER_OFFSET)) {
+            return null;
+        }
+        return getPrefs().getLong(PREFS_SERVER_OFFSET, 0);
+    }
+
     @Override
     public void setCoreVersion(String version) {
         getPrefs().edit().putString(PREFS_CORE_VERSION, version).apply();
@@ -309,6 +323,11 @@ public class PersistenceService implements IPersistenceService {
 
     private static final String PREFS_CORE_VERSION = "GS_CORE_VERSION";
 
+    /*
+     * Smoothed server clock offset in milliseconds.
+     */
+    private static final String PREFS_SERVER_OFFSET = "GS_SERVER_OFFSET";
+
     public static final String PREFS_PASSKEYS = "GS_PASSKEYS";
 
     //endregion
@@ -37,4 +37,11 @@ public interface ISessionService {
     void registerExpirationObserver(SessionStateObserver observer);
 
     void removeExpirationObserver(SessionStateObserver observer);
+
+    /**
+     * Register an observer notified whenever the session is set or cleared.
+     */
+    void registerChangeObserver(SessionChangeObserver observer);
+
+    void removeChangeObserver(SessionChangeObserver observer);
 }
@@ -0,0 +1,10 @@
+package com.gigya.android.sdk.session;
+
+/**
+ * Observer of session changes. Notified on the thread setting or clearing the session.
+ */
+public interface SessionChangeObserver {
+
+    void onSessionChanged();
+
+}
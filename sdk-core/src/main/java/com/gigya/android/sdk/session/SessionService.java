@@ -18,12 +18,13 @@ import com.gigya.android.sdk.GigyaDefinitions;
 import com.gigya.android.sdk.GigyaInterceptor;
 import com.gigya.android.sdk.GigyaLogger;
 import com.gigya.android.sdk.encryption.EncryptionException;
+import com.gigya.android.sdk.network.adapter.CallbackExecutors;
 import com.gigya.android.sdk.encryption.SessionKeyV2;
 import com.gigya.android.sdk.persistence.IPersistenceService;
 import com.gigya.android.sdk.persistence.PersistenceService;
 import com.gigya.android.sdk.utils.CipherUtils;
+import com.gigya.android.sdk.utils.GsonRegistry;
 import com.gigya.android.sdk.utils.ObjectUtils;
-import com.google.gson.Gson;
 
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -172,9 +173,8 @@ public class SessionService implements ISessionService {
                 try {
                     final SecretKey key = getKey();
                     final String decryptedSession = decryptSession(encryptedSession, key);
-                    Gson gson = new Gson();
                     // Parse session info.
-                    final SessionInfo sessionInfo = gson.fromJson(decryptedSession, SessionInfo.class);
+                    final SessionInfo sessionInfo = GsonRegistry.getInstance().getGson().fromJson(decryptedSession, SessionInfo.class);
 
                     // Added in version 5.1.1.
                     migrateEncryptedDynamicConfig(decryptedSession, sessionInfo);
@@ -238,6 +238,7 @@ public class SessionService implements ISessionService {
     public void setSession(SessionInfo sessionInfo) {
         GigyaLogger.debug(LOG_TAG, "setSession: ");
         _sessionInfo = sessionInfo;
+        notifySessionChanged();
         save(sessionInfo); // Will only work for "DEFAULT" encryption.
         // Apply interceptions
         applyInterceptions();
@@ -282,6 +283,7 @@ public class SessionService implements ISessionService {
     public void clear(boolean clearStorage) {
         GigyaLogger.debug(LOG_TAG, "clear: ");
         _sessionInfo = null;
+        notifySessionChanged();
 
         if (clearStorage) {
             // Remove session data. Update encryption to DEFAULT.
@@ -309,6 +311,22 @@ public class SessionService implements ISessionService {
         _observable.removeExpirationObserver(observer);
     }
 
+    @Override
+    public void registerChangeObserver(SessionChangeObserver observer) {
+        _observable.registerChangeObserver(observer);
+    }
+
+    @Override
+    public void removeChangeObserver(SessionChangeObserver observer) {
+        _observable.removeChangeObserver(observer);
+    }
+
+    private void notifySessionChanged() {
+        if (_observable != null) {
+            _observable.notifySessionChanged();
+        }
+    }
+
     private void applyInterceptions() {
         if (_sessionInterceptors.isEmpty()) {
             return;
@@ -397,10 +415,20 @@ public class SessionService implements ISessionService {
      *
      * @param future Number of milliseconds to count down.
      */
-    private void startSessionCountdown(long future) {
+    private void startSessionCountdown(final long future) {
         GigyaLogger.debug(LOG_TAG, "startSessionCountdown: Session is set to expire in: "
                 + TimeUnit.MILLISECONDS.toSeconds(future) + " seconds");
 
+        // Sessions may be set on the network callback executor. The timer requires a looper.
+        CallbackExecutors.runOnMainThread(new Runnable() {
+            @Override
+            public void run() {
+                startSessionCountdownTimer(future);
+            }
+        });
+    }
+
+    private void startSessionCountdownTimer(long future) {
         // Cancel timer.
         cancelSessionCountdownTimer();
         _sessionLifeCountdownTimer = new CountDownTimer(future, TimeUnit.SECONDS.toMillis(1)) {
@@ -4,6 +4,8 @@ package com.gigya.android.sdk.session;
 import com.gigya.android.sdk.GigyaLogger;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class SessionStateHandler {
 
@@ -11,6 +13,10 @@ public class SessionStateHandler {
 
     private final ArrayList<SessionStateObserver> mExpirationStateObservers = new ArrayList<>();
     private final ArrayList<SessionStateObserver> mVerificationStateObservers = new ArrayList<>();
+    /*
+    Session changes are notified from any thread, so observers may be (un)registered during notification.
+     */
+    private final List<SessionChangeObserver> mChangeObservers = new CopyOnWriteArrayList<>();
 
     public void registerExpirationObserver(SessionStateObserver observer) {
         GigyaLogger.debug(TAG, "registerExpirationObserver: " + System.identityHashCode(observer));
@@ -23,6 +29,16 @@ public class SessionStateHandler {
         mVerificationStateObservers.add(observer);
     }
 
+    public void registerChangeObserver(SessionChangeObserver observer) {
+        GigyaLogger.debug(TAG, "registerChangeObserver: " + System.identityHashCode(observer));
+        mChangeObservers.add(observer);
+    }
+
+    public void removeChangeObserver(SessionChangeObserver observer) {
+        GigyaLogger.debug(TAG, "removeChangeObserver: " + System.identityHashCode(observer));
+        mChangeObservers.remove(observer);
+    }
+
     public void removeExpirationObserver(SessionStateObserver observer) {
         GigyaLogger.debug(TAG, "removeExpirationObserver: " + System.identityHashCode(observer));
         mExpirationStateObservers.remove(observer);
@@ -48,5 +64,10 @@ public class SessionStateHandler {
             observer.onSessionInvalidated(data);
         }
     }
-}
 
+    public void notifySessionChanged() {
+        for (SessionChangeObserver observer : mChangeObservers) {
+            observer.onSessionChanged();
+        }
+    }
+}
@@ -46,9 +46,9 @@ import com.gigya.android.sdk.session.ISessionService;
 import com.gigya.android.sdk.session.ISessionVerificationService;
 import com.gigya.android.sdk.session.SessionInfo;
 import com.gigya.android.sdk.ui.plugin.webbridgetmanager.IWebBridgeInterruptionManager;
+import com.gigya.android.sdk.utils.GsonRegistry;
 import com.gigya.android.sdk.utils.ObjectUtils;
 import com.gigya.android.sdk.utils.UrlUtils;
-import com.google.gson.Gson;
 
 import org.json.JSONArray;
 
@@ -256,7 +256,7 @@ public class GigyaWebBridge<A extends GigyaAccount> implements IGigyaWebBridge<A
                     @Override
                     public void onSuccess(A account) {
                         GigyaLogger.debug(LOG_TAG, "sendOAuthRequest: onSuccess with:\n" + account.toString());
-                        String invocation = "{\"errorCode\":" + account.getErrorCode() + ",\"userInfo\":" + new Gson().toJson(account) + "}";
+                        String invocation = "{\"errorCode\":" + account.getErrorCode() + ",\"userInfo\":" + GsonRegistry.getInstance().getGson().toJson(account) + "}";
                         invokeWebViewCallback(callbackId, invocation);
                         if (_invocationCallback != null) {
                             _webBridgeInterruptionManager.responseManager(
@@ -1,6 +1,5 @@
 package com.gigya.android.sdk.utils;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
@@ -13,6 +12,7 @@ import java.lang.reflect.Type;
  * Account GSON custom parser.
  * <p>
  * Specific profile fields that are handled here can return from the server as objects or as array of objects.
+ * Works on a copy of the JSON tree. See {@link AccountTypeAdapterFactory} for single pass parsing.
  *
  * @param <T>
  */
@@ -30,7 +30,7 @@ public class AccountGSONDeserializer<T> implements JsonDeserializer<T> {
         objectToArrayOnProfileField(json, copy, "publications");
         objectToArrayOnProfileField(json, copy, "skills");
         objectToArrayOnProfileField(json, copy, "work");
-        return new Gson().fromJson(copy, typeOfT);
+        return GsonRegistry.getInstance().getGson().fromJson(copy, typeOfT);
     }
 
     /**
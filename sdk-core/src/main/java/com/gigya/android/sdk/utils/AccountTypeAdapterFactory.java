@@ -0,0 +1,95 @@
+package com.gigya.android.sdk.utils;
+
+import com.gigya.android.sdk.account.models.Certification;
+import com.gigya.android.sdk.account.models.Education;
+import com.gigya.android.sdk.account.models.Favorites;
+import com.gigya.android.sdk.account.models.Like;
+import com.gigya.android.sdk.account.models.Patent;
+import com.gigya.android.sdk.account.models.Phone;
+import com.gigya.android.sdk.account.models.Publication;
+import com.gigya.android.sdk.account.models.Skill;
+import com.gigya.android.sdk.account.models.Work;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Account GSON streaming parser.
+ * <p>
+ * Specific profile fields can return from the server as objects or as array of objects. Lists of these
+ * field types accept a single object, so accounts are decoded in a single pass without copying
+ * an intermediate JSON tree (see {@link AccountGSONDeserializer}).
+ * Registered on {@link GsonRegistry#getAccountGson()}.
+ */
+public class AccountTypeAdapterFactory implements TypeAdapterFactory {
+
+    /*
+    Element types of the profile fields declared as arrays on the base schema object.
+     */
+    private static final Set<Class<?>> PROFILE_ARRAY_TYPES = new HashSet<>(Arrays.<Class<?>>asList(
+            Certification.class,
+            Education.class,
+            Favorites.class,
+            Like.class,
+            Patent.class,
+            Phone.class,
+            Publication.class,
+            Skill.class,
+            Work.class
+    ));
+
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (!type.getRawType().isAssignableFrom(ArrayList.class) || !(type.getType() instanceof ParameterizedType)) {
+            return null;
+        }
+        final Type elementType = ((ParameterizedType) type.getType()).getActualTypeArguments()[0];
+        if (!(elementType instanceof Class) || !PROFILE_ARRAY_TYPES.contains(elementType)) {
+            return null;
+        }
+        return new ObjectOrArrayAdapter<>(gson.getDelegateAdapter(this, type), gson.getAdapter((Class<?>) elementType));
+    }
+
+    /*
+    Reads a single object as a list of one element.
+     */
+    private static class ObjectOrArrayAdapter<T> extends TypeAdapter<T> {
+
+        final private TypeAdapter<T> _delegate;
+        final private TypeAdapter<?> _elementAdapter;
+
+        ObjectOrArrayAdapter(TypeAdapter<T> delegate, TypeAdapter<?> elementAdapter) {
+            _delegate = delegate;
+            _elementAdapter = elementAdapter;
+        }
+
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+            _delegate.write(out, value);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T read(JsonReader in) throws IOException {
+            if (in.peek() != JsonToken.BEGIN_OBJECT) {
+                return _delegate.read(in);
+            }
+            final List<Object> list = new ArrayList<>(1);
+            list.add(_elementAdapter.read(in));
+            return (T) list;
+        }
+    }
+}
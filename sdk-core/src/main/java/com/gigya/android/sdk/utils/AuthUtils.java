@@ -21,9 +21,8 @@ public class AuthUtils {
                                                    String baseUrl,
                                                    @NonNull final TreeMap<String, Object> params,
                                                    @Nullable Long offset) {
-        final String timestamp = Long.toString((System.currentTimeMillis() / 1000) + (offset != null ? offset : 0));
         // Add timestamp.
-        params.put("timestamp", timestamp);
+        params.put("timestamp", getTimestamp(offset));
 
         // Add signature.
         final String signature = SigUtils.getSignature(
@@ -36,6 +35,42 @@ public class AuthUtils {
         }
     }
 
+    /**
+     * Add relevant authentication parameters to request parameters and encode the query.
+     * Parameters are encoded once: the signature is inserted into the signed query.
+     *
+     * @param signer        Request signer.
+     * @param sessionSecret Active session secret.
+     * @param httpMethod    Http request method.
+     * @param baseUrl       Base url for request.
+     * @param params        Active request parameters.
+     * @param offset        Server click offset.
+     * @return Encoded query including the authentication parameters.
+     */
+    @NonNull
+    public static String addAuthenticationParameters(@NonNull HmacSigner signer,
+                                                     final String sessionSecret,
+                                                     int httpMethod,
+                                                     String baseUrl,
+                                                     @NonNull final TreeMap<String, Object> params,
+                                                     @Nullable Long offset) {
+        // Add timestamp.
+        params.put("timestamp", getTimestamp(offset));
+
+        // Add signature.
+        final EncodedQuery query = new EncodedQuery(params, "sig");
+        final String signature = signer.sign(sessionSecret, httpMethod == 1 ? "POST" : "GET", baseUrl, query.toString());
+        if (signature == null) {
+            return query.toString();
+        }
+        params.put("sig", signature);
+        return query.with(signature);
+    }
+
+    private static String getTimestamp(@Nullable Long offset) {
+        return Long.toString((System.currentTimeMillis() / 1000) + (offset != null ? offset : 0));
+    }
+
     /**
      * Removing authentication specific parameters.
      * This step is crucial when resending the same request.
@@ -0,0 +1,84 @@
+package com.gigya.android.sdk.utils;
+
+import androidx.annotation.NonNull;
+
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Sorted & encoded request query built once and extended with a single pending parameter.
+ * <p>
+ * Used for signing: the query without the signature is the signed content and the signature is then
+ * inserted at its sorted position instead of encoding all parameters again.
+ */
+public class EncodedQuery {
+
+    final private String _query;
+    final private String _pendingKey;
+
+    /*
+    Offset of the pending parameter within the query.
+     */
+    final private int _insertAt;
+
+    /**
+     * @param params     Sorted request parameters. Null values are omitted.
+     * @param pendingKey Key of the parameter added later. Ignored if present in the parameters.
+     */
+    public EncodedQuery(@NonNull SortedMap<String, Object> params, @NonNull String pendingKey) {
+        final StringBuilder sb = new StringBuilder(params.size() * 24);
+        int insertAt = -1;
+        for (Map.Entry<String, Object> entry : params.entrySet()) {
+            final String key = entry.getKey();
+            final Object value = entry.getValue();
+            if (value == null || key.equals(pendingKey)) {
+                continue;
+            }
+            if (insertAt < 0 && key.compareTo(pendingKey) > 0) {
+                insertAt = sb.length();
+            }
+            if (sb.length() > 0) {
+                sb.append('&');
+            }
+            sb.append(key).append('=');
+            PercentEncoder.encode(String.valueOf(value), sb);
+        }
+        _query = sb.toString();
+        _pendingKey = pendingKey;
+        _insertAt = insertAt < 0 ? _query.length() : insertAt;
+    }
+
+    /**
+     * Get the encoded query without the pending parameter.
+     */
+    @NonNull
+    @Override
+    public String toString() {
+        return _query;
+    }
+
+    /**
+     * Get the encoded query including the pending parameter.
+     *
+     * @param value Pending parameter value (not encoded).
+     */
+    @NonNull
+    public String with(@NonNull String value) {
+        final int length = _query.length();
+        final StringBuilder sb = new StringBuilder(length + _pendingKey.length() + value.length() + 16);
+        sb.append(_query, 0, _insertAt);
+        if (_insertAt > 0) {
+            sb.append('&');
+        }
+        sb.append(_pendingKey).append('=');
+        PercentEncoder.encode(value, sb);
+        if (_insertAt < length) {
+            // Remaining parameters start with a separator unless inserted first.
+            if (_insertAt == 0) {
+                sb.append('&');
+            }
+            sb.append(_query, _insertAt, length);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,234 @@
+package com.gigya.android.sdk.utils;
+
+import androidx.annotation.Nullable;
+
+import com.gigya.android.sdk.account.models.Emails;
+import com.gigya.android.sdk.account.models.GigyaAccount;
+import com.gigya.android.sdk.account.models.Profile;
+import com.gigya.android.sdk.network.GigyaResponseModel;
+import com.gigya.android.sdk.session.SessionInfo;
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Hand written {@link GigyaAccount} adapter.
+ * <p>
+ * The base schema fields are read & written directly. Fields of custom account schema subclasses and of
+ * {@link GigyaResponseModel} are bound using reflection (see {@link ReflectiveFields}).
+ *
+ * @param <A> Account schema type.
+ */
+class GigyaAccountTypeAdapter<A extends GigyaAccount> extends ModelTypeAdapter<A> {
+
+    /*
+    JSON names of the base schema fields.
+     */
+    private static final Set<String> FIELD_NAMES = new HashSet<>(Arrays.asList(
+            "UID",
+            "UIDSignature",
+            "apiVersion",
+            "created",
+            "createdTimestamp",
+            "emails",
+            "isActive",
+            "isRegistered",
+            "isVerified",
+            "lastLogin",
+            "lastLoginTimestamp",
+            "lastUpdated",
+            "lastUpdatedTimestamp",
+            "loginProvider",
+            "oldestDataUpdated",
+            "oldestDataUpdatedTimestamp",
+            "profile",
+            "registered",
+            "registeredTimestamp",
+            "sessionInfo",
+            "signatureTimestamp",
+            "socialProviders",
+            "verified",
+            "verifiedTimestamp"
+    ));
+
+    final private Constructor<A> _constructor;
+    final private ReflectiveFields _schemaFields;
+    final private ReflectiveFields _responseFields;
+
+    private GigyaAccountTypeAdapter(Gson gson, Constructor<A> constructor, ReflectiveFields schemaFields, ReflectiveFields responseFields) {
+        super(gson);
+        _constructor = constructor;
+        _schemaFields = schemaFields;
+        _responseFields = responseFields;
+    }
+
+    /**
+     * Create the adapter of an account schema class.
+     *
+     * @return Adapter or null if the class cannot be bound without the GSON reflective adapter
+     * (no default constructor, generic class or conflicting custom fields).
+     */
+    @Nullable
+    static <A extends GigyaAccount> GigyaAccountTypeAdapter<A> create(Gson gson, Class<A> clazz) {
+        final Constructor<A> constructor;
+        try {
+            constructor = clazz.getDeclaredConstructor();
+            constructor.setAccessible(true);
+        } catch (NoSuchMethodException ex) {
+            return null;
+        }
+        final ReflectiveFields schemaFields = ReflectiveFields.of(gson, clazz, GigyaAccount.class, FIELD_NAMES);
+        final ReflectiveFields responseFields = ReflectiveFields.of(gson, GigyaResponseModel.class, Object.class, FIELD_NAMES);
+        if (schemaFields == null || responseFields == null) {
+            return null;
+        }
+        return new GigyaAccountTypeAdapter<>(gson, constructor, schemaFields, responseFields);
+    }
+
+    private A newAccount() {
+        try {
+            return _constructor.newInstance();
+        } catch (Exception ex) {
+            throw new JsonIOException("Failed to create account instance of " + _constructor.getDeclaringClass(), ex);
+        }
+    }
+
+    @Override
+    public A read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        final A account = newAccount();
+        in.beginObject();
+        while (in.hasNext()) {
+            final String name = in.nextName();
+            switch (name) {
+                case "UID":
+                    account.setUID(readString(in));
+                    break;
+                case "UIDSignature":
+                    account.setUIDSignature(readString(in));
+                    break;
+                case "apiVersion":
+                    account.setApiVersion(readInteger(in));
+                    break;
+                case "created":
+                    account.setCreated(readString(in));
+                    break;
+                case "createdTimestamp":
+                    account.setCreatedTimestamp(readLong(in));
+                    break;
+                case "emails":
+                    account.setEmails(readValue(in, Emails.class));
+                    break;
+                case "isActive":
+                    account.setActive(readBoolean(in, account.isActive()));
+                    break;
+                case "isRegistered":
+                    account.setRegistered(readBoolean(in, account.isRegistered()));
+                    break;
+                case "isVerified":
+                    account.setVerified(readBoolean(in, account.isVerified()));
+                    break;
+                case "lastLogin":
+                    account.setLastLogin(readString(in));
+                    break;
+                case "lastLoginTimestamp":
+                    account.setLastLoginTimestamp(readLong(in));
+                    break;
+                case "lastUpdated":
+                    account.setLastUpdated(readString(in));
+                    break;
+                case "lastUpdatedTimestamp":
+                    account.setLastUpdatedTimestamp(readLong(in));
+                    break;
+                case "loginProvider":
+                    account.setLoginProvider(readString(in));
+                    break;
+                case "oldestDataUpdated":
+                    account.setOldestDataUpdated(readString(in));
+                    break;
+                case "oldestDataUpdatedTimestamp":
+                    account.setOldestDataUpdatedTimestamp(readLong(in));
+                    break;
+                case "profile":
+                    account.setProfile(readValue(in, Profile.class));
+                    break;
+                case "registered":
+                    account.setRegistered(readString(in));
+                    break;
+                case "registeredTimestamp":
+                    account.setRegisteredTimestamp(readLong(in));
+                    break;
+                case "sessionInfo":
+                    account.setSessionInfo(readValue(in, SessionInfo.class));
+                    break;
+                case "signatureTimestamp":
+                    account.setSignatureTimestamp(readLong(in));
+                    break;
+                case "socialProviders":
+                    account.setSocialProviders(readString(in));
+                    break;
+                case "verified":
+                    account.setVerified(readString(in));
+                    break;
+                case "verifiedTimestamp":
+                    account.setVerifiedTimestamp(readLong(in));
+                    break;
+                default:
+                    if (!_schemaFields.read(in, name, account) && !_responseFields.read(in, name, account)) {
+                        in.skipValue();
+                    }
+                    break;
+            }
+        }
+        in.endObject();
+        return account;
+    }
+
+    @Override
+    public void write(JsonWriter out, A account) throws IOException {
+        if (account == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        // Same field order as the GSON reflective adapter: subclass fields first.
+        _schemaFields.write(out, account);
+        writeString(out, "UID", account.getUID());
+        writeString(out, "UIDSignature", account.getUIDSignature());
+        writeInteger(out, "apiVersion", account.getApiVersion());
+        writeString(out, "created", account.getCreated());
+        writeLong(out, "createdTimestamp", account.getCreatedTimestamp());
+        writeValue(out, "emails", account.getEmails());
+        writeBoolean(out, "isActive", account.isActive());
+        writeBoolean(out, "isRegistered", account.isRegistered());
+        writeBoolean(out, "isVerified", account.isVerified());
+        writeString(out, "lastLogin", account.getLastLogin());
+        writeLong(out, "lastLoginTimestamp", account.getLastLoginTimestamp());
+        writeString(out, "lastUpdated", account.getLastUpdated());
+        writeLong(out, "lastUpdatedTimestamp", account.getLastUpdatedTimestamp());
+        writeString(out, "loginProvider", account.getLoginProvider());
+        writeString(out, "oldestDataUpdated", account.getOldestDataUpdated());
+        writeLong(out, "oldestDataUpdatedTimestamp", account.getOldestDataUpdatedTimestamp());
+        writeValue(out, "profile", account.getProfile());
+        writeString(out, "registered", account.getRegistered());
+        writeLong(out, "registeredTimestamp", account.getRegisteredTimestamp());
+        writeValue(out, "sessionInfo", account.getSessionInfo());
+        writeLong(out, "signatureTimestamp", account.getSignatureTimestamp());
+        writeString(out, "socialProviders", account.getSocialProviders());
+        writeString(out, "verified", account.getVerified());
+        writeLong(out, "verifiedTimestamp", account.getVerifiedTimestamp());
+        _responseFields.write(out, account);
+        out.endObject();
+    }
+}
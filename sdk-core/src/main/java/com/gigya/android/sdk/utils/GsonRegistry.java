@@ -0,0 +1,93 @@
+package com.gigya.android.sdk.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * Shared, preconfigured Gson instances.
+ * <p>
+ * Gson instances are thread safe and cache the type adapters they create, so the SDK reuses these
+ * instead of creating a new instance per call. Each instance is created on first use.
+ * Bound in the SDK container. Use {@link #getInstance()} where injection is not available.
+ * <p>
+ * The default and account instances use the hand written adapters of the login models
+ * (see {@link ModelTypeAdapterFactory}) instead of creating reflective adapters on the first login.
+ */
+public class GsonRegistry {
+
+    /*
+    Generic JSON object type. Parsed using the CustomGSONDeserializer.
+     */
+    public static final Type MAP_TYPE = new TypeToken<Map<String, Object>>() {
+    }.getType();
+
+    private static final GsonRegistry INSTANCE = new GsonRegistry();
+
+    public static GsonRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    private volatile Gson _gson;
+    private volatile Gson _accountGson;
+    private volatile Gson _mapGson;
+
+    /**
+     * Get the default Gson instance.
+     */
+    public Gson getGson() {
+        Gson gson = _gson;
+        if (gson == null) {
+            synchronized (this) {
+                gson = _gson;
+                if (gson == null) {
+                    gson = new GsonBuilder().registerTypeAdapterFactory(new ModelTypeAdapterFactory()).create();
+                    _gson = gson;
+                }
+            }
+        }
+        return gson;
+    }
+
+    /**
+     * Get the Gson instance for account parsing.
+     * Profile array fields accept a single object (see {@link AccountTypeAdapterFactory}).
+     */
+    public Gson getAccountGson() {
+        Gson gson = _accountGson;
+        if (gson == null) {
+            synchronized (this) {
+                gson = _accountGson;
+                if (gson == null) {
+                    gson = new GsonBuilder()
+                            .registerTypeAdapterFactory(new ModelTypeAdapterFactory())
+                            .registerTypeAdapterFactory(new AccountTypeAdapterFactory())
+                            .create();
+                    _accountGson = gson;
+                }
+            }
+        }
+        return gson;
+    }
+
+    /**
+     * Get the Gson instance parsing {@link #MAP_TYPE} objects using the {@link CustomGSONDeserializer}.
+     * Whole numbers are parsed as long values.
+     */
+    public Gson getMapGson() {
+        Gson gson = _mapGson;
+        if (gson == null) {
+            synchronized (this) {
+                gson = _mapGson;
+                if (gson == null) {
+                    gson = new GsonBuilder().registerTypeAdapter(MAP_TYPE, new CustomGSONDeserializer()).create();
+                    _mapGson = gson;
+                }
+            }
+        }
+        return gson;
+    }
+}
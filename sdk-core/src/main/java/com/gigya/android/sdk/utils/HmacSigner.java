@@ -0,0 +1,127 @@
+package com.gigya.android.sdk.utils;
+
+import android.util.Base64;
+
+import androidx.annotation.Nullable;
+
+import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Request signer producing the same signatures as {@link SigUtils#getSignature}.
+ * <p>
+ * The decoded key of the active session secret is cached together with an initialized Mac per thread,
+ * so signing only computes the HMAC. Normalized base urls are cached as well.
+ * Call {@link #invalidate()} when the session changes.
+ */
+public class HmacSigner {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /*
+    Base urls are derived from api namespaces & the configured domain so the set is small.
+    The cache is reset if it ever grows beyond this size.
+     */
+    private static final int MAX_CACHED_URLS = 32;
+
+    /*
+    Key material of a single session secret. Each thread gets its own Mac instance.
+     */
+    private static class KeyState {
+
+        final String secret;
+        final SecretKeySpec key;
+        final ThreadLocal<Mac> mac = new ThreadLocal<>();
+
+        KeyState(String secret) {
+            this.secret = secret;
+            this.key = new SecretKeySpec(Base64.decode(secret, Base64.DEFAULT), SigUtils.ENCODING_ALGORITHM);
+        }
+
+        Mac mac() throws GeneralSecurityException {
+            Mac instance = mac.get();
+            if (instance == null) {
+                instance = Mac.getInstance(SigUtils.ENCODING_ALGORITHM);
+                instance.init(key);
+                mac.set(instance);
+            }
+            return instance;
+        }
+    }
+
+    @Nullable
+    private volatile KeyState _keyState;
+
+    final private Map<String, String> _normalizedUrls = new ConcurrentHashMap<>();
+
+    /**
+     * Generate the request signature.
+     *
+     * @return Signature or null if the signature could not be generated.
+     */
+    @Nullable
+    public String sign(String secret, String httpMethod, String url, TreeMap<String, Object> params) {
+        if (params == null) {
+            return null;
+        }
+        return sign(secret, httpMethod, url, UrlUtils.buildEncodedQuery(params));
+    }
+
+    /**
+     * Generate the request signature of an already encoded query.
+     *
+     * @param encodedQuery Sorted & encoded request parameters.
+     * @return Signature or null if the signature could not be generated.
+     */
+    @Nullable
+    public String sign(String secret, String httpMethod, String url, String encodedQuery) {
+        if (encodedQuery == null || url == null || httpMethod == null || secret == null) {
+            return null;
+        }
+        try {
+            final String baseSignature = SigUtils.getBaseSignature(httpMethod, normalizeUrl(url), encodedQuery);
+            final Mac mac = keyState(secret).mac();
+            // doFinal resets the Mac for the next use.
+            final byte[] rawHmac = mac.doFinal(baseSignature.getBytes(UTF_8));
+            return Base64.encodeToString(rawHmac, Base64.NO_WRAP | Base64.URL_SAFE);
+        } catch (Exception ex) {
+            SigUtils.onSignatureError(ex);
+        }
+        return null;
+    }
+
+    /**
+     * Drop the cached key material.
+     */
+    public void invalidate() {
+        _keyState = null;
+    }
+
+    private KeyState keyState(String secret) {
+        final KeyState current = _keyState;
+        if (current != null && current.secret.equals(secret)) {
+            return current;
+        }
+        final KeyState keyState = new KeyState(secret);
+        _keyState = keyState;
+        return keyState;
+    }
+
+    private String normalizeUrl(String url) throws Exception {
+        String normalized = _normalizedUrls.get(url);
+        if (normalized == null) {
+            normalized = SigUtils.normalizeUrl(url);
+            if (_normalizedUrls.size() >= MAX_CACHED_URLS) {
+                _normalizedUrls.clear();
+            }
+            _normalizedUrls.put(url, normalized);
+        }
+        return normalized;
+    }
+}
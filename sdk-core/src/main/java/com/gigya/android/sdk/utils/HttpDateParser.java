@@ -0,0 +1,119 @@
+package com.gigya.android.sdk.utils;
+
+import androidx.annotation.Nullable;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Parser for RFC 1123 HTTP date headers, e.g. "Thu, 31 Oct 2019 08:20:16 GMT".
+ * <p>
+ * The fixed format is parsed in place without allocations. Other formats fall back to a cached
+ * per thread SimpleDateFormat.
+ */
+public class HttpDateParser {
+
+    private static final String RFC_1123_PATTERN = "EEE, dd MMM yyyy HH:mm:ss zzz";
+
+    private static final String MONTHS = "JanFebMarAprMayJunJulAugSepOctNovDec";
+
+    private static final ThreadLocal<SimpleDateFormat> FALLBACK_FORMAT = new ThreadLocal<SimpleDateFormat>() {
+        @Override
+        protected SimpleDateFormat initialValue() {
+            final SimpleDateFormat format = new SimpleDateFormat(RFC_1123_PATTERN, Locale.ENGLISH);
+            format.setLenient(false);
+            return format;
+        }
+    };
+
+    private HttpDateParser() {
+    }
+
+    /**
+     * Parse a date header.
+     *
+     * @param value Header value.
+     * @return Epoch milliseconds or -1 if the value could not be parsed.
+     */
+    public static long parse(@Nullable String value) {
+        if (value == null) {
+            return -1;
+        }
+        final long millis = parseRfc1123(value);
+        if (millis >= 0) {
+            return millis;
+        }
+        try {
+            final Date date = FALLBACK_FORMAT.get().parse(value);
+            return date != null ? date.getTime() : -1;
+        } catch (Exception ex) {
+            return -1;
+        }
+    }
+
+    private static long parseRfc1123(String value) {
+        // Skip the day name.
+        int i = value.indexOf(", ");
+        if (i < 0) {
+            return -1;
+        }
+        i += 2;
+        final int length = value.length();
+        // Day of month may have one or two digits.
+        final int dayEnd = value.indexOf(' ', i);
+        if (dayEnd < 0 || dayEnd - i < 1 || dayEnd - i > 2) {
+            return -1;
+        }
+        final int day = digits(value, i, dayEnd);
+        i = dayEnd + 1;
+        // Fixed layout from here: "MMM yyyy HH:mm:ss GMT".
+        if (length != i + 21 || !value.regionMatches(i + 18, "GMT", 0, 3)) {
+            return -1;
+        }
+        final int month = month(value, i);
+        final int year = digits(value, i + 4, i + 8);
+        final int hour = digits(value, i + 9, i + 11);
+        final int minute = digits(value, i + 12, i + 14);
+        final int second = digits(value, i + 15, i + 17);
+        if (day < 1 || day > 31 || month < 1 || year < 0 || hour < 0 || hour > 23 || minute < 0 || minute > 59
+                || second < 0 || second > 60 || value.charAt(i + 3) != ' ' || value.charAt(i + 8) != ' '
+                || value.charAt(i + 11) != ':' || value.charAt(i + 14) != ':' || value.charAt(i + 17) != ' ') {
+            return -1;
+        }
+        return ((daysFromEpoch(year, month, day) * 24 + hour) * 60 + minute) * 60_000L + second * 1000L;
+    }
+
+    private static int digits(String value, int start, int end) {
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            final char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static int month(String value, int start) {
+        for (int m = 0; m < 12; m++) {
+            if (value.regionMatches(start, MONTHS, m * 3, 3)) {
+                return m + 1;
+            }
+        }
+        return -1;
+    }
+
+    /*
+    Days since 1970-01-01 of a proleptic Gregorian date.
+     */
+    private static long daysFromEpoch(int year, int month, int day) {
+        final long y = month <= 2 ? year - 1 : year;
+        final long era = (y >= 0 ? y : y - 399) / 400;
+        final long yearOfEra = y - era * 400;
+        final long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        final long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+}
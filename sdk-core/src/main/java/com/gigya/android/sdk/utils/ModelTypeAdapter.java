@@ -0,0 +1,128 @@
+package com.gigya.android.sdk.utils;
+
+import androidx.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Base of the hand written SDK model adapters (see {@link ModelTypeAdapterFactory}).
+ * <p>
+ * Nested model adapters are resolved on use, so a field that is not present in the JSON never creates
+ * the (reflective) adapter of its type. Values are coerced the same way GSON coerces reflective fields.
+ */
+abstract class ModelTypeAdapter<T> extends TypeAdapter<T> {
+
+    final protected Gson _gson;
+
+    final private TypeAdapter<String> _string;
+    final private TypeAdapter<Integer> _integer;
+    final private TypeAdapter<Long> _long;
+    final private TypeAdapter<Boolean> _boolean;
+
+    ModelTypeAdapter(Gson gson) {
+        _gson = gson;
+        _string = gson.getAdapter(String.class);
+        _integer = gson.getAdapter(Integer.class);
+        _long = gson.getAdapter(Long.class);
+        _boolean = gson.getAdapter(Boolean.class);
+    }
+
+    @Nullable
+    String readString(JsonReader in) throws IOException {
+        return _string.read(in);
+    }
+
+    @Nullable
+    Integer readInteger(JsonReader in) throws IOException {
+        return _integer.read(in);
+    }
+
+    @Nullable
+    Long readLong(JsonReader in) throws IOException {
+        return _long.read(in);
+    }
+
+    /*
+    JSON null leaves primitive fields with their current value.
+     */
+    long readLong(JsonReader in, long fallback) throws IOException {
+        final Long value = _long.read(in);
+        return value != null ? value : fallback;
+    }
+
+    int readInteger(JsonReader in, int fallback) throws IOException {
+        final Integer value = _integer.read(in);
+        return value != null ? value : fallback;
+    }
+
+    boolean readBoolean(JsonReader in, boolean fallback) throws IOException {
+        final Boolean value = _boolean.read(in);
+        return value != null ? value : fallback;
+    }
+
+    @Nullable
+    <V> V readValue(JsonReader in, Class<V> clazz) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return _gson.getAdapter(clazz).read(in);
+    }
+
+    @Nullable
+    <V> V readValue(JsonReader in, TypeToken<V> type) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return _gson.getAdapter(type).read(in);
+    }
+
+    void writeString(JsonWriter out, String name, @Nullable String value) throws IOException {
+        out.name(name);
+        _string.write(out, value);
+    }
+
+    void writeInteger(JsonWriter out, String name, @Nullable Integer value) throws IOException {
+        out.name(name);
+        _integer.write(out, value);
+    }
+
+    void writeLong(JsonWriter out, String name, @Nullable Long value) throws IOException {
+        out.name(name);
+        _long.write(out, value);
+    }
+
+    void writeBoolean(JsonWriter out, String name, boolean value) throws IOException {
+        out.name(name).value(value);
+    }
+
+    /*
+    Objects are written using their runtime type, same as GSON does for reflective fields.
+     */
+    @SuppressWarnings("unchecked")
+    void writeValue(JsonWriter out, String name, @Nullable Object value) throws IOException {
+        out.name(name);
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        ((TypeAdapter<Object>) _gson.getAdapter(value.getClass())).write(out, value);
+    }
+
+    <V> void writeValue(JsonWriter out, String name, TypeToken<V> type, @Nullable V value) throws IOException {
+        out.name(name);
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        _gson.getAdapter(type).write(out, value);
+    }
+}
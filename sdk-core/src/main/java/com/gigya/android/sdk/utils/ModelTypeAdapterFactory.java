@@ -0,0 +1,210 @@
+package com.gigya.android.sdk.utils;
+
+import com.gigya.android.sdk.account.models.GigyaAccount;
+import com.gigya.android.sdk.account.models.Profile;
+import com.gigya.android.sdk.interruption.tfa.models.TFAProviderModel;
+import com.gigya.android.sdk.interruption.tfa.models.TFAProvidersModel;
+import com.gigya.android.sdk.network.GigyaResponseModel;
+import com.gigya.android.sdk.session.SessionInfo;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Hand written GSON adapters of the SDK models parsed on login.
+ * <p>
+ * GSON creates reflective adapters on first use, walking the fields of the whole model graph, which is costly
+ * on low end devices for the account profile. These adapters read & write the model fields directly and
+ * create nested adapters only for fields present in the JSON.
+ * Subclasses of {@link GigyaAccount} (custom account schemas) are supported. Their own fields are bound
+ * using reflection. Subclasses of the other models use the GSON reflective adapter.
+ * Registered on {@link GsonRegistry} instances.
+ */
+public class ModelTypeAdapterFactory implements TypeAdapterFactory {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        final Class<? super T> rawType = type.getRawType();
+        if (rawType == SessionInfo.class) {
+            return (TypeAdapter<T>) new SessionInfoTypeAdapter(gson);
+        }
+        if (rawType == Profile.class) {
+            return (TypeAdapter<T>) new ProfileTypeAdapter(gson);
+        }
+        if (rawType == TFAProviderModel.class) {
+            return (TypeAdapter<T>) new TFAProviderTypeAdapter(gson);
+        }
+        if (rawType == TFAProvidersModel.class) {
+            return (TypeAdapter<T>) TFAProvidersTypeAdapter.create(gson);
+        }
+        if (GigyaAccount.class.isAssignableFrom(rawType)) {
+            // Null falls back to the GSON reflective adapter.
+            return (TypeAdapter<T>) GigyaAccountTypeAdapter.create(gson, (Class<? extends GigyaAccount>) rawType);
+        }
+        return null;
+    }
+
+    private static class SessionInfoTypeAdapter extends ModelTypeAdapter<SessionInfo> {
+
+        SessionInfoTypeAdapter(Gson gson) {
+            super(gson);
+        }
+
+        @Override
+        public SessionInfo read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            String sessionToken = null;
+            String sessionSecret = null;
+            long expirationTime = 0;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "sessionToken":
+                        sessionToken = readString(in);
+                        break;
+                    case "sessionSecret":
+                        sessionSecret = readString(in);
+                        break;
+                    case "expirationTime":
+                    case "expires_in":
+                        expirationTime = readLong(in, expirationTime);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return new SessionInfo(sessionSecret, sessionToken, expirationTime);
+        }
+
+        @Override
+        public void write(JsonWriter out, SessionInfo sessionInfo) throws IOException {
+            if (sessionInfo == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeString(out, "sessionToken", sessionInfo.getSessionToken());
+            writeString(out, "sessionSecret", sessionInfo.getSessionSecret());
+            writeLong(out, "expirationTime", sessionInfo.getExpirationTime());
+            out.endObject();
+        }
+    }
+
+    private static class TFAProviderTypeAdapter extends ModelTypeAdapter<TFAProviderModel> {
+
+        TFAProviderTypeAdapter(Gson gson) {
+            super(gson);
+        }
+
+        @Override
+        public TFAProviderModel read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            final TFAProviderModel provider = new TFAProviderModel();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "name":
+                        provider.setName(readString(in));
+                        break;
+                    case "authLevel":
+                        provider.setAuthLevel(readInteger(in, provider.getAuthLevel()));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return provider;
+        }
+
+        @Override
+        public void write(JsonWriter out, TFAProviderModel provider) throws IOException {
+            if (provider == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeString(out, "name", provider.getName());
+            writeInteger(out, "authLevel", provider.getAuthLevel());
+            out.endObject();
+        }
+    }
+
+    private static class TFAProvidersTypeAdapter extends ModelTypeAdapter<TFAProvidersModel> {
+
+        private static final TypeToken<List<TFAProviderModel>> PROVIDERS_TYPE = new TypeToken<List<TFAProviderModel>>() {
+        };
+
+        final private ReflectiveFields _responseFields;
+
+        private TFAProvidersTypeAdapter(Gson gson, ReflectiveFields responseFields) {
+            super(gson);
+            _responseFields = responseFields;
+        }
+
+        static TFAProvidersTypeAdapter create(Gson gson) {
+            final ReflectiveFields responseFields = ReflectiveFields.of(gson, GigyaResponseModel.class, Object.class,
+                    Collections.<String>emptySet());
+            return responseFields == null ? null : new TFAProvidersTypeAdapter(gson, responseFields);
+        }
+
+        @Override
+        public TFAProvidersModel read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            final TFAProvidersModel providers = new TFAProvidersModel();
+            in.beginObject();
+            while (in.hasNext()) {
+                final String name = in.nextName();
+                switch (name) {
+                    case "activeProviders":
+                        providers.setActiveProviders(readValue(in, PROVIDERS_TYPE));
+                        break;
+                    case "inactiveProviders":
+                        providers.setInactiveProviders(readValue(in, PROVIDERS_TYPE));
+                        break;
+                    default:
+                        if (!_responseFields.read(in, name, providers)) {
+                            in.skipValue();
+                        }
+                        break;
+                }
+            }
+            in.endObject();
+            return providers;
+        }
+
+        @Override
+        public void write(JsonWriter out, TFAProvidersModel providers) throws IOException {
+            if (providers == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeValue(out, "activeProviders", PROVIDERS_TYPE, providers.getActiveProviders());
+            writeValue(out, "inactiveProviders", PROVIDERS_TYPE, providers.getInactiveProviders());
+            _responseFields.write(out, providers);
+            out.endObject();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.gigya.android.sdk.utils;
+
+import androidx.annotation.NonNull;
+
+/**
+ * RFC 3986 percent encoder used for request parameters and signatures.
+ * <p>
+ * Unreserved characters (ALPHA, DIGIT, "-", ".", "_", "~") are kept, everything else is encoded as
+ * upper case UTF-8 octets. Output is identical to URLEncoder with "+", "*" and "%7E" post processing.
+ * Unpaired surrogates are encoded as "?" the same way URLEncoder replaces them.
+ */
+public class PercentEncoder {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private static final boolean[] UNRESERVED = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            UNRESERVED[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            UNRESERVED[c] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            UNRESERVED[c] = true;
+        }
+        UNRESERVED['-'] = true;
+        UNRESERVED['.'] = true;
+        UNRESERVED['_'] = true;
+        UNRESERVED['~'] = true;
+    }
+
+    private PercentEncoder() {
+    }
+
+    /**
+     * Encode a value. Returns the same instance when no character requires encoding.
+     */
+    public static String encode(@NonNull String value) {
+        final int length = value.length();
+        int i = 0;
+        while (i < length && isUnreserved(value.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            return value;
+        }
+        final StringBuilder sb = new StringBuilder(length + 16);
+        sb.append(value, 0, i);
+        encode(value, i, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Encode a value into a target builder.
+     */
+    public static void encode(@NonNull CharSequence value, @NonNull StringBuilder out) {
+        encode(value, 0, out);
+    }
+
+    private static void encode(CharSequence value, int start, StringBuilder out) {
+        final int length = value.length();
+        for (int i = start; i < length; i++) {
+            final char c = value.charAt(i);
+            if (isUnreserved(c)) {
+                out.append(c);
+            } else if (c < 0x80) {
+                appendOctet(out, c);
+            } else if (c < 0x800) {
+                appendOctet(out, 0xC0 | (c >> 6));
+                appendOctet(out, 0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                appendOctet(out, 0xF0 | (codePoint >> 18));
+                appendOctet(out, 0x80 | ((codePoint >> 12) & 0x3F));
+                appendOctet(out, 0x80 | ((codePoint >> 6) & 0x3F));
+                appendOctet(out, 0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate. Replaced like the UTF-8 encoder does.
+                appendOctet(out, '?');
+            } else {
+                appendOctet(out, 0xE0 | (c >> 12));
+                appendOctet(out, 0x80 | ((c >> 6) & 0x3F));
+                appendOctet(out, 0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static boolean isUnreserved(char c) {
+        return c < 128 && UNRESERVED[c];
+    }
+
+    private static void appendOctet(StringBuilder out, int octet) {
+        out.append('%').append(HEX[(octet >> 4) & 0xF]).append(HEX[octet & 0xF]);
+    }
+}
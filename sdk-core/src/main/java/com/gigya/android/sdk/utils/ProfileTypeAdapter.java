@@ -0,0 +1,283 @@
+package com.gigya.android.sdk.utils;
+
+import com.gigya.android.sdk.account.models.Certification;
+import com.gigya.android.sdk.account.models.Education;
+import com.gigya.android.sdk.account.models.Favorites;
+import com.gigya.android.sdk.account.models.Like;
+import com.gigya.android.sdk.account.models.Location;
+import com.gigya.android.sdk.account.models.OidcData;
+import com.gigya.android.sdk.account.models.Patent;
+import com.gigya.android.sdk.account.models.Phone;
+import com.gigya.android.sdk.account.models.Profile;
+import com.gigya.android.sdk.account.models.Publication;
+import com.gigya.android.sdk.account.models.Skill;
+import com.gigya.android.sdk.account.models.Work;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Hand written {@link Profile} adapter.
+ * <p>
+ * Profile array fields are read using the list adapters of the GSON instance, so the account instance
+ * accepts a single object as well (see {@link AccountTypeAdapterFactory}).
+ */
+class ProfileTypeAdapter extends ModelTypeAdapter<Profile> {
+
+    private static final TypeToken<List<Certification>> CERTIFICATIONS_TYPE = new TypeToken<List<Certification>>() {
+    };
+    private static final TypeToken<List<Education>> EDUCATION_TYPE = new TypeToken<List<Education>>() {
+    };
+    private static final TypeToken<List<Favorites>> FAVORITES_TYPE = new TypeToken<List<Favorites>>() {
+    };
+    private static final TypeToken<List<Like>> LIKES_TYPE = new TypeToken<List<Like>>() {
+    };
+    private static final TypeToken<List<Patent>> PATENTS_TYPE = new TypeToken<List<Patent>>() {
+    };
+    private static final TypeToken<List<Phone>> PHONES_TYPE = new TypeToken<List<Phone>>() {
+    };
+    private static final TypeToken<List<Publication>> PUBLICATIONS_TYPE = new TypeToken<List<Publication>>() {
+    };
+    private static final TypeToken<List<Skill>> SKILLS_TYPE = new TypeToken<List<Skill>>() {
+    };
+    private static final TypeToken<List<Work>> WORK_TYPE = new TypeToken<List<Work>>() {
+    };
+
+    ProfileTypeAdapter(Gson gson) {
+        super(gson);
+    }
+
+    @Override
+    public Profile read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        final Profile profile = new Profile();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "activities":
+                    profile.setActivities(readString(in));
+                    break;
+                case "address":
+                    profile.setAddress(readString(in));
+                    break;
+                case "age":
+                    profile.setAge(readInteger(in));
+                    break;
+                case "bio":
+                    profile.setBio(readString(in));
+                    break;
+                case "birthDay":
+                    profile.setBirthDay(readInteger(in));
+                    break;
+                case "birthMonth":
+                    profile.setBirthMonth(readInteger(in));
+                    break;
+                case "birthYear":
+                    profile.setBirthYear(readInteger(in));
+                    break;
+                case "certifications":
+                    profile.setCertifications(readValue(in, CERTIFICATIONS_TYPE));
+                    break;
+                case "city":
+                    profile.setCity(readString(in));
+                    break;
+                case "country":
+                    profile.setCountry(readString(in));
+                    break;
+                case "education":
+                    profile.setEducation(readValue(in, EDUCATION_TYPE));
+                    break;
+                case "educationLevel":
+                    profile.setEducationLevel(readString(in));
+                    break;
+                case "email":
+                    profile.setEmail(readString(in));
+                    break;
+                case "favorites":
+                    profile.setFavorites(readValue(in, FAVORITES_TYPE));
+                    break;
+                case "firstName":
+                    profile.setFirstName(readString(in));
+                    break;
+                case "followersCounts":
+                    profile.setFollowersCounts(readLong(in));
+                    break;
+                case "followingCount":
+                    profile.setFollowingCount(readLong(in));
+                    break;
+                case "gender":
+                    profile.setGender(readString(in));
+                    break;
+                case "hometown":
+                    profile.setHometown(readString(in));
+                    break;
+                case "honors":
+                    profile.setHonors(readString(in));
+                    break;
+                case "industry":
+                    profile.setIndustry(readString(in));
+                    break;
+                case "interestedIn":
+                    profile.setInterestedIn(readString(in));
+                    break;
+                case "interests":
+                    profile.setInterests(readString(in));
+                    break;
+                case "languages":
+                    profile.setLanguages(readString(in));
+                    break;
+                case "lastLoginLocation":
+                    profile.setLastLoginLocation(readValue(in, Location.class));
+                    break;
+                case "lastName":
+                    profile.setLastName(readString(in));
+                    break;
+                case "likes":
+                    profile.setLikes(readValue(in, LIKES_TYPE));
+                    break;
+                case "locale":
+                    profile.setLocale(readString(in));
+                    break;
+                case "name":
+                    profile.setName(readString(in));
+                    break;
+                case "nickname":
+                    profile.setNickname(readString(in));
+                    break;
+                case "oidcData":
+                    profile.setOidcData(readValue(in, OidcData.class));
+                    break;
+                case "patents":
+                    profile.setPatents(readValue(in, PATENTS_TYPE));
+                    break;
+                case "phones":
+                    profile.setPhones(readValue(in, PHONES_TYPE));
+                    break;
+                case "photoURL":
+                    profile.setPhotoURL(readString(in));
+                    break;
+                case "politicalView":
+                    profile.setPoliticalView(readString(in));
+                    break;
+                case "professionalHeadline":
+                    profile.setProfessionalHeadline(readString(in));
+                    break;
+                case "profileURL":
+                    profile.setProfileURL(readString(in));
+                    break;
+                case "proxyEmail":
+                    profile.setProxyEmail(readString(in));
+                    break;
+                case "publications":
+                    profile.setPublications(readValue(in, PUBLICATIONS_TYPE));
+                    break;
+                case "relationshipStatus":
+                    profile.setRelationshipStatus(readString(in));
+                    break;
+                case "religion":
+                    profile.setReligion(readString(in));
+                    break;
+                case "skills":
+                    profile.setSkills(readValue(in, SKILLS_TYPE));
+                    break;
+                case "specialities":
+                    profile.setSpecialities(readString(in));
+                    break;
+                case "state":
+                    profile.setState(readString(in));
+                    break;
+                case "thumbnailURL":
+                    profile.setThumbnailURL(readString(in));
+                    break;
+                case "timezone":
+                    profile.setTimezone(readString(in));
+                    break;
+                case "username":
+                    profile.setUsername(readString(in));
+                    break;
+                case "verified":
+                    profile.setVerified(readString(in));
+                    break;
+                case "work":
+                    profile.setWork(readValue(in, WORK_TYPE));
+                    break;
+                case "zip":
+                    profile.setZip(readString(in));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return profile;
+    }
+
+    @Override
+    public void write(JsonWriter out, Profile profile) throws IOException {
+        if (profile == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        writeString(out, "activities", profile.getActivities());
+        writeString(out, "address", profile.getAddress());
+        writeInteger(out, "age", profile.getAge());
+        writeString(out, "bio", profile.getBio());
+        writeInteger(out, "birthDay", profile.getBirthDay());
+        writeInteger(out, "birthMonth", profile.getBirthMonth());
+        writeInteger(out, "birthYear", profile.getBirthYear());
+        writeValue(out, "certifications", CERTIFICATIONS_TYPE, profile.getCertifications());
+        writeString(out, "city", profile.getCity());
+        writeString(out, "country", profile.getCountry());
+        writeValue(out, "education", EDUCATION_TYPE, profile.getEducation());
+        writeString(out, "educationLevel", profile.getEducationLevel());
+        writeString(out, "email", profile.getEmail());
+        writeValue(out, "favorites", FAVORITES_TYPE, profile.getFavorites());
+        writeString(out, "firstName", profile.getFirstName());
+        writeLong(out, "followersCounts", profile.getFollowersCounts());
+        writeLong(out, "followingCount", profile.getFollowingCount());
+        writeString(out, "gender", profile.getGender());
+        writeString(out, "hometown", profile.getHometown());
+        writeString(out, "honors", profile.getHonors());
+        writeString(out, "industry", profile.getIndustry());
+        writeString(out, "interestedIn", profile.getInterestedIn());
+        writeString(out, "interests", profile.getInterests());
+        writeString(out, "languages", profile.getLanguages());
+        writeValue(out, "lastLoginLocation", profile.getLastLoginLocation());
+        writeString(out, "lastName", profile.getLastName());
+        writeValue(out, "likes", LIKES_TYPE, profile.getLikes());
+        writeString(out, "locale", profile.getLocale());
+        writeString(out, "name", profile.getName());
+        writeString(out, "nickname", profile.getNickname());
+        writeValue(out, "oidcData", profile.getOidcData());
+        writeValue(out, "patents", PATENTS_TYPE, profile.getPatents());
+        writeValue(out, "phones", PHONES_TYPE, profile.getPhones());
+        writeString(out, "photoURL", profile.getPhotoURL());
+        writeString(out, "politicalView", profile.getPoliticalView());
+        writeString(out, "professionalHeadline", profile.getProfessionalHeadline());
+        writeString(out, "profileURL", profile.getProfileURL());
+        writeString(out, "proxyEmail", profile.getProxyEmail());
+        writeValue(out, "publications", PUBLICATIONS_TYPE, profile.getPublications());
+        writeString(out, "relationshipStatus", profile.getRelationshipStatus());
+        writeString(out, "religion", profile.getReligion());
+        writeValue(out, "skills", SKILLS_TYPE, profile.getSkills());
+        writeString(out, "specialities", profile.getSpecialities());
+        writeString(out, "state", profile.getState());
+        writeString(out, "thumbnailURL", profile.getThumbnailURL());
+        writeString(out, "timezone", profile.getTimezone());
+        writeString(out, "username", profile.getUsername());
+        writeString(out, "verified", profile.getVerified());
+        writeValue(out, "work", WORK_TYPE, profile.getWork());
+        writeString(out, "zip", profile.getZip());
+        out.endObject();
+    }
+}
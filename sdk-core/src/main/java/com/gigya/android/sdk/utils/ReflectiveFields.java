@@ -0,0 +1,148 @@
+package com.gigya.android.sdk.utils;
+
+import androidx.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reflective binding of model fields not covered by a hand written adapter.
+ * <p>
+ * Used for the fields of custom account schema subclasses and for the base response model fields.
+ * Fields are bound the way GSON binds them: static, transient & synthetic fields are excluded and
+ * {@link SerializedName} names are honoured.
+ */
+final class ReflectiveFields {
+
+    final private Gson _gson;
+    final private List<Binding> _bindings;
+    final private Map<String, Binding> _byName;
+
+    private ReflectiveFields(Gson gson, List<Binding> bindings, Map<String, Binding> byName) {
+        _gson = gson;
+        _bindings = bindings;
+        _byName = byName;
+    }
+
+    /**
+     * Bind the fields declared by a class and its superclasses, up to the stop class (exclusive).
+     *
+     * @param gson     GSON instance resolving the field adapters.
+     * @param clazz    First class to bind.
+     * @param stop     Class the binding stops at. Its fields and the fields of its superclasses are not bound.
+     * @param reserved JSON names bound by the hand written adapter.
+     * @return Field bindings or null if a field cannot be bound this way (generic class, custom field adapter
+     * or duplicate name). Callers should fall back to the GSON reflective adapter.
+     */
+    @Nullable
+    static ReflectiveFields of(Gson gson, Class<?> clazz, Class<?> stop, Set<String> reserved) {
+        final List<Binding> bindings = new ArrayList<>();
+        final Map<String, Binding> byName = new HashMap<>();
+        for (Class<?> current = clazz; current != null && current != stop; current = current.getSuperclass()) {
+            if (current.getTypeParameters().length > 0) {
+                return null;
+            }
+            for (Field field : current.getDeclaredFields()) {
+                final int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+                if (field.isAnnotationPresent(JsonAdapter.class)) {
+                    return null;
+                }
+                field.setAccessible(true);
+                final Binding binding = new Binding(field);
+                for (String name : binding.names) {
+                    if (reserved.contains(name) || byName.put(name, binding) != null) {
+                        return null;
+                    }
+                }
+                bindings.add(binding);
+            }
+        }
+        return new ReflectiveFields(gson, bindings, byName);
+    }
+
+    /**
+     * Read a field value if the name is bound.
+     *
+     * @return False if the name is not bound. The value is not consumed.
+     */
+    boolean read(JsonReader in, String name, Object target) throws IOException {
+        final Binding binding = _byName.get(name);
+        if (binding == null) {
+            return false;
+        }
+        final Object value = _gson.getAdapter(binding.type).read(in);
+        // JSON null leaves primitive fields with their default value.
+        if (value != null || !binding.field.getType().isPrimitive()) {
+            try {
+                binding.field.set(target, value);
+            } catch (IllegalAccessException ex) {
+                throw new AssertionError(ex);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Write all bound fields.
+     */
+    @SuppressWarnings("unchecked")
+    void write(JsonWriter out, Object source) throws IOException {
+        for (Binding binding : _bindings) {
+            final Object value;
+            try {
+                value = binding.field.get(source);
+            } catch (IllegalAccessException ex) {
+                throw new AssertionError(ex);
+            }
+            out.name(binding.names.get(0));
+            if (value == null) {
+                out.nullValue();
+                continue;
+            }
+            // Object typed fields are written using the runtime type.
+            final TypeAdapter<Object> adapter = (TypeAdapter<Object>) (binding.field.getType() == Object.class
+                    ? _gson.getAdapter(value.getClass()) : _gson.getAdapter(binding.type));
+            adapter.write(out, value);
+        }
+    }
+
+
+    private static class Binding {
+
+        final Field field;
+        final TypeToken<?> type;
+        final List<String> names;
+
+        Binding(Field field) {
+            this.field = field;
+            this.type = TypeToken.get(field.getGenericType());
+            final SerializedName serializedName = field.getAnnotation(SerializedName.class);
+            if (serializedName == null) {
+                this.names = Collections.singletonList(field.getName());
+            } else {
+                final List<String> names = new ArrayList<>();
+                names.add(serializedName.value());
+                Collections.addAll(names, serializedName.alternate());
+                this.names = names;
+            }
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.gigya.android.sdk.GigyaLogger;
 import com.gigya.android.sdk.reporting.ReportingManager;
 
 import java.io.UnsupportedEncodingException;
+import java.net.MalformedURLException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.util.Locale;
@@ -17,44 +18,60 @@ import javax.crypto.spec.SecretKeySpec;
 
 public class SigUtils {
 
-    private static final String ENCODING_ALGORITHM = "HmacSHA1";
+    static final String ENCODING_ALGORITHM = "HmacSHA1";
 
-    @SuppressWarnings("StringBufferReplaceableByString")
     public static String getSignature(String secret, String httpMethod, String url, TreeMap<String, Object> params) {
         if (params == null || url == null || httpMethod == null || secret == null) {
             return null;
         }
         try {
-            StringBuilder normalizedUrl = new StringBuilder();
-            java.net.URL u = new java.net.URL(url);
-
-            normalizedUrl.append(u.getProtocol().toLowerCase(Locale.ENGLISH));
-            normalizedUrl.append("://");
-            normalizedUrl.append(u.getHost().toLowerCase(Locale.ENGLISH));
-            if ((u.getProtocol().toUpperCase(Locale.ENGLISH).equals("HTTP") && u.getPort() != 80 && u.getPort() != -1)
-                    || (u.getProtocol().toUpperCase(Locale.ENGLISH).equals("HTTPS") && u.getPort() != 443 && u.getPort() != -1)) {
-                normalizedUrl.append(':');
-                normalizedUrl.append(u.getPort());
-            }
-            normalizedUrl.append(u.getPath());
-
-            String baseSignature = new StringBuilder()
-                    .append(httpMethod.toUpperCase(Locale.ENGLISH))
-                    .append("&")
-                    .append(UrlUtils.urlEncode(normalizedUrl.toString()))
-                    .append("&")
-                    .append(UrlUtils.urlEncode(UrlUtils.buildEncodedQuery(params)))
-                    .toString();
-
+            final String baseSignature = getBaseSignature(httpMethod, normalizeUrl(url), params);
             return encodeSignature(baseSignature, secret);
         } catch (Exception ex) {
-            ex.printStackTrace();
-            ReportingManager.get().error(Gigya.VERSION, "core", "Exception while generating signature");
-            GigyaLogger.error("SigUtils", "getSignature: Exception while generating signature");
+            onSignatureError(ex);
         }
         return null;
     }
 
+    /**
+     * Normalize a request url for signing: lower case scheme & host, default ports removed.
+     */
+    static String normalizeUrl(String url) throws MalformedURLException {
+        StringBuilder normalizedUrl = new StringBuilder();
+        java.net.URL u = new java.net.URL(url);
+
+        normalizedUrl.append(u.getProtocol().toLowerCase(Locale.ENGLISH));
+        normalizedUrl.append("://");
+        normalizedUrl.append(u.getHost().toLowerCase(Locale.ENGLISH));
+        if ((u.getProtocol().toUpperCase(Locale.ENGLISH).equals("HTTP") && u.getPort() != 80 && u.getPort() != -1)
+                || (u.getProtocol().toUpperCase(Locale.ENGLISH).equals("HTTPS") && u.getPort() != 443 && u.getPort() != -1)) {
+            normalizedUrl.append(':');
+            normalizedUrl.append(u.getPort());
+        }
+        normalizedUrl.append(u.getPath());
+        return normalizedUrl.toString();
+    }
+
+    static String getBaseSignature(String httpMethod, String normalizedUrl, TreeMap<String, Object> params) {
+        return getBaseSignature(httpMethod, normalizedUrl, UrlUtils.buildEncodedQuery(params));
+    }
+
+    static String getBaseSignature(String httpMethod, String normalizedUrl, String query) {
+        final StringBuilder sb = new StringBuilder(query.length() + query.length() / 4 + 64)
+                .append(httpMethod.toUpperCase(Locale.ENGLISH))
+                .append('&');
+        PercentEncoder.encode(normalizedUrl, sb);
+        sb.append('&');
+        PercentEncoder.encode(query, sb);
+        return sb.toString();
+    }
+
+    static void onSignatureError(Exception ex) {
+        ex.printStackTrace();
+        ReportingManager.get().error(Gigya.VERSION, "core", "Exception while generating signature");
+        GigyaLogger.error("SigUtils", "getSignature: Exception while generating signature");
+    }
+
     private static String encodeSignature(String baseSignature, String secret) throws UnsupportedEncodingException, NoSuchAlgorithmException, InvalidKeyException {
         byte[] keyBytes = Base64.decode(secret, Base64.DEFAULT);
         byte[] textData = baseSignature.getBytes("UTF-8");
@@ -11,7 +11,6 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URL;
 import java.net.URLDecoder;
-import java.net.URLEncoder;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
@@ -30,7 +29,7 @@ public class UrlUtils {
             if (value != null) {
                 sb.append(key);
                 sb.append('=');
-                sb.append(urlEncode(String.valueOf(item.getValue())));
+                PercentEncoder.encode(String.valueOf(value), sb);
                 sb.append('&');
             }
         }
@@ -40,12 +39,10 @@ public class UrlUtils {
     }
 
     public static String urlEncode(String value) {
-        try {
-            return URLEncoder.encode(value, "UTF-8").replace("+", "%20")
-                    .replace("*", "%2A").replace("%7E", "~");
-        } catch (Exception ex) {
+        if (value == null) {
             return null;
         }
+        return PercentEncoder.encode(value);
     }
 
     public static String gzipDecode(byte[] data) throws IOException {
@@ -114,6 +111,18 @@ public class UrlUtils {
         }
     }
 
+    /**
+     * Get the host an api is sent to. Matches the host of {@link #getBaseUrl(String, Config)}.
+     */
+    public static String getHost(String api, Config config) {
+        if (config.isCnameEnabled()) {
+            return config.getCname();
+        }
+        final int namespaceEnd = api.indexOf('.');
+        final String namespace = namespaceEnd < 0 ? api : api.substring(0, namespaceEnd);
+        return namespace + "." + config.getApiDomain();
+    }
+
     public static boolean isGigyaScheme(String scheme) {
         return ObjectUtils.safeEquals(scheme, Presenter.Consts.REDIRECT_URL_SCHEME);
     }
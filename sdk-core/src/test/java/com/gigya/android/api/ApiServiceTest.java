@@ -2,8 +2,11 @@ package com.gigya.android.api;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.powermock.api.mockito.PowerMockito.doAnswer;
 import static org.powermock.api.mockito.PowerMockito.mock;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
@@ -20,6 +23,9 @@ import com.gigya.android.sdk.api.GigyaApiRequest;
 import com.gigya.android.sdk.api.GigyaApiResponse;
 import com.gigya.android.sdk.api.IApiRequestFactory;
 import com.gigya.android.sdk.api.IApiService;
+import com.gigya.android.sdk.api.INonceGenerator;
+import com.gigya.android.sdk.api.NonceGenerator;
+import com.gigya.android.sdk.api.RetryPolicy;
 import com.gigya.android.sdk.containers.IoCContainer;
 import com.gigya.android.sdk.network.GigyaError;
 import com.gigya.android.sdk.network.adapter.IRestAdapter;
@@ -41,6 +47,9 @@ import org.powermock.core.classloader.annotations.SuppressStaticInitializationFo
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 @RunWith(PowerMockRunner.class)
 @SuppressStaticInitializationFor
@@ -81,6 +90,7 @@ public class ApiServiceTest {
         container.bind(IApiRequestFactory.class, _reqFactory);
         container.bind(ISessionService.class, SessionService.class, true);
         container.bind(IRestAdapter.class, _adapter);
+        container.bind(INonceGenerator.class, NonceGenerator.class, true);
         container.bind(IApiService.class, ApiService.class, true);
 
         // Arrange
@@ -130,4 +140,122 @@ public class ApiServiceTest {
             }
         });
     }
+
+    @Test
+    public void testZeroMaxRetriesDeliversFailure() {
+        // Arrange
+        final GigyaError networkError = new GigyaError(GigyaError.Codes.ERROR_NO_NETWORK, "no network");
+        doAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                ((IRestAdapterCallback) invocation.getArgument(2)).onError(networkError);
+                return null;
+            }
+        }).when(_adapter).send(any(GigyaApiRequest.class), anyBoolean(), any(IRestAdapterCallback.class));
+
+        GigyaApiRequest mockRequest = mock(GigyaApiRequest.class);
+        when(mockRequest.getApi()).thenReturn("accounts.getAccountInfo");
+        apiService.setRetryPolicy("accounts.getAccountInfo",
+                new RetryPolicy(0, 0, 0, Collections.singleton(GigyaError.Codes.ERROR_NO_NETWORK), false));
+        final GigyaError[] delivered = new GigyaError[1];
+
+        // Act
+        apiService.send(mockRequest, false, new ApiService.IApiServiceResponse() {
+            @Override
+            public void onApiSuccess(GigyaApiResponse response) {
+                // Redundant.
+            }
+
+            @Override
+            public void onApiError(GigyaError gigyaError) {
+                delivered[0] = gigyaError;
+            }
+        });
+
+        // Assert
+        verify(_adapter, times(1)).send(any(GigyaApiRequest.class), anyBoolean(), any(IRestAdapterCallback.class));
+        assertEquals(networkError, delivered[0]);
+    }
+
+    @Test
+    public void testCancelNotifiesCancellableResponse() {
+        // Arrange
+        final IRestAdapterCallback[] inFlight = new IRestAdapterCallback[1];
+        doAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                inFlight[0] = invocation.getArgument(2);
+                return null;
+            }
+        }).when(_adapter).send(any(GigyaApiRequest.class), anyBoolean(), any(IRestAdapterCallback.class));
+
+        GigyaApiRequest mockRequest = mock(GigyaApiRequest.class);
+        when(mockRequest.getApi()).thenReturn("accounts.getAccountInfo");
+        when(mockRequest.getTag()).thenReturn("accounts.getAccountInfo");
+        final List<String> events = new ArrayList<>();
+
+        // Act
+        apiService.send(mockRequest, false, new ApiService.ICancellableResponse() {
+            @Override
+            public void onCancelled(boolean byTag) {
+                events.add("cancelled:" + byTag);
+            }
+
+            @Override
+            public void onApiSuccess(GigyaApiResponse response) {
+                events.add("success");
+            }
+
+            @Override
+            public void onApiError(GigyaError gigyaError) {
+                events.add("error");
+            }
+        });
+        apiService.cancel(mockRequest);
+        // Late completion of the cancelled request.
+        inFlight[0].onError(GigyaError.unauthorizedUser());
+
+        // Assert
+        verify(_adapter).cancel(mockRequest);
+        assertEquals(Collections.singletonList("cancelled:false"), events);
+    }
+
+    @Test
+    public void testCancelDropsPendingRetry() {
+        // Arrange
+        final GigyaError networkError = new GigyaError(GigyaError.Codes.ERROR_NO_NETWORK, "no network");
+        doAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                ((IRestAdapterCallback) invocation.getArgument(2)).onError(networkError);
+                return null;
+            }
+        }).when(_adapter).send(any(GigyaApiRequest.class), anyBoolean(), any(IRestAdapterCallback.class));
+
+        GigyaApiRequest mockRequest = mock(GigyaApiRequest.class);
+        when(mockRequest.getApi()).thenReturn("accounts.getAccountInfo");
+        when(mockRequest.getTag()).thenReturn("accounts.getAccountInfo");
+        // Long backoff keeps the retry pending.
+        apiService.setRetryPolicy("accounts.getAccountInfo",
+                new RetryPolicy(2, 60000, 60000, Collections.singleton(GigyaError.Codes.ERROR_NO_NETWORK), false));
+        final List<String> events = new ArrayList<>();
+
+        // Act
+        apiService.send(mockRequest, false, new ApiService.IApiServiceResponse() {
+            @Override
+            public void onApiSuccess(GigyaApiResponse response) {
+                events.add("success");
+            }
+
+            @Override
+            public void onApiError(GigyaError gigyaError) {
+                events.add("error");
+            }
+        });
+        apiService.cancel("accounts.getAccountInfo");
+
+        // Assert
+        verify(_adapter, times(1)).send(any(GigyaApiRequest.class), anyBoolean(), any(IRestAdapterCallback.class));
+        assertTrue(events.isEmpty());
+    }
 }
@@ -39,15 +39,21 @@ import org.mockito.stubbing.Answer;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import static junit.framework.TestCase.assertNotNull;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.powermock.api.mockito.PowerMockito.doAnswer;
 import static org.powermock.api.mockito.PowerMockito.mock;
 import static org.powermock.api.mockito.PowerMockito.when;
@@ -265,6 +271,92 @@ public class BusinessApiServiceTest {
         });
     }
 
+    @Test
+    public void testSendCoalescesIdenticalInFlightRequests() throws IllegalAccessException, InvocationTargetException, InstantiationException {
+        // Arrange
+        final GigyaApiRequest request = new GigyaApiRequest(RestAdapter.HttpMethod.POST, GigyaDefinitions.API.API_GET_SCHEMA, new TreeMap<String, Object>());
+        when(_reqFactory.create(anyString(), (Map<String, Object>) any(), (RestAdapter.HttpMethod) any())).thenReturn(request);
+
+        final GigyaApiResponse response = new GigyaApiResponse(StaticMockFactory.getMockResponseJson());
+        final ApiService.IApiServiceResponse[] inFlight = new ApiService.IApiServiceResponse[1];
+        final List<GigyaApiResponse> delivered = new ArrayList<>();
+
+        // Act
+        IBusinessApiService service = container.get(IBusinessApiService.class);
+        doAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                inFlight[0] = invocation.getArgument(2);
+                return null;
+            }
+        }).when(_apiService).send(any(GigyaApiRequest.class), anyBoolean(), any(ApiService.IApiServiceResponse.class));
+        final GigyaCallback<GigyaApiResponse> callback = new GigyaCallback<GigyaApiResponse>() {
+            @Override
+            public void onSuccess(GigyaApiResponse obj) {
+                delivered.add(obj);
+            }
+
+            @Override
+            public void onError(GigyaError error) {
+                // Redundant.
+            }
+        };
+        service.send(GigyaDefinitions.API.API_GET_SCHEMA, params, RestAdapter.POST, GigyaApiResponse.class, callback);
+        service.send(GigyaDefinitions.API.API_GET_SCHEMA, params, RestAdapter.POST, GigyaApiResponse.class, callback);
+        inFlight[0].onApiSuccess(response);
+
+        // Assert
+        verify(_apiService, times(1)).send(any(GigyaApiRequest.class), anyBoolean(), any(ApiService.IApiServiceResponse.class));
+        assertEquals(2, delivered.size());
+        assertNotSame(delivered.get(0), delivered.get(1));
+        assertEquals(delivered.get(0).asJson(), delivered.get(1).asJson());
+        assertEquals(1, service.getRequestCoalescer().getDispatchedCount());
+        assertEquals(1, service.getRequestCoalescer().getCoalescedCount());
+    }
+
+    @Test
+    public void testCancelledCoalescedRequestReleasesParkedCallers() throws IllegalAccessException, InvocationTargetException, InstantiationException {
+        // Arrange
+        final GigyaApiRequest request = new GigyaApiRequest(RestAdapter.HttpMethod.POST, GigyaDefinitions.API.API_GET_SCHEMA, new TreeMap<String, Object>());
+        when(_reqFactory.create(anyString(), (Map<String, Object>) any(), (RestAdapter.HttpMethod) any())).thenReturn(request);
+
+        final List<ApiService.IApiServiceResponse> dispatched = new ArrayList<>();
+        final List<GigyaError> errors = new ArrayList<>();
+
+        IBusinessApiService service = container.get(IBusinessApiService.class);
+        doAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                dispatched.add((ApiService.IApiServiceResponse) invocation.getArgument(2));
+                return null;
+            }
+        }).when(_apiService).send(any(GigyaApiRequest.class), anyBoolean(), any(ApiService.IApiServiceResponse.class));
+        final GigyaCallback<GigyaApiResponse> callback = new GigyaCallback<GigyaApiResponse>() {
+            @Override
+            public void onSuccess(GigyaApiResponse obj) {
+                // Redundant.
+            }
+
+            @Override
+            public void onError(GigyaError error) {
+                errors.add(error);
+            }
+        };
+        service.send(GigyaDefinitions.API.API_GET_SCHEMA, params, RestAdapter.POST, GigyaApiResponse.class, callback);
+        service.send(GigyaDefinitions.API.API_GET_SCHEMA, params, RestAdapter.POST, GigyaApiResponse.class, callback);
+
+        // Act
+        // Cancel of the dispatching request only.
+        ((ApiService.ICancellableResponse) dispatched.get(0)).onCancelled(false);
+        service.send(GigyaDefinitions.API.API_GET_SCHEMA, params, RestAdapter.POST, GigyaApiResponse.class, callback);
+
+        // Assert
+        assertEquals(1, errors.size());
+        assertEquals(GigyaError.cancelledOperation().getErrorCode(), errors.get(0).getErrorCode());
+        // The cancelled entry is no longer joined.
+        assertEquals(2, dispatched.size());
+    }
+
     @Test
     public void testLogout() throws IllegalAccessException, InvocationTargetException, InstantiationException {
 
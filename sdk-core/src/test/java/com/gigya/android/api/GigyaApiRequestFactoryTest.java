@@ -1,14 +1,19 @@
 package com.gigya.android.api;
 
 import android.content.Context;
+import android.text.TextUtils;
 
 import com.gigya.android.StaticMockFactory;
 import com.gigya.android.sdk.Config;
 import com.gigya.android.sdk.Gigya;
+import com.gigya.android.sdk.GigyaDefinitions;
+import com.gigya.android.sdk.account.GigyaAccountConfig;
 import com.gigya.android.sdk.api.GigyaApiHttpRequest;
 import com.gigya.android.sdk.api.GigyaApiRequest;
 import com.gigya.android.sdk.api.GigyaApiRequestFactory;
 import com.gigya.android.sdk.api.IApiRequestFactory;
+import com.gigya.android.sdk.api.INonceGenerator;
+import com.gigya.android.sdk.api.NonceGenerator;
 import com.gigya.android.sdk.containers.IoCContainer;
 import com.gigya.android.sdk.encryption.ISecureKey;
 import com.gigya.android.sdk.network.adapter.RestAdapter;
@@ -21,6 +26,9 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.lang.reflect.InvocationTargetException;
@@ -28,10 +36,15 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
 import static junit.framework.TestCase.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
 import static org.powermock.api.mockito.PowerMockito.when;
 
 @RunWith(PowerMockRunner.class)
+@PrepareForTest({TextUtils.class})
 public class GigyaApiRequestFactoryTest {
 
     @Mock
@@ -60,6 +73,7 @@ public class GigyaApiRequestFactoryTest {
         container.bind(IPersistenceService.class, PersistenceService.class, true);
         container.bind(ISecureKey.class, _secureKey);
         container.bind(ISessionService.class, _sessionService);
+        container.bind(INonceGenerator.class, NonceGenerator.class, true);
         container.bind(IApiRequestFactory.class, GigyaApiRequestFactory.class, true);
 
         params = new HashMap<>();
@@ -108,4 +122,46 @@ public class GigyaApiRequestFactoryTest {
                 httpRequest.getEncodedParams());
     }
 
+    @Test
+    public void testTemplateInvalidatedOnConfigChange() throws IllegalAccessException, InvocationTargetException, InstantiationException {
+        // Arrange
+        mockStatic(TextUtils.class);
+        when(TextUtils.join(anyString(), (Object[]) any())).thenAnswer(new Answer<String>() {
+            @Override
+            public String answer(InvocationOnMock invocation) {
+                final Object[] tokens = (Object[]) invocation.getArguments()[1];
+                final StringBuilder sb = new StringBuilder();
+                for (Object token : tokens) {
+                    if (sb.length() > 0) {
+                        sb.append(invocation.getArguments()[0]);
+                    }
+                    sb.append(token);
+                }
+                return sb.toString();
+            }
+        });
+        final GigyaAccountConfig accountConfig = new GigyaAccountConfig();
+        accountConfig.setInclude(new String[]{"profile", "data"});
+        final GigyaAccountConfig updatedAccountConfig = new GigyaAccountConfig();
+        updatedAccountConfig.setInclude(new String[]{"emails"});
+        when(_config.getApiKey()).thenReturn(StaticMockFactory.API_KEY);
+        when(_config.getGigyaAccountConfig()).thenReturn(accountConfig);
+        when(_config.getVersion()).thenReturn(1);
+        final IApiRequestFactory factory = container.get(IApiRequestFactory.class);
+        // Act
+        final GigyaApiRequest first = factory.create(GigyaDefinitions.API.API_GET_ACCOUNT_INFO, params, RestAdapter.HttpMethod.POST);
+        when(_config.getGigyaAccountConfig()).thenReturn(updatedAccountConfig);
+        final GigyaApiRequest cached = factory.create(GigyaDefinitions.API.API_GET_ACCOUNT_INFO, params, RestAdapter.HttpMethod.POST);
+        when(_config.getVersion()).thenReturn(2);
+        final GigyaApiRequest updated = factory.create(GigyaDefinitions.API.API_GET_ACCOUNT_INFO, params, RestAdapter.HttpMethod.POST);
+        params.put("include", "custom");
+        final GigyaApiRequest custom = factory.create(GigyaDefinitions.API.API_GET_ACCOUNT_INFO, params, RestAdapter.HttpMethod.POST);
+        // Assert
+        assertEquals("profile,data", first.getParams().get("include"));
+        assertEquals("profile,data", cached.getParams().get("include"));
+        assertEquals("emails", updated.getParams().get("include"));
+        assertEquals("custom", custom.getParams().get("include"));
+        assertEquals(StaticMockFactory.API_KEY, updated.getParams().get("apiKey"));
+        assertFalse(first.getParams().get("nonce").equals(updated.getParams().get("nonce")));
+    }
 }
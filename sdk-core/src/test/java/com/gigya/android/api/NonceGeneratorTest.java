@@ -0,0 +1,46 @@
+package com.gigya.android.api;
+
+import com.gigya.android.sdk.api.NonceGenerator;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.assertTrue;
+
+public class NonceGeneratorTest {
+
+    @Test
+    public void testNonceFormat() {
+        // Arrange
+        final NonceGenerator generator = new NonceGenerator();
+        // Act
+        final String nonce = generator.nextNonce();
+        // Assert
+        assertTrue(nonce, nonce.matches("\\d+_\\d+"));
+    }
+
+    @Test
+    public void testNoncesAreUnique() {
+        // Arrange
+        final NonceGenerator generator = new NonceGenerator();
+        final Set<String> nonces = new HashSet<>();
+        // Act
+        for (int i = 0; i < 10000; i++) {
+            nonces.add(generator.nextNonce());
+        }
+        // Assert
+        assertEquals(10000, nonces.size());
+    }
+
+    @Test
+    public void testRandomIsShared() {
+        // Arrange
+        final NonceGenerator generator = new NonceGenerator();
+        // Act & Assert
+        assertSame(generator.getRandom(), generator.getRandom());
+    }
+}
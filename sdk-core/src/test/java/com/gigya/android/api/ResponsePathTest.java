@@ -0,0 +1,101 @@
+package com.gigya.android.api;
+
+import com.gigya.android.sdk.api.ResponsePath;
+import com.gigya.android.sdk.session.SessionInfo;
+import com.google.gson.Gson;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.assertTrue;
+
+public class ResponsePathTest {
+
+    private final Gson _gson = new Gson();
+
+    private Map<String, Object> _root;
+
+    @Before
+    public void setup() {
+        final Map<String, Object> sessionInfo = new HashMap<>();
+        sessionInfo.put("sessionToken", "someToken");
+        sessionInfo.put("sessionSecret", "someSecret");
+        sessionInfo.put("expires_in", 0);
+
+        final Map<String, Object> profile = new HashMap<>();
+        profile.put("firstName", "Some");
+        profile.put("age", 42);
+
+        _root = new HashMap<>();
+        _root.put("gcid", "someGcid");
+        _root.put("refreshTime", 1500000000);
+        _root.put("ratio", 0.5);
+        _root.put("isAvailable", true);
+        _root.put("profile", profile);
+        _root.put("sessionInfo", sessionInfo);
+    }
+
+    @Test
+    public void testCompileCached() {
+        // Act & Assert
+        assertSame(ResponsePath.compile("profile.firstName"), ResponsePath.compile("profile.firstName"));
+        assertEquals("profile.firstName", ResponsePath.compile("profile.firstName").getPath());
+    }
+
+    @Test
+    public void testIsPresent() {
+        // Act & Assert
+        assertTrue(ResponsePath.compile("gcid").isPresent(_root));
+        assertTrue(ResponsePath.compile("profile").isPresent(_root));
+        assertTrue(ResponsePath.compile("profile.firstName").isPresent(_root));
+        assertFalse(ResponsePath.compile("profile.none").isPresent(_root));
+        assertFalse(ResponsePath.compile("none.firstName").isPresent(_root));
+        assertFalse(ResponsePath.compile("profile.firstName.none").isPresent(_root));
+    }
+
+    @Test
+    public void testResolvePrimitives() {
+        // Act & Assert
+        assertEquals("someGcid", ResponsePath.compile("gcid").resolve(_root, String.class, _gson));
+        assertEquals(Long.valueOf(1500000000L), ResponsePath.compile("refreshTime").resolve(_root, Long.class, _gson));
+        assertEquals(Double.valueOf(0.5), ResponsePath.compile("ratio").resolve(_root, Double.class, _gson));
+        assertEquals(Boolean.TRUE, ResponsePath.compile("isAvailable").resolve(_root, Boolean.class, _gson));
+        assertEquals("42", ResponsePath.compile("profile.age").resolve(_root, String.class, _gson));
+        assertEquals(Integer.valueOf(42), ResponsePath.compile("profile.age").resolve(_root, Integer.class, _gson));
+    }
+
+    @Test
+    public void testResolveMissing() {
+        // Act & Assert
+        assertNull(ResponsePath.compile("none").resolve(_root, String.class, _gson));
+        assertNull(ResponsePath.compile("gcid.none").resolve(_root, String.class, _gson));
+    }
+
+    @Test
+    public void testResolveObject() {
+        // Act
+        final SessionInfo sessionInfo = ResponsePath.compile("sessionInfo").resolve(_root, SessionInfo.class, _gson);
+
+        // Assert
+        assertEquals("someToken", sessionInfo.getSessionToken());
+        assertEquals("someSecret", sessionInfo.getSessionSecret());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testResolveMapIsCopy() {
+        // Act
+        final Map<String, Object> profile = ResponsePath.compile("profile").resolve(_root, HashMap.class, _gson);
+        profile.put("firstName", "Other");
+
+        // Assert
+        assertEquals("Some", ((Map<String, Object>) _root.get("profile")).get("firstName"));
+    }
+}
@@ -19,6 +19,8 @@ import com.gigya.android.sdk.api.GigyaApiRequest;
 import com.gigya.android.sdk.api.GigyaApiResponse;
 import com.gigya.android.sdk.api.IApiRequestFactory;
 import com.gigya.android.sdk.api.IApiService;
+import com.gigya.android.sdk.api.INonceGenerator;
+import com.gigya.android.sdk.api.NonceGenerator;
 import com.gigya.android.sdk.api.RetryDispatcher;
 import com.gigya.android.sdk.containers.IoCContainer;
 import com.gigya.android.sdk.network.GigyaError;
@@ -73,6 +75,7 @@ public class RetryDispatcherTest {
         container.bind(IApiRequestFactory.class, _reqFactory);
         container.bind(ISessionService.class, SessionService.class, true);
         container.bind(IRestAdapter.class, _adapter);
+        container.bind(INonceGenerator.class, NonceGenerator.class, true);
         container.bind(IApiService.class, ApiService.class, true);
     }
 
@@ -112,7 +115,7 @@ public class RetryDispatcherTest {
                     }
 
                     @Override
-                    public void onUpdateDate(String date) {
+                    public void onUpdateDate(String date, long sentAt) {
                         System.out.println();
 
                         // Assert.
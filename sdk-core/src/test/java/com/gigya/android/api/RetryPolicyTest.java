@@ -0,0 +1,91 @@
+package com.gigya.android.api;
+
+import com.gigya.android.sdk.Config;
+import com.gigya.android.sdk.GigyaDefinitions;
+import com.gigya.android.sdk.api.RetryBudget;
+import com.gigya.android.sdk.api.RetryPolicies;
+import com.gigya.android.sdk.api.RetryPolicy;
+import com.gigya.android.sdk.network.GigyaError;
+import com.gigya.android.sdk.network.GigyaNetworkConfig;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+public class RetryPolicyTest {
+
+    @Test
+    public void testDecorrelatedJitterBounds() {
+        // Arrange
+        final GigyaNetworkConfig networkConfig = new GigyaNetworkConfig();
+        networkConfig.setRetryBaseDelayMillis(100);
+        networkConfig.setRetryMaxDelayMillis(1000);
+        final RetryPolicy policy = RetryPolicy.idempotent(networkConfig);
+        final Random random = new Random(42);
+
+        // Act & Assert
+        long delay = 0;
+        for (int i = 0; i < 50; i++) {
+            final long next = policy.nextDelay(delay, random);
+            assertTrue(next >= 100);
+            assertTrue(next <= Math.min(1000, Math.max(100, delay * 3)));
+            delay = next;
+        }
+    }
+
+    @Test
+    public void testRetryableCodesByIdempotencyClass() {
+        // Arrange
+        final RetryPolicies policies = new RetryPolicies(new Config());
+
+        // Act
+        final RetryPolicy read = policies.forApi(GigyaDefinitions.API.API_GET_ACCOUNT_INFO);
+        final RetryPolicy write = policies.forApi(GigyaDefinitions.API.API_LOGIN);
+
+        // Assert
+        assertTrue(read.isRetryable(GigyaError.Codes.ERROR_NO_NETWORK));
+        assertTrue(read.isRetryable(503));
+        assertTrue(read.isRetryable(GigyaError.Codes.ERROR_GENERAL_SERVER));
+        assertTrue(write.isRetryable(GigyaError.Codes.ERROR_NO_NETWORK));
+        assertFalse(write.isRetryable(403048));
+        assertFalse(read.isRetryable(403048));
+        assertFalse(read.isRetryable(429));
+        assertFalse(read.isRetryable(GigyaError.Codes.ERROR_NETWORK));
+        assertFalse(write.isRetryable(503));
+        assertFalse(write.isRetryable(GigyaError.Codes.ERROR_GENERAL_SERVER));
+        assertFalse(read.isRetryable(400001));
+    }
+
+    @Test
+    public void testRegisteredPolicyOverridesDefault() {
+        // Arrange
+        final RetryPolicies policies = new RetryPolicies(new Config());
+
+        // Act
+        policies.setPolicy(GigyaDefinitions.API.API_GET_ACCOUNT_INFO, RetryPolicy.none());
+
+        // Assert
+        assertFalse(policies.forApi(GigyaDefinitions.API.API_GET_ACCOUNT_INFO).isRetryable(GigyaError.Codes.ERROR_NO_NETWORK));
+        assertEquals(0, policies.forApi(GigyaDefinitions.API.API_GET_ACCOUNT_INFO).getMaxRetries());
+    }
+
+    @Test
+    public void testRetryBudget() {
+        // Arrange
+        final RetryBudget budget = new RetryBudget(2);
+
+        // Act & Assert
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+        for (int i = 0; i < 10; i++) {
+            budget.onRequest(0.1);
+        }
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+    }
+}
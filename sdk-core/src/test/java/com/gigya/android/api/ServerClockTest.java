@@ -0,0 +1,121 @@
+package com.gigya.android.api;
+
+import com.gigya.android.sdk.Config;
+import com.gigya.android.sdk.api.ServerClock;
+import com.gigya.android.sdk.persistence.IPersistenceService;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNull;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(PowerMockRunner.class)
+public class ServerClockTest {
+
+    private static final long SERVER_MILLIS = 1572510016000L;
+
+    /*
+    Date header of SERVER_MILLIS.
+     */
+    private static final String DATE_HEADER = "Thu, 31 Oct 2019 08:20:16 GMT";
+
+    private static final String NEXT_DATE_HEADER = "Thu, 31 Oct 2019 08:20:26 GMT";
+
+    @Mock
+    IPersistenceService _psService;
+
+    private Config _config;
+
+    private ServerClock _clock;
+
+    @Before
+    public void setup() {
+        _config = new Config();
+        _clock = new ServerClock(_config, _psService);
+    }
+
+    @Test
+    public void testFirstSampleUsesRoundTripMidpoint() {
+        // Act
+        _clock.update(DATE_HEADER, SERVER_MILLIS - 62000, SERVER_MILLIS - 58000, false);
+        // Assert
+        assertEquals(60000L, _clock.getOffsetMillis());
+        assertEquals(60L, (long) _config.getServerOffset());
+        verify(_psService).setServerOffset(60000L);
+    }
+
+    @Test
+    public void testSlowSampleIsSmoothed() {
+        // Arrange
+        _clock.update(DATE_HEADER, SERVER_MILLIS - 60100, SERVER_MILLIS - 59900, false);
+        // Act
+        // 3 seconds away from the estimate with a 4 second round trip.
+        _clock.update(NEXT_DATE_HEADER, SERVER_MILLIS + 10000 - 65000, SERVER_MILLIS + 10000 - 61000, false);
+        // Assert
+        assertEquals(60150L, _clock.getOffsetMillis());
+        assertEquals(60L, (long) _config.getServerOffset());
+        verify(_psService, times(1)).setServerOffset(anyLong());
+    }
+
+    @Test
+    public void testClockChangeReplacesEstimate() {
+        // Arrange
+        _clock.update(DATE_HEADER, SERVER_MILLIS - 60000, SERVER_MILLIS - 60000, false);
+        // Act
+        _clock.update(NEXT_DATE_HEADER, SERVER_MILLIS + 10000 + 3600000, SERVER_MILLIS + 10000 + 3600000, false);
+        // Assert
+        assertEquals(-3600L, (long) _config.getServerOffset());
+    }
+
+    @Test
+    public void testResetReplacesEstimate() {
+        // Arrange
+        _clock.update(DATE_HEADER, SERVER_MILLIS - 60000, SERVER_MILLIS - 60000, false);
+        // Act
+        _clock.update(NEXT_DATE_HEADER, SERVER_MILLIS + 10000 - 57000, SERVER_MILLIS + 10000 - 57000, true);
+        // Assert
+        assertEquals(57L, (long) _config.getServerOffset());
+    }
+
+    @Test
+    public void testInvalidHeaderIsIgnored() {
+        // Act
+        _clock.update("invalid", SERVER_MILLIS, SERVER_MILLIS, false);
+        // Assert
+        assertNull(_config.getServerOffset());
+        verify(_psService, never()).setServerOffset(anyLong());
+    }
+
+    @Test
+    public void testRestorePersistedOffset() {
+        // Arrange
+        when(_psService.getServerOffset()).thenReturn(-2724500L);
+        // Act
+        _clock.restore();
+        // Assert
+        assertEquals(-2724L, (long) _config.getServerOffset());
+        // First live sample replaces the restored offset.
+        _clock.update(DATE_HEADER, SERVER_MILLIS - 1000, SERVER_MILLIS - 1000, false);
+        assertEquals(1L, (long) _config.getServerOffset());
+    }
+
+    @Test
+    public void testRestoreKeepsExistingOffset() {
+        // Arrange
+        _config.setServerOffset(5L);
+        when(_psService.getServerOffset()).thenReturn(-2724500L);
+        // Act
+        _clock.restore();
+        // Assert
+        assertEquals(5L, (long) _config.getServerOffset());
+    }
+}
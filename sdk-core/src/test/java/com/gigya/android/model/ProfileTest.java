@@ -1,7 +1,9 @@
 package com.gigya.android.model;
 
 import com.gigya.android.sdk.account.models.GigyaAccount;
+import com.gigya.android.sdk.account.models.Phone;
 import com.gigya.android.sdk.utils.AccountGSONDeserializer;
+import com.gigya.android.sdk.utils.GsonRegistry;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
@@ -179,5 +181,56 @@ public class ProfileTest {
         assertEquals("office", account.getProfile().getPatents().get(0).getOffice());
     }
 
+    private static final String OBJECT_FIELDS_ACCOUNT_JSON = "{\n" +
+            "  \"UID\": \"someUID\",\n" +
+            "  \"isRegistered\": true,\n" +
+            "  \"data\": {\"terms\": true, \"phones\": {\"number\": \"not a profile field\"}},\n" +
+            "  \"profile\": {\n" +
+            "    \"firstName\": \"Some\",\n" +
+            "    \"certifications\": {\"name\": \"certification\", \"authority\": \"authority\"},\n" +
+            "    \"education\": {\"school\": \"school\", \"degree\": \"degree\"},\n" +
+            "    \"favorites\": {\"music\": [{\"id\": \"music id 1\"}]},\n" +
+            "    \"likes\": [{\"name\": \"Like name 1\"}, {\"name\": \"Like name 2\"}],\n" +
+            "    \"patents\": {\"title\": \"title\"},\n" +
+            "    \"phones\": {\"number\": \"+1 555 0100\", \"type\": \"mobile\"},\n" +
+            "    \"publications\": [],\n" +
+            "    \"skills\": {\"skill\": \"java\", \"level\": \"advanced\"},\n" +
+            "    \"work\": {\"company\": \"company\", \"title\": \"title\"}\n" +
+            "  }\n" +
+            "}";
 
+    @Test
+    public void testStreamingParserMatchesTreeParser() {
+        // Act
+        final GigyaAccount tree = gson.fromJson(OBJECT_FIELDS_ACCOUNT_JSON, GigyaAccount.class);
+        final GigyaAccount streamed = GsonRegistry.getInstance().getAccountGson().fromJson(OBJECT_FIELDS_ACCOUNT_JSON, GigyaAccount.class);
+
+        // Assert
+        final Gson plain = new Gson();
+        assertEquals(plain.toJson(tree), plain.toJson(streamed));
+        assertEquals(1, streamed.getProfile().getPhones().size());
+        assertEquals("+1 555 0100", streamed.getProfile().getPhones().get(0).getNumber());
+        assertEquals(2, streamed.getProfile().getLikes().size());
+        assertEquals("company", streamed.getProfile().getWork().get(0).getCompany());
+    }
+
+    public static class PhoneBookAccount extends GigyaAccount {
+
+        List<Phone> backupPhones;
+    }
+
+    @Test
+    public void testStreamingParserAccountSubclass() {
+        // Arrange
+        final String json = "{\"UID\": \"someUID\", \"backupPhones\": {\"number\": \"+1 555 0101\"}," +
+                " \"profile\": {\"phones\": [{\"number\": \"+1 555 0100\"}]}}";
+
+        // Act
+        final PhoneBookAccount account = GsonRegistry.getInstance().getAccountGson().fromJson(json, PhoneBookAccount.class);
+
+        // Assert
+        assertEquals("someUID", account.getUID());
+        assertEquals("+1 555 0100", account.getProfile().getPhones().get(0).getNumber());
+        assertEquals("+1 555 0101", account.backupPhones.get(0).getNumber());
+    }
 }
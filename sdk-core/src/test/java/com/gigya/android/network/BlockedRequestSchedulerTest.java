@@ -0,0 +1,235 @@
+package com.gigya.android.network;
+
+import com.gigya.android.sdk.Config;
+import com.gigya.android.sdk.GigyaDefinitions;
+import com.gigya.android.sdk.api.GigyaApiRequest;
+import com.gigya.android.sdk.network.GigyaError;
+import com.gigya.android.sdk.network.GigyaNetworkConfig;
+import com.gigya.android.sdk.network.adapter.INetworkEventListener;
+import com.gigya.android.sdk.network.adapter.IRestAdapterCallback;
+import com.gigya.android.sdk.network.adapter.NetworkProvider;
+import com.gigya.android.sdk.network.adapter.NetworkWorkerPool;
+import com.gigya.android.sdk.network.adapter.RestAdapter;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+
+public class BlockedRequestSchedulerTest {
+
+    /*
+    Worker pool running tasks on the calling thread.
+     */
+    private static class DirectWorkerPool extends NetworkWorkerPool {
+
+        DirectWorkerPool(Config config) {
+            super(config);
+        }
+
+        @Override
+        public boolean execute(Runnable task) {
+            task.run();
+            return true;
+        }
+    }
+
+    /*
+    Provider recording dispatched requests without sending them.
+     */
+    private static class RecordingProvider extends NetworkProvider {
+
+        final List<GigyaApiRequest> dispatched = new ArrayList<>();
+        final List<IRestAdapterCallback> callbacks = new ArrayList<>();
+
+        String failingApi;
+
+        RecordingProvider(Config config) {
+            super(null, config, new DirectWorkerPool(config));
+        }
+
+        @Override
+        public void addToQueue(GigyaApiRequest request, IRestAdapterCallback networkCallbacks) {
+            if (_blocked) {
+                enqueueBlocked(request, networkCallbacks);
+                return;
+            }
+            dispatch(request, networkCallbacks);
+        }
+
+        @Override
+        public void addToQueueUnsigned(GigyaApiRequest request, IRestAdapterCallback networkCallbacks) {
+            dispatch(request, networkCallbacks);
+        }
+
+        @Override
+        public void sendBlocking(GigyaApiRequest request, IRestAdapterCallback networkCallbacks) {
+            dispatch(request, networkCallbacks);
+            _blocked = true;
+        }
+
+        @Override
+        protected void dispatch(GigyaApiRequest request, IRestAdapterCallback networkCallbacks) {
+            if (request.getApi().equals(failingApi)) {
+                throw new IllegalStateException("Signing failed");
+            }
+            dispatched.add(request);
+            callbacks.add(networkCallbacks);
+        }
+
+        @Override
+        public void cancel(String tag) {
+            cancelQueued(tag);
+        }
+
+        @Override
+        public void cancel(GigyaApiRequest request) {
+            cancelQueued(request);
+        }
+    }
+
+    private static final IRestAdapterCallback NO_OP = new IRestAdapterCallback() {
+        @Override
+        public void onResponse(String jsonResponse, String responseDateHeader) {
+            // Redundant.
+        }
+
+        @Override
+        public void onError(GigyaError gigyaError) {
+            // Redundant.
+        }
+    };
+
+    private RecordingProvider provider;
+
+    @Before
+    public void setup() {
+        final GigyaNetworkConfig networkConfig = new GigyaNetworkConfig();
+        networkConfig.setReleaseMaxConcurrency(2);
+        networkConfig.setReleasePacingMillis(0);
+        final Config config = new Config();
+        config.setGigyaNetworkConfig(networkConfig);
+        config.setCallbackExecutor(new Executor() {
+            @Override
+            public void execute(Runnable runnable) {
+                runnable.run();
+            }
+        });
+        provider = new RecordingProvider(config);
+    }
+
+    private GigyaApiRequest request(String api) {
+        return new GigyaApiRequest(RestAdapter.HttpMethod.POST, api, new TreeMap<String, Object>());
+    }
+
+    @Test
+    public void testReleaseByPriority() {
+        // Arrange
+        provider.block();
+        provider.addToQueue(request(GigyaDefinitions.API.API_VERIFY_LOGIN), NO_OP);
+        provider.addToQueue(request(GigyaDefinitions.API.API_GET_ACCOUNT_INFO), NO_OP);
+        provider.addToQueue(request(GigyaDefinitions.API.API_LOGIN), NO_OP);
+
+        // Act
+        provider.release();
+        provider.callbacks.get(0).onResponse("{}", null);
+
+        // Assert
+        assertEquals(3, provider.dispatched.size());
+        assertEquals(GigyaDefinitions.API.API_LOGIN, provider.dispatched.get(0).getApi());
+        assertEquals(GigyaDefinitions.API.API_GET_ACCOUNT_INFO, provider.dispatched.get(1).getApi());
+        assertEquals(GigyaDefinitions.API.API_VERIFY_LOGIN, provider.dispatched.get(2).getApi());
+    }
+
+    @Test
+    public void testReleaseWithMaxConcurrency() {
+        // Arrange
+        provider.block();
+        for (int i = 0; i < 5; i++) {
+            provider.addToQueue(request(GigyaDefinitions.API.API_GET_ACCOUNT_INFO), NO_OP);
+        }
+
+        // Act
+        provider.release();
+
+        // Assert
+        assertEquals(2, provider.dispatched.size());
+        provider.callbacks.get(0).onError(GigyaError.generalError());
+        assertEquals(3, provider.dispatched.size());
+    }
+
+    @Test
+    public void testDispatchFailureFreesSlot() {
+        // Arrange
+        final List<GigyaError> errors = new ArrayList<>();
+        final IRestAdapterCallback errorRecorder = new IRestAdapterCallback() {
+            @Override
+            public void onResponse(String jsonResponse, String responseDateHeader) {
+                // Redundant.
+            }
+
+            @Override
+            public void onError(GigyaError gigyaError) {
+                errors.add(gigyaError);
+            }
+        };
+        provider.failingApi = GigyaDefinitions.API.API_GET_SCHEMA;
+        provider.block();
+        provider.addToQueue(request(GigyaDefinitions.API.API_GET_SCHEMA), errorRecorder);
+        provider.addToQueue(request(GigyaDefinitions.API.API_GET_SCHEMA), errorRecorder);
+        provider.addToQueue(request(GigyaDefinitions.API.API_GET_ACCOUNT_INFO), NO_OP);
+
+        // Act
+        provider.release();
+
+        // Assert
+        assertEquals(2, errors.size());
+        assertEquals(1, provider.dispatched.size());
+        assertEquals(GigyaDefinitions.API.API_GET_ACCOUNT_INFO, provider.dispatched.get(0).getApi());
+    }
+
+    @Test
+    public void testCancelQueuedRequest() {
+        // Arrange
+        final GigyaApiRequest cancelled = request(GigyaDefinitions.API.API_GET_SCHEMA);
+        provider.block();
+        provider.addToQueue(cancelled, NO_OP);
+        provider.addToQueue(request(GigyaDefinitions.API.API_GET_ACCOUNT_INFO), NO_OP);
+
+        // Act
+        provider.cancel(cancelled);
+        provider.release();
+
+        // Assert
+        assertEquals(1, provider.dispatched.size());
+        assertEquals(GigyaDefinitions.API.API_GET_ACCOUNT_INFO, provider.dispatched.get(0).getApi());
+    }
+
+    @Test
+    public void testQueueWaitReported() {
+        // Arrange
+        final List<String> events = new ArrayList<>();
+        provider.setEventListener(new INetworkEventListener() {
+            @Override
+            public void onEvent(String api, String providerType, Phase phase, long durationNanos) {
+                assertTrue(durationNanos >= 0);
+                events.add(api + ":" + providerType + ":" + phase);
+            }
+        });
+        provider.block();
+        provider.addToQueue(request(GigyaDefinitions.API.API_GET_ACCOUNT_INFO), NO_OP);
+
+        // Act
+        provider.release();
+
+        // Assert
+        assertEquals(1, events.size());
+        assertEquals(GigyaDefinitions.API.API_GET_ACCOUNT_INFO + ":RecordingProvider:QUEUE_WAIT", events.get(0));
+    }
+}
@@ -0,0 +1,160 @@
+package com.gigya.android.network;
+
+import com.gigya.android.sdk.Config;
+import com.gigya.android.sdk.network.GigyaError;
+import com.gigya.android.sdk.network.GigyaNetworkConfig;
+import com.gigya.android.sdk.network.adapter.CircuitBreaker;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+public class CircuitBreakerTest {
+
+    private static final String HOST = "accounts.us1.gigya.com";
+
+    private static class ManualClockBreaker extends CircuitBreaker {
+
+        long time = 1000;
+
+        ManualClockBreaker(Config config) {
+            super(config);
+        }
+
+        @Override
+        protected long now() {
+            return time;
+        }
+    }
+
+    private ManualClockBreaker breaker;
+
+    private final List<CircuitBreaker.State> transitions = new ArrayList<>();
+
+    @Before
+    public void setup() {
+        final GigyaNetworkConfig networkConfig = new GigyaNetworkConfig();
+        networkConfig.setCircuitFailureThreshold(3);
+        networkConfig.setCircuitOpenDurationMillis(10000);
+        final Config config = new Config();
+        config.setGigyaNetworkConfig(networkConfig);
+        breaker = new ManualClockBreaker(config);
+        breaker.setStateListener(new CircuitBreaker.IStateListener() {
+            @Override
+            public void onStateChanged(String host, CircuitBreaker.State state) {
+                transitions.add(state);
+            }
+        });
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            breaker.onFailure(HOST);
+        }
+    }
+
+    @Test
+    public void testOpensAfterConsecutiveFailures() {
+        // Act
+        fail(2);
+        breaker.onSuccess(HOST);
+        fail(2);
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(HOST));
+        assertTrue(breaker.allowRequest(HOST));
+        // Act
+        fail(1);
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState(HOST));
+        assertFalse(breaker.allowRequest(HOST));
+        assertTrue(breaker.allowRequest("socialize.us1.gigya.com"));
+    }
+
+    @Test
+    public void testHalfOpenAllowsSingleProbe() {
+        // Arrange
+        fail(3);
+        breaker.time += 10000;
+        // Act & Assert
+        assertTrue(breaker.allowRequest(HOST));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState(HOST));
+        assertFalse(breaker.allowRequest(HOST));
+        // Act
+        breaker.onSuccess(HOST);
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(HOST));
+        assertTrue(breaker.allowRequest(HOST));
+        assertEquals(3, transitions.size());
+        assertEquals(CircuitBreaker.State.OPEN, transitions.get(0));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, transitions.get(1));
+        assertEquals(CircuitBreaker.State.CLOSED, transitions.get(2));
+    }
+
+    @Test
+    public void testFailedProbeReopens() {
+        // Arrange
+        fail(3);
+        breaker.time += 10000;
+        assertTrue(breaker.allowRequest(HOST));
+        // Act
+        fail(1);
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState(HOST));
+        assertFalse(breaker.allowRequest(HOST));
+    }
+
+    @Test
+    public void testLostProbeIsReplaced() {
+        // Arrange
+        fail(3);
+        breaker.time += 10000;
+        assertTrue(breaker.allowRequest(HOST));
+        // Act
+        breaker.time += 10000;
+        // Assert
+        assertTrue(breaker.allowRequest(HOST));
+    }
+
+    @Test
+    public void testHostFailureClassification() {
+        assertTrue(CircuitBreaker.isHostFailure(new GigyaError(503, "", null)));
+        assertTrue(CircuitBreaker.isHostFailure(new GigyaError(GigyaError.Codes.ERROR_NETWORK, "", null)));
+        assertFalse(CircuitBreaker.isHostFailure(new GigyaError(GigyaError.Codes.ERROR_NO_NETWORK, "", null)));
+        assertFalse(CircuitBreaker.isHostFailure(new GigyaError(GigyaError.Codes.ERROR_CIRCUIT_OPEN, "", null)));
+        assertFalse(CircuitBreaker.isHostFailure(new GigyaError(400, "", null)));
+        assertTrue(CircuitBreaker.isServerResponse(new GigyaError(403, "", null)));
+        assertFalse(CircuitBreaker.isServerResponse(new GigyaError(GigyaError.Codes.ERROR_NO_NETWORK, "", null)));
+    }
+
+    @Test
+    public void testProbeAnsweredWithErrorCloses() {
+        // Arrange
+        fail(3);
+        breaker.time += 10000;
+        assertTrue(breaker.allowRequest(HOST));
+        // Act
+        breaker.onError(HOST, new GigyaError(403, "", null));
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(HOST));
+        assertTrue(breaker.allowRequest(HOST));
+    }
+
+    @Test
+    public void testProbeWithoutHostResponseIsReleased() {
+        // Arrange
+        fail(3);
+        breaker.time += 10000;
+        assertTrue(breaker.allowRequest(HOST));
+        // Act
+        breaker.onError(HOST, new GigyaError(GigyaError.Codes.ERROR_NO_NETWORK, "", null));
+        // Assert
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState(HOST));
+        assertTrue(breaker.allowRequest(HOST));
+    }
+}
@@ -0,0 +1,155 @@
+package com.gigya.android.network;
+
+import com.gigya.android.sdk.Config;
+import com.gigya.android.sdk.api.GigyaApiRequest;
+import com.gigya.android.sdk.network.adapter.ConnectionPrewarmer;
+import com.gigya.android.sdk.network.adapter.INetworkEventListener;
+import com.gigya.android.sdk.network.adapter.IRestAdapterCallback;
+import com.gigya.android.sdk.network.adapter.NetworkProvider;
+import com.gigya.android.sdk.network.adapter.NetworkWorkerPool;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.TestCase.assertEquals;
+
+public class ConnectionPrewarmerTest {
+
+    /*
+    Manual clock shared by the provider & the prewarmer.
+     */
+    private long time = 0;
+
+    private final List<String> connected = new ArrayList<>();
+
+    private final List<Integer> timeouts = new ArrayList<>();
+
+    private final List<String> events = new ArrayList<>();
+
+    /*
+    Provider simulating a 100ms cold connection.
+     */
+    private class FakeProvider extends NetworkProvider {
+
+        FakeProvider(Config config) {
+            super(null, config, new NetworkWorkerPool(config));
+        }
+
+        @Override
+        protected void preconnect(String url, int timeoutMillis) throws IOException {
+            if (url.contains("unreachable")) {
+                throw new IOException("unreachable");
+            }
+            time += 100;
+            connected.add(url);
+            timeouts.add(timeoutMillis);
+        }
+
+        @Override
+        public void addToQueue(GigyaApiRequest request, IRestAdapterCallback networkCallbacks) {
+        }
+
+        @Override
+        public void addToQueueUnsigned(GigyaApiRequest request, IRestAdapterCallback networkCallbacks) {
+        }
+
+        @Override
+        public void sendBlocking(GigyaApiRequest request, IRestAdapterCallback networkCallbacks) {
+        }
+
+        @Override
+        protected void dispatch(GigyaApiRequest request, IRestAdapterCallback networkCallbacks) {
+        }
+
+        @Override
+        public void cancel(String tag) {
+        }
+
+        @Override
+        public void cancel(GigyaApiRequest request) {
+        }
+    }
+
+    private ConnectionPrewarmer prewarmer;
+
+    @Before
+    public void setup() {
+        final FakeProvider provider = new FakeProvider(new Config());
+        provider.getEventReporter().setListener(new INetworkEventListener() {
+            @Override
+            public void onEvent(String api, String providerType, Phase phase, long durationNanos) {
+                events.add(api + ":" + phase + ":" + TimeUnit.NANOSECONDS.toMillis(durationNanos));
+            }
+        });
+        prewarmer = new ConnectionPrewarmer(provider) {
+
+            @Override
+            protected void resolve(String host) {
+                time += 30;
+            }
+
+            @Override
+            protected long now() {
+                return time;
+            }
+        };
+    }
+
+    @Test
+    public void testWarmConnectsOncePerHost() {
+        // Act
+        prewarmer.warm(Arrays.asList("accounts.us1.gigya.com", "socialize.us1.gigya.com", "accounts.us1.gigya.com"), 3000);
+        // Assert
+        final List<ConnectionPrewarmer.HostTiming> timings = prewarmer.getTimings();
+        assertEquals(2, timings.size());
+        assertEquals("accounts.us1.gigya.com", timings.get(0).getHost());
+        assertEquals(30, timings.get(0).getDnsMillis());
+        assertEquals(100, timings.get(0).getColdMillis());
+        assertEquals(2, connected.size());
+    }
+
+    @Test
+    public void testWarmReportsTimings() {
+        // Act
+        prewarmer.warm(Arrays.asList("accounts.us1.gigya.com"), 3000);
+        // Assert
+        assertEquals(Arrays.asList(
+                ConnectionPrewarmer.PREWARM_API + ":DNS:30",
+                ConnectionPrewarmer.PREWARM_API + ":CONNECT:100"), events);
+    }
+
+    @Test
+    public void testWarmSkipsRecentlyWarmedHosts() {
+        // Act
+        prewarmer.warm(Arrays.asList("accounts.us1.gigya.com"), 3000);
+        prewarmer.warm(Arrays.asList("accounts.us1.gigya.com"), 3000);
+        // Assert
+        assertEquals(1, prewarmer.getTimings().size());
+    }
+
+    @Test
+    public void testWarmRespectsBudget() {
+        // Act
+        prewarmer.warm(Arrays.asList("accounts.us1.gigya.com", "socialize.us1.gigya.com"), 170);
+        // Assert
+        assertEquals(2, connected.size());
+        assertEquals(140, (int) timeouts.get(0));
+        assertEquals(10, (int) timeouts.get(1));
+        assertEquals(2, prewarmer.getTimings().size());
+    }
+
+    @Test
+    public void testFailedHostIsNotRecorded() {
+        // Act
+        prewarmer.warm(Arrays.asList("unreachable.us1.gigya.com"), 3000);
+        // Assert
+        assertEquals(0, prewarmer.getTimings().size());
+        assertEquals(0, connected.size());
+    }
+}
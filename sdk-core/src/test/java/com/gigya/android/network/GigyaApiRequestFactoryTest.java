@@ -7,6 +7,8 @@ import com.gigya.android.sdk.Gigya;
 import com.gigya.android.sdk.api.GigyaApiHttpRequest;
 import com.gigya.android.sdk.api.GigyaApiRequest;
 import com.gigya.android.sdk.api.GigyaApiRequestFactory;
+import com.gigya.android.sdk.api.INonceGenerator;
+import com.gigya.android.sdk.api.NonceGenerator;
 import com.gigya.android.sdk.network.adapter.RestAdapter;
 import com.gigya.android.sdk.session.ISessionService;
 import com.gigya.android.sdk.session.SessionInfo;
@@ -16,6 +18,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 import org.powermock.api.mockito.PowerMockito;
@@ -48,6 +51,9 @@ public class GigyaApiRequestFactoryTest {
     @Mock
     SessionInfo _sessionInfo;
 
+    @Spy
+    INonceGenerator _nonceGenerator = new NonceGenerator();
+
     @InjectMocks
     GigyaApiRequestFactory _factory;
 
@@ -162,4 +168,20 @@ public class GigyaApiRequestFactoryTest {
         assertTrue(httpRequest.getEncodedParams().contains("sig="));
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testRequestBodyIsEncodedParams() throws Exception {
+        // Arrange
+        final Map<String, Object> params = new HashMap<>();
+        params.put("profile", "{\"firstName\":\"Jos\u00e9\"}");
+
+        // Act
+        final GigyaApiRequest request = _factory.create("accounts.setAccountInfo", params, RestAdapter.HttpMethod.POST);
+        final GigyaApiHttpRequest httpRequest = _factory.sign(request);
+
+        // Assert
+        assertNotNull(httpRequest.getBody());
+        assertEquals(httpRequest.getEncodedParams(), new String(httpRequest.getBody(), "UTF-8"));
+        assertEquals(httpRequest.getEncodedParams().length(), httpRequest.getBody().length);
+    }
+}
@@ -3,6 +3,7 @@ package com.gigya.android.network;
 import com.gigya.android.StaticMockFactory;
 import com.gigya.android.sdk.account.models.GigyaAccount;
 import com.gigya.android.sdk.api.GigyaApiResponse;
+import com.gigya.android.sdk.api.ResponsePath;
 
 import org.json.JSONException;
 import org.junit.Assert;
@@ -13,8 +14,10 @@ import java.util.HashMap;
 
 import static junit.framework.TestCase.assertNotNull;
 import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 
 public class GigyaApiResponseTest {
@@ -140,6 +143,20 @@ public class GigyaApiResponseTest {
         Assert.assertNotNull(response.getField("profile.firstName", String.class));
     }
 
+    @Test
+    public void testGetFieldConvertsPrimitives() {
+        // Arrange
+        final GigyaApiResponse configResponse = new GigyaApiResponse(
+                "{\"errorCode\": 0, \"gcid\": \"someGcid\", \"refreshTime\": 1500000000, \"nested\": {\"count\": 3}}");
+
+        // Assert
+        assertEquals("someGcid", configResponse.getField("gcid", String.class));
+        assertEquals(Long.valueOf(1500000000L), configResponse.getField("refreshTime", Long.class));
+        assertEquals(Long.valueOf(3L), configResponse.getField("nested.count", Long.class));
+        assertEquals("3", configResponse.getField(ResponsePath.compile("nested.count"), String.class));
+        assertNull(configResponse.getField("nested.none", Long.class));
+    }
+
     @Test
     public void testParseTo() {
         // Act
@@ -155,4 +172,51 @@ public class GigyaApiResponseTest {
         // Assert
         assertNull(ga);
     }
+
+    @Test
+    public void testRootFieldsAfterNestedValues() {
+        // Arrange
+        final GigyaApiResponse response = new GigyaApiResponse("{\"profile\":{\"errorCode\":1,\"list\":[1,{\"callId\":\"nested\"}]}," +
+                "\"data\":[\"a\",null,true],\"callId\":\"abc123\",\"errorCode\":403042,\"statusCode\":403," +
+                "\"errorDetails\":\"Invalid LoginID\",\"statusReason\":\"Forbidden\",\"time\":\"2019-10-31T08:20:16.295Z\"}");
+
+        // Assert
+        assertEquals(403042, response.getErrorCode());
+        assertEquals(403, response.getStatusCode());
+        assertEquals("abc123", response.getCallId());
+        assertEquals("Invalid LoginID", response.getErrorDetails());
+        assertEquals("Forbidden", response.getStatusReason());
+        assertEquals("2019-10-31T08:20:16.295Z", response.getTime());
+    }
+
+    @Test
+    public void testRootFieldsWithUnexpectedTypes() {
+        // Arrange
+        final GigyaApiResponse response = new GigyaApiResponse("{\"errorCode\":\"0\",\"statusCode\":200.5,\"callId\":5,\"time\":null}");
+
+        // Assert
+        assertEquals(GigyaApiResponse.INVALID_VALUE, response.getErrorCode());
+        assertEquals(GigyaApiResponse.INVALID_VALUE, response.getStatusCode());
+        assertNull(response.getCallId());
+        assertNull(response.getTime());
+    }
+
+    @Test
+    public void testInvalidJson() {
+        // Arrange
+        final GigyaApiResponse response = new GigyaApiResponse("<html>Service Unavailable</html>");
+
+        // Assert
+        assertEquals(GigyaApiResponse.INVALID_VALUE, response.getErrorCode());
+        assertNull(response.getCallId());
+        assertNull(response.asMap());
+    }
+
+    @Test
+    public void testMapBuiltOnce() {
+        // Assert
+        assertNotNull(response.asMap());
+        assertSame(response.asMap(), response.asMap());
+        assertEquals(response.getErrorCode(), response.asMap().get("errorCode"));
+    }
 }
@@ -0,0 +1,105 @@
+package com.gigya.android.network;
+
+import com.gigya.android.sdk.network.adapter.INetworkEventListener;
+import com.gigya.android.sdk.network.adapter.NetworkEventReporter;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.assertTrue;
+
+public class NetworkEventReporterTest {
+
+    private final List<String> _events = new ArrayList<>();
+
+    private final INetworkEventListener _listener = new INetworkEventListener() {
+        @Override
+        public void onEvent(String api, String providerType, Phase phase, long durationNanos) {
+            _events.add(api + ":" + providerType + ":" + phase + ":" + durationNanos);
+        }
+    };
+
+    private NetworkEventReporter _reporter;
+
+    @Before
+    public void setup() {
+        _reporter = new NetworkEventReporter("HttpNetworkProvider");
+    }
+
+    @Test
+    public void testReportWithoutListener() {
+        // Arrange
+        final Runnable delivery = new Runnable() {
+            @Override
+            public void run() {
+                // Redundant.
+            }
+        };
+
+        // Act
+        _reporter.report("accounts.login", INetworkEventListener.Phase.SIGN, 10);
+
+        // Assert
+        assertFalse(_reporter.isEnabled());
+        assertSame(delivery, _reporter.timeDispatch("accounts.login", delivery));
+    }
+
+    @Test
+    public void testReportTaggedWithApiAndProvider() {
+        // Arrange
+        _reporter.setListener(_listener);
+
+        // Act
+        _reporter.report("accounts.login", INetworkEventListener.Phase.SIGN, 10);
+
+        // Assert
+        assertEquals(1, _events.size());
+        assertEquals("accounts.login:HttpNetworkProvider:SIGN:10", _events.get(0));
+    }
+
+    @Test
+    public void testListenerFailureIgnored() {
+        // Arrange
+        _reporter.setListener(new INetworkEventListener() {
+            @Override
+            public void onEvent(String api, String providerType, Phase phase, long durationNanos) {
+                throw new IllegalStateException("listener failure");
+            }
+        });
+
+        // Act & Assert
+        _reporter.report("accounts.login", INetworkEventListener.Phase.PARSE, 10);
+    }
+
+    @Test
+    public void testTimeDispatch() {
+        // Arrange
+        _reporter.setListener(_listener);
+        final boolean[] delivered = new boolean[1];
+
+        // Act
+        _reporter.timeDispatch("accounts.getAccountInfo", new Runnable() {
+            @Override
+            public void run() {
+                delivered[0] = true;
+            }
+        }).run();
+
+        // Assert
+        assertTrue(delivered[0]);
+        assertEquals(1, _events.size());
+        assertTrue(_events.get(0).startsWith("accounts.getAccountInfo:HttpNetworkProvider:CALLBACK_DISPATCH:"));
+    }
+
+    @Test
+    public void testApiOf() {
+        assertEquals("accounts.setAccountInfo", NetworkEventReporter.apiOf("https://accounts.us1.gigya.com/accounts.setAccountInfo"));
+        assertEquals("accounts.login", NetworkEventReporter.apiOf("/accounts.login"));
+    }
+}
@@ -0,0 +1,88 @@
+package com.gigya.android.network;
+
+import com.gigya.android.sdk.Config;
+import com.gigya.android.sdk.network.GigyaNetworkConfig;
+import com.gigya.android.sdk.network.adapter.NetworkWorkerPool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+public class NetworkWorkerPoolTest {
+
+    private NetworkWorkerPool pool;
+
+    @Before
+    public void setup() {
+        final GigyaNetworkConfig networkConfig = new GigyaNetworkConfig();
+        networkConfig.setWorkerPoolSize(1);
+        networkConfig.setWorkerQueueCapacity(1);
+        final Config config = new Config();
+        config.setGigyaNetworkConfig(networkConfig);
+        pool = new NetworkWorkerPool(config);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testExecuteOnNamedDaemonThread() throws InterruptedException {
+        // Arrange
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicReference<Thread> worker = new AtomicReference<>();
+
+        // Act
+        final boolean accepted = pool.execute(new Runnable() {
+            @Override
+            public void run() {
+                worker.set(Thread.currentThread());
+                latch.countDown();
+            }
+        });
+
+        // Assert
+        assertTrue(accepted);
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertTrue(worker.get().isDaemon());
+        assertTrue(worker.get().getName().startsWith("gigya-network-"));
+    }
+
+    @Test
+    public void testRejectWhenQueueIsFull() throws InterruptedException {
+        // Arrange
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final Runnable blocking = new Runnable() {
+            @Override
+            public void run() {
+                started.countDown();
+                try {
+                    blocker.await();
+                } catch (InterruptedException ignored) {
+                }
+            }
+        };
+
+        // Act
+        assertTrue(pool.execute(blocking));
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        final boolean queued = pool.execute(blocking);
+        final boolean rejected = pool.execute(blocking);
+
+        // Assert
+        assertTrue(queued);
+        assertFalse(rejected);
+        assertEquals(1, pool.getQueuedCount());
+        blocker.countDown();
+    }
+}
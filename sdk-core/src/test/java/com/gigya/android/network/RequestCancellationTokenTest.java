@@ -0,0 +1,76 @@
+package com.gigya.android.network;
+
+import com.gigya.android.sdk.api.GigyaApiRequest;
+import com.gigya.android.sdk.network.adapter.RequestCancellationToken;
+import com.gigya.android.sdk.network.adapter.RestAdapter;
+
+import org.junit.Test;
+
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+
+public class RequestCancellationTokenTest {
+
+    private RequestCancellationToken newToken() {
+        return new RequestCancellationToken(new GigyaApiRequest(RestAdapter.HttpMethod.POST, "accounts.getAccountInfo", new TreeMap<String, Object>()));
+    }
+
+    private Runnable counting(final AtomicInteger counter) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                counter.incrementAndGet();
+            }
+        };
+    }
+
+    @Test
+    public void testCancelInvokesBoundActionOnce() {
+        // Arrange
+        final RequestCancellationToken token = newToken();
+        final AtomicInteger counter = new AtomicInteger();
+        token.bind(counting(counter));
+
+        // Act
+        token.cancel();
+        token.cancel();
+
+        // Assert
+        assertTrue(token.isCancelled());
+        assertEquals(1, counter.get());
+        assertEquals("accounts.getAccountInfo", token.getTag());
+    }
+
+    @Test
+    public void testBindAfterCancelInvokesActionImmediately() {
+        // Arrange
+        final RequestCancellationToken token = newToken();
+        final AtomicInteger counter = new AtomicInteger();
+
+        // Act
+        token.cancel();
+        token.bind(counting(counter));
+
+        // Assert
+        assertEquals(1, counter.get());
+    }
+
+    @Test
+    public void testUnboundActionIsNotInvoked() {
+        // Arrange
+        final RequestCancellationToken token = newToken();
+        final AtomicInteger counter = new AtomicInteger();
+        token.bind(counting(counter));
+
+        // Act
+        token.bind(null);
+        token.cancel();
+
+        // Assert
+        assertEquals(0, counter.get());
+        assertTrue(token.isCancelled());
+    }
+}
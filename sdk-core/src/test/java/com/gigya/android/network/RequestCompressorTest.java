@@ -0,0 +1,117 @@
+package com.gigya.android.network;
+
+import com.gigya.android.sdk.api.GigyaApiHttpRequest;
+import com.gigya.android.sdk.network.GigyaNetworkConfig;
+import com.gigya.android.sdk.network.adapter.RequestCompressor;
+import com.gigya.android.sdk.network.adapter.RestAdapter;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import static junit.framework.TestCase.assertNotNull;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertArrayEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RequestCompressorTest {
+
+    private static final String SET_ACCOUNT_INFO_URL = "https://accounts.us1.gigya.com/accounts.setAccountInfo";
+
+    private GigyaNetworkConfig _networkConfig;
+
+    @Before
+    public void setup() {
+        _networkConfig = new GigyaNetworkConfig();
+        _networkConfig.setRequestCompression(true);
+    }
+
+    private static byte[] setAccountInfoBody(int profileFields) throws IOException {
+        final StringBuilder sb = new StringBuilder("apiKey=3_someApiKey&format=json&profile=%7B");
+        for (int i = 0; i < profileFields; i++) {
+            sb.append("%22field").append(i).append("%22%3A%22some%20profile%20value%22%2C");
+        }
+        sb.append("%7D&sdk=Android_5.0.0&targetEnv=mobile");
+        return sb.toString().getBytes("UTF-8");
+    }
+
+    private static GigyaApiHttpRequest request(RestAdapter.HttpMethod method, String url, byte[] body) {
+        final GigyaApiHttpRequest request = mock(GigyaApiHttpRequest.class);
+        when(request.getHttpMethod()).thenReturn(method);
+        when(request.getUrl()).thenReturn(url);
+        when(request.getBody()).thenReturn(body);
+        return request;
+    }
+
+    private static byte[] gunzip(byte[] data) throws IOException {
+        final GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        in.close();
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testDisabledByDefault() throws IOException {
+        // Arrange
+        final GigyaApiHttpRequest request = request(RestAdapter.HttpMethod.POST, SET_ACCOUNT_INFO_URL, setAccountInfoBody(1000));
+
+        // Act & Assert
+        assertNull(RequestCompressor.compress(request, new GigyaNetworkConfig()));
+        assertNull(RequestCompressor.compress(request, null));
+    }
+
+    @Test
+    public void testBelowThreshold() throws IOException {
+        // Arrange
+        final GigyaApiHttpRequest request = request(RestAdapter.HttpMethod.POST, SET_ACCOUNT_INFO_URL, setAccountInfoBody(10));
+
+        // Act & Assert
+        assertNull(RequestCompressor.compress(request, _networkConfig));
+    }
+
+    @Test
+    public void testApiNotAllowed() throws IOException {
+        // Arrange
+        final GigyaApiHttpRequest request = request(RestAdapter.HttpMethod.POST,
+                "https://accounts.us1.gigya.com/accounts.getAccountInfo", setAccountInfoBody(1000));
+
+        // Act & Assert
+        assertNull(RequestCompressor.compress(request, _networkConfig));
+    }
+
+    @Test
+    public void testGetNotCompressed() throws IOException {
+        // Arrange
+        final GigyaApiHttpRequest request = request(RestAdapter.HttpMethod.GET, SET_ACCOUNT_INFO_URL, setAccountInfoBody(1000));
+
+        // Act & Assert
+        assertNull(RequestCompressor.compress(request, _networkConfig));
+    }
+
+    @Test
+    public void testLargeSetAccountInfoCompressed() throws IOException {
+        // Arrange
+        final byte[] body = setAccountInfoBody(1000);
+        final GigyaApiHttpRequest request = request(RestAdapter.HttpMethod.POST, SET_ACCOUNT_INFO_URL, body);
+
+        // Act
+        final byte[] compressed = RequestCompressor.compress(request, _networkConfig);
+
+        // Assert
+        assertNotNull(compressed);
+        assertTrue("Expected at least 4x smaller body, was " + body.length + " -> " + compressed.length,
+                compressed.length * 4 < body.length);
+        assertArrayEquals(body, gunzip(compressed));
+    }
+}
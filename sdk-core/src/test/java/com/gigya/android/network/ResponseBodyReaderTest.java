@@ -0,0 +1,66 @@
+package com.gigya.android.network;
+
+import com.gigya.android.sdk.network.adapter.ResponseBodyReader;
+import com.gigya.android.sdk.network.adapter.RestResponseBody;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+import static junit.framework.TestCase.assertEquals;
+
+public class ResponseBodyReaderTest {
+
+    private static final String JSON = "{\n  \"errorCode\": 0,\n  \"profile\": {\"firstName\": \"J\u00f6hn\"}\n}";
+
+    @Test
+    public void testReadWithContentLength() throws IOException {
+        // Arrange
+        final byte[] bytes = JSON.getBytes("UTF-8");
+
+        // Act
+        final RestResponseBody body = ResponseBodyReader.read(new ByteArrayInputStream(bytes), bytes.length, "application/json; charset=utf-8");
+
+        // Assert
+        assertEquals(bytes.length, body.getLength());
+        assertEquals(JSON, body.asString());
+    }
+
+    @Test
+    public void testReadWithoutContentLength() throws IOException {
+        // Arrange
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            sb.append("{\"line\":").append(i).append("}\n");
+        }
+        final String large = sb.toString();
+
+        // Act
+        final RestResponseBody body = ResponseBodyReader.read(new ByteArrayInputStream(large.getBytes("UTF-8")), -1, null);
+
+        // Assert
+        assertEquals(large, body.asString());
+    }
+
+    @Test
+    public void testReadWithWrongContentLength() throws IOException {
+        // Arrange
+        final byte[] bytes = JSON.getBytes("UTF-8");
+
+        // Act
+        final RestResponseBody body = ResponseBodyReader.read(new ByteArrayInputStream(bytes), 5, null);
+
+        // Assert
+        assertEquals(JSON, body.asString());
+    }
+
+    @Test
+    public void testParseCharset() {
+        assertEquals(Charset.forName("UTF-8"), ResponseBodyReader.parseCharset(null));
+        assertEquals(Charset.forName("UTF-8"), ResponseBodyReader.parseCharset("application/json"));
+        assertEquals(Charset.forName("ISO-8859-1"), ResponseBodyReader.parseCharset("text/plain; charset=\"ISO-8859-1\""));
+        assertEquals(Charset.forName("UTF-8"), ResponseBodyReader.parseCharset("text/plain; charset=unknown-charset"));
+    }
+}
@@ -7,6 +7,8 @@ import com.gigya.android.sdk.Config;
 import com.gigya.android.sdk.api.GigyaApiRequest;
 import com.gigya.android.sdk.api.GigyaApiRequestFactory;
 import com.gigya.android.sdk.api.IApiRequestFactory;
+import com.gigya.android.sdk.api.INonceGenerator;
+import com.gigya.android.sdk.api.NonceGenerator;
 import com.gigya.android.sdk.containers.IoCContainer;
 import com.gigya.android.sdk.network.adapter.IRestAdapter;
 import com.gigya.android.sdk.network.adapter.IRestAdapterCallback;
@@ -28,10 +30,13 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.reflect.Whitebox;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.powermock.api.mockito.PowerMockito.doNothing;
 import static org.powermock.api.mockito.PowerMockito.mock;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
@@ -66,6 +71,7 @@ public class RestAdapterTest {
         container.bind(Context.class, mContext);
         container.bind(Config.class, mConfig);
         container.bind(IPersistenceService.class, PersistenceService.class, false);
+        container.bind(INonceGenerator.class, NonceGenerator.class, true);
         container.bind(IApiRequestFactory.class, GigyaApiRequestFactory.class, false);
         container.bind(ISessionService.class, SessionService.class, true);
         container.bind(IRestAdapter.class, RestAdapter.class, true);
@@ -137,4 +143,17 @@ public class RestAdapterTest {
         // Act
         adapter.send(request, true, callback);
     }
+
+    @Test
+    public void testSetCallbackExecutor() throws IllegalAccessException, InvocationTargetException, InstantiationException {
+        // Arrange
+        IRestAdapter adapter = container.get(IRestAdapter.class);
+        final Executor executor = Executors.newSingleThreadExecutor();
+
+        // Act
+        adapter.setCallbackExecutor(executor);
+
+        // Assert
+        verify(mConfig).setCallbackExecutor(executor);
+    }
 }
@@ -0,0 +1,44 @@
+package com.gigya.android.session;
+
+import com.gigya.android.sdk.session.SessionChangeObserver;
+import com.gigya.android.sdk.session.SessionStateHandler;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class SessionStateHandlerTest {
+
+    @Test
+    public void testChangeObserverRemovedDuringNotification() {
+        // Arrange
+        final SessionStateHandler handler = new SessionStateHandler();
+        final List<String> notified = new ArrayList<>();
+        handler.registerChangeObserver(new SessionChangeObserver() {
+            @Override
+            public void onSessionChanged() {
+                notified.add("first");
+                handler.removeChangeObserver(this);
+            }
+        });
+        handler.registerChangeObserver(new SessionChangeObserver() {
+            @Override
+            public void onSessionChanged() {
+                notified.add("second");
+            }
+        });
+
+        // Act
+        handler.notifySessionChanged();
+        handler.notifySessionChanged();
+
+        // Assert
+        assertEquals(3, notified.size());
+        assertEquals("first", notified.get(0));
+        assertEquals("second", notified.get(1));
+        assertEquals("second", notified.get(2));
+    }
+}
@@ -0,0 +1,98 @@
+package com.gigya.android.utils;
+
+import com.gigya.android.sdk.utils.EncodedQuery;
+import com.gigya.android.sdk.utils.UrlUtils;
+
+import org.junit.Test;
+
+import java.util.TreeMap;
+
+import static junit.framework.TestCase.assertEquals;
+
+public class EncodedQueryTest {
+
+    private static final String SIG = "hT4y+Kq/2mA_Zx9=";
+
+    private static TreeMap<String, Object> setAccountInfoParams(int profileFields) {
+        final TreeMap<String, Object> params = new TreeMap<>();
+        params.put("apiKey", "3_someApiKey-_eX");
+        params.put("format", "json");
+        params.put("gmid", "mockGMID");
+        params.put("httpStatusCodes", false);
+        params.put("oauth_token", "st2.s.AcbHdVdmWQ.mockToken");
+        params.put("sdk", "Android_5.0.0");
+        params.put("targetEnv", "mobile");
+        params.put("timestamp", "1700000000");
+        params.put("ucid", "mockUCID");
+        params.put("nullValue", null);
+        final StringBuilder profile = new StringBuilder("{");
+        for (int i = 0; i < profileFields; i++) {
+            if (i > 0) {
+                profile.append(',');
+            }
+            profile.append("\"field").append(i).append("\":\"caf\u00e9 value & more ").append(i).append('"');
+        }
+        params.put("profile", profile.append('}').toString());
+        params.put("data", "{\"terms\":true,\"subscriptions\":[\"news\",\"offers\"]}");
+        return params;
+    }
+
+    private static void assertEquivalent(TreeMap<String, Object> params) {
+        final EncodedQuery query = new EncodedQuery(params, "sig");
+        assertEquals(UrlUtils.buildEncodedQuery(params), query.toString());
+
+        final TreeMap<String, Object> signed = new TreeMap<>(params);
+        signed.put("sig", SIG);
+        assertEquals(UrlUtils.buildEncodedQuery(signed), query.with(SIG));
+    }
+
+    @Test
+    public void testTypicalSetAccountInfo() {
+        assertEquivalent(setAccountInfoParams(8));
+    }
+
+    @Test
+    public void testLargeSetAccountInfo() {
+        assertEquivalent(setAccountInfoParams(2000));
+    }
+
+    @Test
+    public void testEmptyParameters() {
+        assertEquivalent(new TreeMap<String, Object>());
+    }
+
+    @Test
+    public void testPendingFirst() {
+        // Arrange
+        final TreeMap<String, Object> params = new TreeMap<>();
+        params.put("timestamp", "1700000000");
+        params.put("ucid", "mockUCID");
+        // Act & Assert
+        assertEquivalent(params);
+        assertEquals("sig=a&timestamp=1700000000&ucid=mockUCID", new EncodedQuery(params, "sig").with("a"));
+    }
+
+    @Test
+    public void testPendingLast() {
+        // Arrange
+        final TreeMap<String, Object> params = new TreeMap<>();
+        params.put("apiKey", "someApiKey");
+        params.put("format", "json");
+        // Act & Assert
+        assertEquivalent(params);
+        assertEquals("apiKey=someApiKey&format=json&sig=a", new EncodedQuery(params, "sig").with("a"));
+    }
+
+    @Test
+    public void testExistingPendingKeyIsReplaced() {
+        // Arrange
+        final TreeMap<String, Object> params = new TreeMap<>();
+        params.put("apiKey", "someApiKey");
+        params.put("sig", "stale");
+        // Act
+        final EncodedQuery query = new EncodedQuery(params, "sig");
+        // Assert
+        assertEquals("apiKey=someApiKey", query.toString());
+        assertEquals("apiKey=someApiKey&sig=fresh", query.with("fresh"));
+    }
+}
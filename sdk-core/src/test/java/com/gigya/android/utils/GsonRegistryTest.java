@@ -0,0 +1,46 @@
+package com.gigya.android.utils;
+
+import com.gigya.android.sdk.utils.GsonRegistry;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.assertTrue;
+
+public class GsonRegistryTest {
+
+    @Test
+    public void testInstancesShared() {
+        // Arrange
+        final GsonRegistry registry = GsonRegistry.getInstance();
+
+        // Act & Assert
+        assertSame(registry, GsonRegistry.getInstance());
+        assertSame(registry.getGson(), registry.getGson());
+        assertSame(registry.getAccountGson(), registry.getAccountGson());
+        assertSame(registry.getMapGson(), registry.getMapGson());
+        assertTrue(registry.getGson() != registry.getAccountGson());
+        assertTrue(registry.getGson() != registry.getMapGson());
+    }
+
+    @Test
+    public void testMapGsonParsesWholeNumbersAsLong() {
+        // Arrange
+        final String json = "{\"count\": 3, \"ratio\": 0.5, \"nested\": {\"items\": [1, \"two\", true]}}";
+
+        // Act
+        final Map<String, Object> map = GsonRegistry.getInstance().getMapGson().fromJson(json, GsonRegistry.MAP_TYPE);
+
+        // Assert
+        assertEquals(3L, map.get("count"));
+        assertEquals(0.5, map.get("ratio"));
+        final List<?> items = (List<?>) ((Map<?, ?>) map.get("nested")).get("items");
+        assertEquals(1L, items.get(0));
+        assertEquals("two", items.get(1));
+        assertEquals(true, items.get(2));
+    }
+}
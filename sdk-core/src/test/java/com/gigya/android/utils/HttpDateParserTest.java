@@ -0,0 +1,65 @@
+package com.gigya.android.utils;
+
+import com.gigya.android.sdk.utils.HttpDateParser;
+
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static junit.framework.TestCase.assertEquals;
+
+public class HttpDateParserTest {
+
+    private static SimpleDateFormat reference() {
+        final SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.ENGLISH);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        return format;
+    }
+
+    @Test
+    public void testServerDateHeader() {
+        assertEquals(1572510016000L, HttpDateParser.parse("Thu, 31 Oct 2019 08:20:16 GMT"));
+    }
+
+    @Test
+    public void testMatchesReference() throws Exception {
+        final SimpleDateFormat format = reference();
+        final Random random = new Random(7);
+        for (int i = 0; i < 5000; i++) {
+            // Whole seconds between 1970 and 2100.
+            final long millis = (random.nextLong() & Long.MAX_VALUE) % 4102444800L * 1000L;
+            final String header = format.format(new Date(millis));
+            assertEquals(header, millis, HttpDateParser.parse(header));
+            assertEquals(header, format.parse(header).getTime(), HttpDateParser.parse(header));
+        }
+    }
+
+    @Test
+    public void testSingleDigitDay() {
+        assertEquals(1709251200000L, HttpDateParser.parse("Fri, 1 Mar 2024 00:00:00 GMT"));
+    }
+
+    @Test
+    public void testLeapDay() {
+        assertEquals(1709208000000L, HttpDateParser.parse("Thu, 29 Feb 2024 12:00:00 GMT"));
+    }
+
+    @Test
+    public void testFallbackFormat() {
+        // Non GMT zone is parsed by the fallback formatter.
+        assertEquals(1572510016000L, HttpDateParser.parse("Thu, 31 Oct 2019 09:20:16 CET"));
+    }
+
+    @Test
+    public void testInvalidValues() {
+        assertEquals(-1L, HttpDateParser.parse(null));
+        assertEquals(-1L, HttpDateParser.parse(""));
+        assertEquals(-1L, HttpDateParser.parse("not a date"));
+        assertEquals(-1L, HttpDateParser.parse("Thu, 31 Foo 2019 08:20:16 GMT"));
+        assertEquals(-1L, HttpDateParser.parse("Thu, 31 Oct 2019 25:20:16 GMT"));
+    }
+}
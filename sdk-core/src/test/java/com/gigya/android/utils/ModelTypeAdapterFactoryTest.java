@@ -0,0 +1,247 @@
+package com.gigya.android.utils;
+
+import com.gigya.android.sdk.account.models.GigyaAccount;
+import com.gigya.android.sdk.account.models.Profile;
+import com.gigya.android.sdk.account.models.Work;
+import com.gigya.android.sdk.interruption.tfa.models.TFAProvidersModel;
+import com.gigya.android.sdk.session.SessionInfo;
+import com.gigya.android.sdk.utils.GsonRegistry;
+import com.google.gson.Gson;
+import com.google.gson.annotations.SerializedName;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertTrue;
+
+public class ModelTypeAdapterFactoryTest {
+
+    private static final String ACCOUNT_JSON = "{\"UID\": \"someUID\", \"isActive\": true, \"isVerified\": null, "
+            + "\"created\": \"2019-06-02T06:42:55.678Z\", \"createdTimestamp\": 1559457775678, "
+            + "\"profile\": {\"firstName\": \"first\", \"age\": \"30\", \"work\": {\"company\": \"company\"}, \"unknown\": [1, 2]}, "
+            + "\"sessionInfo\": {\"sessionToken\": \"token\", \"sessionSecret\": \"secret\", \"expires_in\": 300}, "
+            + "\"statusCode\": 200, \"errorCode\": 0, \"callId\": \"callId\", "
+            + "\"nicknames\": [\"nick\"], \"favorite_color\": \"blue\", \"score\": null}";
+
+    public static class CustomAccount extends GigyaAccount {
+
+        List<String> nicknames;
+
+        @SerializedName(value = "favoriteColor", alternate = {"favorite_color"})
+        String favoriteColor;
+
+        int score = 7;
+
+        transient String cached = "cached";
+    }
+
+    @Test
+    public void testCustomAccountRead() {
+        // Act
+        final CustomAccount account = GsonRegistry.getInstance().getAccountGson().fromJson(ACCOUNT_JSON, CustomAccount.class);
+
+        // Assert
+        assertEquals("someUID", account.getUID());
+        assertTrue(account.isActive());
+        assertEquals(Long.valueOf(1559457775678L), account.getCreatedTimestamp());
+        assertEquals(200, account.getStatusCode());
+        assertEquals("callId", account.getCallId());
+        assertEquals("first", account.getProfile().getFirstName());
+        assertEquals(Integer.valueOf(30), account.getProfile().getAge());
+        assertEquals("company", account.getProfile().getWork().get(0).getCompany());
+        assertEquals("token", account.getSessionInfo().getSessionToken());
+        assertEquals(300, account.getSessionInfo().getExpirationTime());
+        assertEquals("nick", account.nicknames.get(0));
+        assertEquals("blue", account.favoriteColor);
+        assertEquals(7, account.score);
+        assertEquals("cached", account.cached);
+    }
+
+    @Test
+    public void testCustomAccountWriteMatchesReflectiveWrite() {
+        // Arrange
+        final GsonRegistry registry = GsonRegistry.getInstance();
+        final CustomAccount account = registry.getAccountGson().fromJson(ACCOUNT_JSON, CustomAccount.class);
+
+        // Act
+        final Map<String, Object> written = registry.getMapGson().fromJson(
+                registry.getAccountGson().toJson(account), GsonRegistry.MAP_TYPE);
+        final Map<String, Object> reflective = registry.getMapGson().fromJson(
+                new Gson().toJson(account), GsonRegistry.MAP_TYPE);
+
+        // Assert
+        assertEquals(reflective, written);
+    }
+
+    @Test
+    public void testProfileRoundTrip() {
+        // Arrange
+        final Gson gson = GsonRegistry.getInstance().getGson();
+        final Profile profile = new Profile();
+        profile.setFirstName("first");
+        profile.setFollowersCounts(12L);
+        final Work work = gson.fromJson("{\"company\": \"company\"}", Work.class);
+        profile.setWork(Collections.singletonList(work));
+
+        // Act
+        final Profile parsed = gson.fromJson(gson.toJson(profile), Profile.class);
+
+        // Assert
+        assertEquals("first", parsed.getFirstName());
+        assertEquals(Long.valueOf(12L), parsed.getFollowersCounts());
+        assertEquals("company", parsed.getWork().get(0).getCompany());
+        assertNull(parsed.getLastName());
+    }
+
+    @Test
+    public void testSessionInfoRoundTrip() {
+        // Arrange
+        final Gson gson = GsonRegistry.getInstance().getGson();
+        final SessionInfo sessionInfo = new SessionInfo("secret", "token", 120);
+
+        // Act
+        final String json = gson.toJson(sessionInfo);
+        final SessionInfo parsed = gson.fromJson(json, SessionInfo.class);
+
+        // Assert
+        assertEquals(new Gson().toJson(sessionInfo), json);
+        assertEquals("secret", parsed.getSessionSecret());
+        assertEquals("token", parsed.getSessionToken());
+        assertEquals(120, parsed.getExpirationTime());
+    }
+
+    @Test
+    public void testTFAProvidersRead() {
+        // Arrange
+        final String json = "{\"activeProviders\": [{\"name\": \"gigyaPhone\", \"authLevel\": 20}], "
+                + "\"inactiveProviders\": [], \"errorCode\": 0, \"statusCode\": 200}";
+
+        // Act
+        final TFAProvidersModel providers = GsonRegistry.getInstance().getGson().fromJson(json, TFAProvidersModel.class);
+
+        // Assert
+        assertEquals(1, providers.getActiveProviders().size());
+        assertEquals("gigyaPhone", providers.getActiveProviders().get(0).getName());
+        assertEquals(20, providers.getActiveProviders().get(0).getAuthLevel());
+        assertTrue(providers.getInactiveProviders().isEmpty());
+        assertEquals(200, providers.getStatusCode());
+    }
+
+    /*
+    Drift checks. Every declared field is filled, so a field added to a model but not to its hand written
+    adapter fails the comparison with the GSON reflective adapter.
+     */
+
+    @Test
+    public void testProfileMatchesReflectiveAdapter() throws Exception {
+        assertMatchesReflective(GsonRegistry.getInstance().getGson(), Profile.class);
+    }
+
+    @Test
+    public void testSessionInfoMatchesReflectiveAdapter() throws Exception {
+        assertMatchesReflective(GsonRegistry.getInstance().getGson(), SessionInfo.class);
+    }
+
+    @Test
+    public void testAccountMatchesReflectiveAdapter() throws Exception {
+        assertMatchesReflective(GsonRegistry.getInstance().getAccountGson(), GigyaAccount.class);
+        assertMatchesReflective(GsonRegistry.getInstance().getAccountGson(), CustomAccount.class);
+    }
+
+    @Test
+    public void testTFAProvidersMatchReflectiveAdapter() throws Exception {
+        assertMatchesReflective(GsonRegistry.getInstance().getGson(), TFAProvidersModel.class);
+    }
+
+    private static void assertMatchesReflective(Gson gson, Class<?> clazz) throws Exception {
+        // Arrange
+        final Gson reflective = new Gson();
+        final Object model = fill(clazz, 0);
+        final String expected = reflective.toJson(model);
+
+        // Act
+        final String written = gson.toJson(model);
+        final Object read = gson.fromJson(expected, clazz);
+
+        // Assert
+        final Gson mapGson = GsonRegistry.getInstance().getMapGson();
+        assertEquals(mapGson.fromJson(expected, GsonRegistry.MAP_TYPE), mapGson.fromJson(written, GsonRegistry.MAP_TYPE));
+        assertEquals(expected, reflective.toJson(read));
+    }
+
+    private static Object fill(Class<?> clazz, int depth) throws IllegalAccessException {
+        final Object instance = new Gson().fromJson("{}", clazz);
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                final int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+                field.setAccessible(true);
+                final Object value = sample(field.getGenericType(), field.getName(), depth);
+                if (value != null) {
+                    field.set(instance, value);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /*
+    Distinct sample value of a field type. Null for types the test does not know how to fill.
+     */
+    private static Object sample(Type type, String name, int depth) throws IllegalAccessException {
+        if (type instanceof ParameterizedType) {
+            final Class<?> raw = (Class<?>) ((ParameterizedType) type).getRawType();
+            final Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+            if (List.class.isAssignableFrom(raw)) {
+                final List<Object> list = new ArrayList<>();
+                list.add(sample(arguments[0], name, depth));
+                return list;
+            }
+            if (Map.class.isAssignableFrom(raw)) {
+                final Map<String, Object> map = new HashMap<>();
+                map.put(name, sample(arguments[1], name, depth));
+                return map;
+            }
+            return null;
+        }
+        if (!(type instanceof Class)) {
+            return null;
+        }
+        final Class<?> clazz = (Class<?>) type;
+        if (clazz == String.class || clazz == Object.class) {
+            return name;
+        }
+        if (clazz == Integer.class || clazz == int.class) {
+            return name.length();
+        }
+        if (clazz == Long.class || clazz == long.class) {
+            return 1000L + name.length();
+        }
+        if (clazz == Boolean.class || clazz == boolean.class) {
+            return true;
+        }
+        if (clazz == Double.class || clazz == double.class) {
+            return name.length() + 0.5;
+        }
+        if (clazz == Float.class || clazz == float.class) {
+            return name.length() + 0.25f;
+        }
+        if (clazz.getName().startsWith("com.gigya.android.sdk") && !clazz.isEnum() && depth < 3) {
+            return fill(clazz, depth + 1);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,103 @@
+package com.gigya.android.utils;
+
+import com.gigya.android.sdk.utils.PercentEncoder;
+
+import org.junit.Test;
+
+import java.net.URLEncoder;
+import java.util.Random;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertSame;
+
+public class PercentEncoderTest {
+
+    /*
+    Conformance corpus. Expected output is produced by the previous URLEncoder based implementation.
+     */
+    private static final String[] CORPUS = {
+            "",
+            "someApiKey",
+            "AZaz09-._~",
+            " ",
+            "+",
+            "*",
+            "~",
+            "%7E",
+            "a b+c*d~e%f",
+            "!#$&'()*+,/:;=?@[]",
+            "\"<>\\^`{|}",
+            "{ \"firstName\":\"John\", \"lastName\":\"Doe\"}",
+            "https://socialize.us1.gigya.com/socialize.getAccountInfo?UID=someId&someParameter=*ar%7Etime",
+            "1700000000_-123456789",
+            "line\nbreak\ttab\r",
+            "\u0000\u001f\u007f",
+            "caf\u00e9 na\u00efve \u00fc\u00df",
+            "\u05e9\u05dc\u05d5\u05dd",
+            "\u65e5\u672c\u8a9e",
+            "\u20ac\u2122\uffff",
+            "\ud83d\ude00 smile",
+            "\ud83c\udff3\ufe0f\u200d\ud83c\udf08",
+            "lone \ud83d high",
+            "lone \ude00 low",
+            "reversed \ude00\ud83d pair",
+            "trailing high \ud83d",
+    };
+
+    private static String reference(String value) throws Exception {
+        return URLEncoder.encode(value, "UTF-8").replace("+", "%20")
+                .replace("*", "%2A").replace("%7E", "~");
+    }
+
+    @Test
+    public void testCorpusMatchesReference() throws Exception {
+        for (String value : CORPUS) {
+            assertEquals(value, reference(value), PercentEncoder.encode(value));
+        }
+    }
+
+    @Test
+    public void testRandomInputMatchesReference() throws Exception {
+        final Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            final StringBuilder sb = new StringBuilder();
+            final int length = random.nextInt(24);
+            for (int j = 0; j < length; j++) {
+                switch (random.nextInt(4)) {
+                    case 0:
+                        sb.append((char) random.nextInt(128));
+                        break;
+                    case 1:
+                        sb.append((char) (0x80 + random.nextInt(0x800 - 0x80)));
+                        break;
+                    case 2:
+                        sb.append((char) random.nextInt(0x10000));
+                        break;
+                    default:
+                        sb.appendCodePoint(0x10000 + random.nextInt(0x10FFFF - 0x10000));
+                        break;
+                }
+            }
+            final String value = sb.toString();
+            assertEquals(reference(value), PercentEncoder.encode(value));
+        }
+    }
+
+    @Test
+    public void testAppendsToBuilder() {
+        // Arrange
+        final StringBuilder sb = new StringBuilder("key=");
+        // Act
+        PercentEncoder.encode("a b", sb);
+        // Assert
+        assertEquals("key=a%20b", sb.toString());
+    }
+
+    @Test
+    public void testUnreservedValueIsNotCopied() {
+        // Arrange
+        final String value = "socialize.getSDKConfig";
+        // Act & Assert
+        assertSame(value, PercentEncoder.encode(value));
+    }
+}
@@ -2,6 +2,7 @@ package com.gigya.android.utils;
 
 import android.util.Base64;
 
+import com.gigya.android.sdk.utils.HmacSigner;
 import com.gigya.android.sdk.utils.SigUtils;
 
 import org.junit.Assert;
@@ -120,4 +121,41 @@ public class SigUtilsTest {
         // Assert
         Assert.assertNull(signature);
     }
+
+    @Test
+    public void testSignerMatchingSignature() {
+        // Arrange
+        MOCK_PARAMETERS.put("ApiKey", MOCK_API_KEY);
+        final HmacSigner signer = new HmacSigner();
+        // Act
+        final String first = signer.sign(MOCK_SECRET, MOCK_HTTP_METHOD, MOCK_URL, MOCK_PARAMETERS);
+        final String cached = signer.sign(MOCK_SECRET, MOCK_HTTP_METHOD, MOCK_URL, MOCK_PARAMETERS);
+        signer.invalidate();
+        final String invalidated = signer.sign(MOCK_SECRET, MOCK_HTTP_METHOD, MOCK_URL, MOCK_PARAMETERS);
+        // Assert
+        Assert.assertEquals(MOCK_SIGNATURE_VERIFIED, first);
+        Assert.assertEquals(MOCK_SIGNATURE_VERIFIED, cached);
+        Assert.assertEquals(MOCK_SIGNATURE_VERIFIED, invalidated);
+    }
+
+    @Test
+    public void testSignerSecretChange() {
+        // Arrange
+        MOCK_PARAMETERS.put("ApiKey", MOCK_API_KEY);
+        final HmacSigner signer = new HmacSigner();
+        // Act
+        final String other = signer.sign("bG9yZW1pcHN1bWRvbG9y", MOCK_HTTP_METHOD, MOCK_URL, MOCK_PARAMETERS);
+        final String signature = signer.sign(MOCK_SECRET, MOCK_HTTP_METHOD, MOCK_URL, MOCK_PARAMETERS);
+        // Assert
+        Assert.assertEquals(SigUtils.getSignature("bG9yZW1pcHN1bWRvbG9y", MOCK_HTTP_METHOD, MOCK_URL, MOCK_PARAMETERS), other);
+        Assert.assertEquals(MOCK_SIGNATURE_VERIFIED, signature);
+    }
+
+    @Test
+    public void testSignerNullSecret() {
+        // Act
+        String signature = new HmacSigner().sign(null, MOCK_HTTP_METHOD, MOCK_URL, MOCK_PARAMETERS);
+        // Assert
+        Assert.assertNull(signature);
+    }
 }
@@ -60,6 +60,8 @@ class NssFlowManager<T : GigyaAccount>(private val actionFactory: NssActionFacto
 
             override fun onGenericResponse(res: GigyaApiResponse?, api: String?) {
                 res.let {
+                    // The response map is built on first use. Build it before serializing the response.
+                    it?.asMap()
                     val serializedObject = it.serializeToMap(gson)
 
                     // Merge data with updated global data.